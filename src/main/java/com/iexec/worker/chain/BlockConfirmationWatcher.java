@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.chain;
+
+import com.iexec.worker.utils.ExecutorUtils;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Watches on-chain conditions which are expected to become true within a few blocks,
+ * such as the status of a contribution after a pending receipt.
+ * <p>
+ * A condition is checked when it is registered, then only once per new block, instead of polling the node
+ * from a sleeping thread. Each condition completes its {@link CompletableFuture} with {@literal true} as soon
+ * as it is met, or with {@literal false} once its timeout is reached.
+ * <p>
+ * Conditions are checked on a dedicated pool of {@link #CHECK_POOL_SIZE} threads, so that the thread publishing
+ * new blocks is not held by their RPC calls. A condition is not checked again on a new block while its previous
+ * check is still running.
+ */
+@Slf4j
+class BlockConfirmationWatcher {
+
+    static final String PENDING_METRIC_NAME = "iexec.chain.confirmation.pending";
+    static final int CHECK_POOL_SIZE = 4;
+
+    private final Set<Confirmation> pendingConfirmations = ConcurrentHashMap.newKeySet();
+    private final Executor checkExecutor;
+
+    BlockConfirmationWatcher() {
+        this(ExecutorUtils.newFixedThreadPoolExecutor(CHECK_POOL_SIZE, "block-confirmation-"));
+    }
+
+    BlockConfirmationWatcher(final Executor checkExecutor) {
+        this.checkExecutor = checkExecutor;
+        Metrics.gauge(PENDING_METRIC_NAME, pendingConfirmations, Set::size);
+    }
+
+    /**
+     * Registers a condition to check on each new block.
+     *
+     * @param description Description of the condition, for logs
+     * @param condition   Condition to check, reading on-chain state
+     * @param timeout     Maximum time to wait for the condition
+     * @return A future completed with {@literal true} when the condition is met, {@literal false} on timeout
+     */
+    CompletableFuture<Boolean> watch(final String description, final BooleanSupplier condition,
+                                     final Duration timeout) {
+        final Confirmation confirmation = new Confirmation(description, condition, new CompletableFuture<>(),
+                new AtomicBoolean());
+        confirmation.result()
+                .completeOnTimeout(false, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((confirmed, throwable) -> pendingConfirmations.remove(confirmation));
+        pendingConfirmations.add(confirmation);
+        scheduleCheck(confirmation);
+        return confirmation.result();
+    }
+
+    void onNewBlock(final long blockNumber) {
+        if (!pendingConfirmations.isEmpty()) {
+            log.debug("Checking pending confirmations [block:{}, count:{}]", blockNumber, pendingConfirmations.size());
+        }
+        pendingConfirmations.forEach(this::scheduleCheck);
+    }
+
+    int getPendingCount() {
+        return pendingConfirmations.size();
+    }
+
+    void shutdown() {
+        if (checkExecutor instanceof ThreadPoolTaskExecutor threadPoolTaskExecutor) {
+            threadPoolTaskExecutor.shutdown();
+        }
+    }
+
+    private void scheduleCheck(final Confirmation confirmation) {
+        if (confirmation.result().isDone() || !confirmation.checking().compareAndSet(false, true)) {
+            return;
+        }
+        checkExecutor.execute(() -> {
+            try {
+                check(confirmation);
+            } finally {
+                confirmation.checking().set(false);
+            }
+        });
+    }
+
+    private void check(final Confirmation confirmation) {
+        if (confirmation.result().isDone()) {
+            return;
+        }
+        try {
+            if (confirmation.condition().getAsBoolean()) {
+                log.info("Condition met on-chain [description:{}]", confirmation.description());
+                confirmation.result().complete(true);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to check condition, will retry on next block [description:{}]",
+                    confirmation.description(), e);
+        }
+    }
+
+    private record Confirmation(String description, BooleanSupplier condition, CompletableFuture<Boolean> result,
+                                AtomicBoolean checking) {
+    }
+}
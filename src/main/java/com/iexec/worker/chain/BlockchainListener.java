@@ -1,5 +1,5 @@
 /*
- * Copyright 2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2025-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,8 +20,12 @@ import com.iexec.commons.poco.chain.SignerService;
 import com.iexec.worker.chain.event.LatestBlockEvent;
 import com.iexec.worker.config.ConfigServerConfigurationService;
 import com.iexec.worker.config.WorkerConfigurationService;
+import com.iexec.worker.utils.ExecutorUtils;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
+import io.reactivex.disposables.Disposable;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -29,67 +33,193 @@ import org.springframework.stereotype.Service;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.methods.response.EthBlock;
-import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.websocket.WebSocketService;
+import org.web3j.protocol.websocket.events.NewHead;
 import org.web3j.utils.Async;
 import org.web3j.utils.Numeric;
 
 import java.io.IOException;
-import java.math.BigInteger;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Publishes a {@link LatestBlockEvent} for each new block of the chain.
+ * <p>
+ * When a WebSocket URL is configured for the blockchain node, blocks are received as they are produced from an
+ * {@code eth_subscribe("newHeads")} subscription. The latest block is polled every 5 seconds otherwise, or while
+ * the subscription is down or has not received any block for two block times.
+ */
 @Slf4j
 @Service
 public class BlockchainListener {
 
     static final String LATEST_BLOCK_METRIC_NAME = "iexec.chain.block.latest";
     static final String TX_COUNT_METRIC_NAME = "iexec.chain.wallet.tx-count";
+    static final String BLOCK_RECEIVED_METRIC_NAME = "iexec.chain.block.received";
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(10);
+    private static final int MAX_BATCH_SIZE = 16;
 
     private final ApplicationEventPublisher applicationEventPublisher;
     private final String walletAddress;
     private final Web3j web3Client;
+    private final String wsUrl;
+    private final long maxHeadAge;
+    private final Executor newHeadsExecutor;
+    private final Object publishLock = new Object();
     private final AtomicLong lastSeenBlock;
     private final AtomicLong latestTxGauge;
     private final AtomicLong pendingTxGauge;
+    private final Counter polledBlockCounter;
+    private final Counter subscribedBlockCounter;
+    private WebSocketService webSocketService;
+    private Disposable newHeadsSubscription;
+    private volatile long subscribedAt;
+    private volatile long lastHeadReceivedAt;
 
     public BlockchainListener(final ApplicationEventPublisher applicationEventPublisher,
                               final ConfigServerConfigurationService configServerConfigurationService,
                               final SignerService signerService,
-                              final WorkerConfigurationService workerConfigurationService) {
+                              final WorkerConfigurationService workerConfigurationService,
+                              final RpcNodePool rpcNodePool) {
         this.applicationEventPublisher = applicationEventPublisher;
         this.walletAddress = signerService.getAddress();
-        final String nodeUrl = !workerConfigurationService.getOverrideBlockchainNodeAddress().isEmpty() ?
-                workerConfigurationService.getOverrideBlockchainNodeAddress() :
-                configServerConfigurationService.getChainNodeUrl();
-        this.web3Client = Web3j.build(new HttpService(nodeUrl),
+        this.web3Client = Web3j.build(new JsonRpcBatcher(rpcNodePool, BATCH_WINDOW, MAX_BATCH_SIZE),
                 configServerConfigurationService.getBlockTime().toMillis(), Async.defaultExecutorService());
+        this.wsUrl = workerConfigurationService.getBlockchainNodeWsUrl();
+        this.maxHeadAge = configServerConfigurationService.getBlockTime().multipliedBy(2).toMillis();
+        this.newHeadsExecutor = ExecutorUtils.newSingleThreadExecutorWithFixedSizeQueue(16, "new-heads-");
         lastSeenBlock = Metrics.gauge(LATEST_BLOCK_METRIC_NAME, new AtomicLong(0));
         latestTxGauge = Metrics.gauge(TX_COUNT_METRIC_NAME, List.of(Tag.of("block", "latest")), new AtomicLong(0));
         pendingTxGauge = Metrics.gauge(TX_COUNT_METRIC_NAME, List.of(Tag.of("block", "pending")), new AtomicLong(0));
+        polledBlockCounter = Metrics.counter(BLOCK_RECEIVED_METRIC_NAME, "source", "polling");
+        subscribedBlockCounter = Metrics.counter(BLOCK_RECEIVED_METRIC_NAME, "source", "subscription");
     }
 
     @Scheduled(fixedRate = 5000)
     public void run() throws IOException {
+        if (!wsUrl.isEmpty()) {
+            if (hasRecentHead()) {
+                return;
+            }
+            if (!isSubscribed() || System.currentTimeMillis() - subscribedAt > maxHeadAge) {
+                resubscribe();
+            }
+        }
         try {
-            final EthBlock.Block latestBlock = web3Client.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, false).send().getBlock();
+            // block and transaction counts are sent concurrently to share a single JSON-RPC batch
+            final CompletableFuture<EthBlock> latestBlockRequest =
+                    web3Client.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, false).sendAsync();
+            final CompletableFuture<Void> txCountRefresh = refreshTransactionCounts();
+            final EthBlock.Block latestBlock = latestBlockRequest.get().getBlock();
             final long blockNumber = Numeric.toBigInt(latestBlock.getNumberRaw()).longValue();
             final String blockHash = latestBlock.getHash();
             final long blockTimestamp = Numeric.toBigInt(latestBlock.getTimestampRaw()).longValue();
-            lastSeenBlock.set(blockNumber);
-            final BigInteger pendingTxCount = web3Client.ethGetTransactionCount(walletAddress,
-                    DefaultBlockParameterName.PENDING).send().getTransactionCount();
-            if (pendingTxCount.longValue() > pendingTxGauge.get() || pendingTxGauge.get() != latestTxGauge.get()) {
-                final BigInteger latestTxCount = web3Client.ethGetTransactionCount(walletAddress,
-                        DefaultBlockParameterName.LATEST).send().getTransactionCount();
-                pendingTxGauge.set(pendingTxCount.longValue());
-                latestTxGauge.set(latestTxCount.longValue());
-            }
+            polledBlockCounter.increment();
+            onLatestBlock(blockNumber, blockHash, blockTimestamp, txCountRefresh);
+        } catch (InterruptedException e) {
+            log.error("Interrupted while fetching data on-chain", e);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("An error happened while fetching data on-chain", e);
+        }
+    }
+
+    private void onLatestBlock(final long blockNumber, final String blockHash, final long blockTimestamp,
+                               final CompletableFuture<Void> txCountRefresh) {
+        if (!publishIfNewer(blockNumber, blockHash, blockTimestamp)) {
+            return;
+        }
+        try {
+            txCountRefresh.join();
             log.info("Transaction count [block:{}, pending:{}, latest:{}]",
-                    lastSeenBlock, pendingTxGauge.get(), latestTxGauge.get());
+                    blockNumber, pendingTxGauge.get(), latestTxGauge.get());
+        } catch (Exception e) {
+            log.error("An error happened while fetching transaction count [block:{}]", blockNumber, e);
+        }
+    }
+
+    /**
+     * Publishes a block unless a block at the same or a higher height has already been published.
+     * <p>
+     * Polling and the newHeads subscription may both receive the same block, or blocks out of order,
+     * on different threads. The height is claimed and the {@link LatestBlockEvent} is published under
+     * the same lock, so that each height is published at most once and events are published in
+     * increasing height order. A block received while listeners handle the previous event waits for them.
+     *
+     * @return {@literal true} if the block has been published, {@literal false} if it has been dropped
+     */
+    boolean publishIfNewer(final long blockNumber, final String blockHash, final long blockTimestamp) {
+        synchronized (publishLock) {
+            final long previousBlock = lastSeenBlock.get();
+            if (blockNumber <= previousBlock) {
+                log.debug("Dropping block already published [block:{}, lastSeenBlock:{}]", blockNumber, previousBlock);
+                return false;
+            }
+            lastSeenBlock.set(blockNumber);
             applicationEventPublisher.publishEvent(new LatestBlockEvent(this, blockNumber, blockHash, blockTimestamp));
+            return true;
+        }
+    }
+
+    private CompletableFuture<Void> refreshTransactionCounts() {
+        final CompletableFuture<EthGetTransactionCount> pendingTxCount = web3Client.ethGetTransactionCount(
+                walletAddress, DefaultBlockParameterName.PENDING).sendAsync();
+        final CompletableFuture<EthGetTransactionCount> latestTxCount = web3Client.ethGetTransactionCount(
+                walletAddress, DefaultBlockParameterName.LATEST).sendAsync();
+        return pendingTxCount.thenAcceptBoth(latestTxCount, (pending, latest) -> {
+            pendingTxGauge.set(pending.getTransactionCount().longValue());
+            latestTxGauge.set(latest.getTransactionCount().longValue());
+        });
+    }
+
+    // region newHeads subscription
+    private void onNewHead(final NewHead newHead) {
+        lastHeadReceivedAt = System.currentTimeMillis();
+        subscribedBlockCounter.increment();
+        onLatestBlock(Numeric.toBigInt(newHead.getNumber()).longValue(), newHead.getHash(),
+                Numeric.toBigInt(newHead.getTimestamp()).longValue(), refreshTransactionCounts());
+    }
+
+    boolean hasRecentHead() {
+        return isSubscribed() && System.currentTimeMillis() - lastHeadReceivedAt <= maxHeadAge;
+    }
+
+    synchronized boolean isSubscribed() {
+        return newHeadsSubscription != null && !newHeadsSubscription.isDisposed();
+    }
+
+    synchronized void resubscribe() {
+        unsubscribe();
+        try {
+            webSocketService = new WebSocketService(wsUrl, false);
+            webSocketService.connect();
+            newHeadsSubscription = Web3j.build(webSocketService).newHeadsNotifications().subscribe(
+                    notification -> newHeadsExecutor.execute(() -> onNewHead(notification.getParams().getResult())),
+                    throwable -> log.warn("newHeads subscription lost, falling back to polling [url:{}]",
+                            wsUrl, throwable));
+            subscribedAt = System.currentTimeMillis();
+            log.info("Subscribed to newHeads [url:{}]", wsUrl);
         } catch (Exception e) {
-            log.error("An error happened while fetching data on-chain", e);
+            log.warn("Failed to subscribe to newHeads, falling back to polling [url:{}]", wsUrl, e);
+            unsubscribe();
+        }
+    }
+
+    @PreDestroy
+    synchronized void unsubscribe() {
+        if (newHeadsSubscription != null) {
+            newHeadsSubscription.dispose();
+            newHeadsSubscription = null;
+        }
+        if (webSocketService != null) {
+            webSocketService.close();
+            webSocketService = null;
         }
     }
+    // endregion
 
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.chain;
+
+import com.iexec.commons.poco.chain.ChainAccount;
+import com.iexec.commons.poco.chain.ChainDeal;
+import com.iexec.commons.poco.chain.ChainTask;
+import com.iexec.worker.chain.event.LatestBlockEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Block-scoped cache of on-chain state read during contribution eligibility checks.
+ * <p>
+ * Reads are served from a snapshot of the current block, which is replaced when a {@link LatestBlockEvent}
+ * reports a new block. A snapshot older than two block times is also dropped, so that stale state is not
+ * served when block events stop.
+ * Failed reads are not cached.
+ */
+@Slf4j
+@Service
+public class ChainStateCache {
+
+    static final String CACHE_METRIC_NAME = "iexec.chain.state.cache";
+    private static final String ACCOUNT_KEY = "account";
+
+    private final IexecHubService iexecHubService;
+    private final long maxSnapshotAge;
+    private final Counter hitCounter = Metrics.counter(CACHE_METRIC_NAME, "result", "hit");
+    private final Counter missCounter = Metrics.counter(CACHE_METRIC_NAME, "result", "miss");
+    private volatile Snapshot snapshot;
+
+    public ChainStateCache(final IexecHubService iexecHubService,
+                           final Web3jService web3jService) {
+        this.iexecHubService = iexecHubService;
+        this.maxSnapshotAge = web3jService.getBlockTime().multipliedBy(2).toMillis();
+        this.snapshot = new Snapshot(0L, System.currentTimeMillis());
+    }
+
+    @EventListener
+    void onLatestBlockEvent(final LatestBlockEvent event) {
+        if (event.getBlockNumber() != snapshot.blockNumber()) {
+            log.debug("Invalidating chain state snapshot [previousBlock:{}, block:{}]",
+                    snapshot.blockNumber(), event.getBlockNumber());
+            snapshot = new Snapshot(event.getBlockNumber(), System.currentTimeMillis());
+        }
+    }
+
+    public Optional<ChainTask> getChainTask(final String chainTaskId) {
+        return get(currentSnapshot().tasks(), chainTaskId, () -> iexecHubService.getChainTask(chainTaskId));
+    }
+
+    public Optional<ChainDeal> getChainDeal(final String chainDealId) {
+        return get(currentSnapshot().deals(), chainDealId, () -> iexecHubService.getChainDeal(chainDealId));
+    }
+
+    public Optional<ChainAccount> getChainAccount() {
+        return get(currentSnapshot().accounts(), ACCOUNT_KEY, iexecHubService::getChainAccount);
+    }
+
+    private Snapshot currentSnapshot() {
+        final Snapshot current = snapshot;
+        if (System.currentTimeMillis() - current.createdAt() <= maxSnapshotAge) {
+            return current;
+        }
+        final Snapshot renewed = new Snapshot(current.blockNumber(), System.currentTimeMillis());
+        snapshot = renewed;
+        return renewed;
+    }
+
+    private <T> Optional<T> get(final Map<String, T> values, final String key, final Supplier<Optional<T>> reader) {
+        final T cached = values.get(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return Optional.of(cached);
+        }
+        missCounter.increment();
+        final Optional<T> value = reader.get();
+        value.ifPresent(v -> values.putIfAbsent(key, v));
+        return value;
+    }
+
+    private record Snapshot(long blockNumber, long createdAt,
+                            Map<String, ChainTask> tasks,
+                            Map<String, ChainDeal> deals,
+                            Map<String, ChainAccount> accounts) {
+        Snapshot(final long blockNumber, final long createdAt) {
+            this(blockNumber, createdAt, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,16 @@
 
 package com.iexec.worker.chain;
 
+import com.iexec.common.lifecycle.purge.ExpiringTaskMapFactory;
+import com.iexec.common.lifecycle.purge.Purgeable;
 import com.iexec.common.result.ComputedFile;
 import com.iexec.commons.poco.chain.*;
 import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.commons.poco.utils.BytesUtils;
 import com.iexec.commons.poco.utils.HashUtils;
+import com.iexec.worker.chain.IexecHubService.SignedTransaction;
 import com.iexec.worker.workflow.WorkflowError;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.web3j.protocol.core.methods.response.Log;
@@ -29,24 +33,37 @@ import org.web3j.protocol.core.methods.response.Log;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.iexec.common.replicate.ReplicateStatusCause.*;
 
+/**
+ * Checks whether the worker can contribute to tasks and builds their contributions.
+ * <p>
+ * The contribution of a task is prepared as soon as its post-compute is over, see
+ * {@link #prepareContribution(ComputedFile)}, so that only the broadcast of the transaction is left
+ * when the worker is asked to contribute.
+ */
 @Slf4j
 @Service
-public class ContributionService {
+public class ContributionService implements Purgeable {
 
     private final IexecHubService iexecHubService;
+    private final ChainStateCache chainStateCache;
     private final WorkerpoolAuthorizationService workerpoolAuthorizationService;
     private final EnclaveAuthorizationService enclaveAuthorizationService;
     private final String workerWalletAddress;
+    private final Map<String, PreparedContribution> preparedContributions =
+            ExpiringTaskMapFactory.getExpiringTaskMap();
 
     public ContributionService(IexecHubService iexecHubService,
+                               ChainStateCache chainStateCache,
                                WorkerpoolAuthorizationService workerpoolAuthorizationService,
                                EnclaveAuthorizationService enclaveAuthorizationService,
                                String workerWalletAddress) {
         this.iexecHubService = iexecHubService;
+        this.chainStateCache = chainStateCache;
         this.workerpoolAuthorizationService = workerpoolAuthorizationService;
         this.enclaveAuthorizationService = enclaveAuthorizationService;
         this.workerWalletAddress = workerWalletAddress;
@@ -65,7 +82,7 @@ public class ContributionService {
 
         final TaskDescription taskDescription = iexecHubService.getTaskDescription(chainTaskId);
 
-        final ChainTask chainTask = iexecHubService.getChainTask(chainTaskId).orElse(null);
+        final ChainTask chainTask = chainStateCache.getChainTask(chainTaskId).orElse(null);
         if (chainTask == null) {
             errors.add(new WorkflowError(CHAIN_UNREACHABLE));
             return errors;
@@ -126,8 +143,8 @@ public class ContributionService {
     }
 
     private boolean hasEnoughStakeToContribute(ChainTask chainTask) {
-        Optional<ChainAccount> optionalChainAccount = iexecHubService.getChainAccount();
-        Optional<ChainDeal> optionalChainDeal = iexecHubService.getChainDeal(chainTask.getDealid());
+        Optional<ChainAccount> optionalChainAccount = chainStateCache.getChainAccount();
+        Optional<ChainDeal> optionalChainDeal = chainStateCache.getChainDeal(chainTask.getDealid());
         if (optionalChainAccount.isEmpty() || optionalChainDeal.isEmpty()) {
             return false;
         }
@@ -136,8 +153,11 @@ public class ContributionService {
 
     // returns ChainReceipt of the contribution if successful, null otherwise
     public Optional<ChainReceipt> contribute(final Contribution contribution) {
+        final PreparedContribution prepared = preparedContributions.get(contribution.chainTaskId());
+        final SignedTransaction signedTransaction = prepared != null && contribution.equals(prepared.contribution())
+                ? prepared.signedTransaction() : null;
 
-        final Log contributeResponse = iexecHubService.contribute(contribution);
+        final Log contributeResponse = iexecHubService.contribute(contribution, signedTransaction);
 
         if (contributeResponse == null) {
             log.error("ContributeTransactionReceipt received but was null [chainTaskId:{}]", contribution.chainTaskId());
@@ -154,6 +174,66 @@ public class ContributionService {
         return workerpoolAuthorizationService.getWorkerpoolAuthorization(chainTaskId);
     }
 
+    /**
+     * Builds the contribution of a task from its computed file and keeps it until the task is purged.
+     * <p>
+     * The contribute transaction is also signed, unless the task will be contributed and finalized
+     * at once, as the result link is then only known after the upload.
+     * The signed transaction uses the next nonce without reserving it. It is signed again when contributing
+     * if another transaction of the worker has been sent in the meantime, so it mostly saves time when
+     * a single task is running.
+     * <p>
+     * This method is run at the end of the post-compute and never fails it. If the contribution cannot be
+     * prepared, it is built and signed when contributing.
+     *
+     * @param computedFile Computed file of the task, with its result digest
+     */
+    public void prepareContribution(final ComputedFile computedFile) {
+        final String chainTaskId = computedFile.getTaskId();
+        final Contribution contribution;
+        try {
+            contribution = getContribution(computedFile);
+        } catch (RuntimeException e) {
+            log.warn("Failed to prepare contribution [chainTaskId:{}]", chainTaskId, e);
+            preparedContributions.remove(chainTaskId);
+            return;
+        }
+        if (contribution == null) {
+            log.warn("Cannot prepare contribution [chainTaskId:{}]", chainTaskId);
+            preparedContributions.remove(chainTaskId);
+            return;
+        }
+        final SignedTransaction signedTransaction = signContribute(contribution);
+        preparedContributions.put(chainTaskId, new PreparedContribution(contribution, signedTransaction));
+        log.info("Prepared contribution [chainTaskId:{}, signed:{}]", chainTaskId, signedTransaction != null);
+    }
+
+    /**
+     * Signs the contribute transaction of a prepared contribution.
+     *
+     * @return The signed transaction, {@literal null} if it is not needed or could not be signed
+     */
+    private SignedTransaction signContribute(final Contribution contribution) {
+        final String chainTaskId = contribution.chainTaskId();
+        try {
+            final TaskDescription taskDescription = iexecHubService.getTaskDescription(chainTaskId);
+            if (taskDescription == null) {
+                log.warn("Cannot sign contribute without task description [chainTaskId:{}]", chainTaskId);
+                return null;
+            }
+            return taskDescription.isEligibleToContributeAndFinalize()
+                    ? null : iexecHubService.signContribute(contribution).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to sign contribute, it will be signed when contributing [chainTaskId:{}]", chainTaskId, e);
+            return null;
+        }
+    }
+
+    public Optional<Contribution> getPreparedContribution(final String chainTaskId) {
+        return Optional.ofNullable(preparedContributions.get(chainTaskId))
+                .map(PreparedContribution::contribution);
+    }
+
     public Contribution getContribution(ComputedFile computedFile) {
         String chainTaskId = computedFile.getTaskId();
         WorkerpoolAuthorization workerpoolAuthorization = workerpoolAuthorizationService.getWorkerpoolAuthorization(chainTaskId);
@@ -194,4 +274,20 @@ public class ContributionService {
                 .build();
     }
 
+    @Override
+    public boolean purgeTask(final String chainTaskId) {
+        log.debug("purgeTask [chainTaskId:{}]", chainTaskId);
+        preparedContributions.remove(chainTaskId);
+        return true;
+    }
+
+    @Override
+    @PreDestroy
+    public void purgeAllTasksData() {
+        log.info("Method purgeAllTasksData() called to perform task data cleanup.");
+        preparedContributions.clear();
+    }
+
+    private record PreparedContribution(Contribution contribution, SignedTransaction signedTransaction) {
+    }
 }
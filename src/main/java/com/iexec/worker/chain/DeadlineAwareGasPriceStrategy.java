@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import com.iexec.worker.config.WorkerConfigurationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Optional;
+
+/**
+ * Gas pricing depending on the time left before the deadline of a transaction.
+ * <p>
+ * The configured price, the network price times {@code worker.gas-price-multiplier} capped by
+ * {@code worker.gas-price-cap}, is used when the deadline is unknown. Otherwise:
+ * <ul>
+ * <li>the network price, read with {@code eth_gasPrice}, is used while more than {@link #SLACK_BLOCKS} blocks
+ * are left
+ * <li>the configured price is used half-way between {@link #SLACK_BLOCKS} and {@link #URGENT_BLOCKS} blocks left
+ * <li>the cap is used when less than {@link #URGENT_BLOCKS} blocks are left
+ * </ul>
+ * The price is interpolated linearly in between. The network price is only read when needed,
+ * it is never above the configured price and falls back to it when it cannot be read.
+ * <p>
+ * A stuck transaction is replaced with at least {@link #REPLACEMENT_BUMP_PERCENT} percent more than its price,
+ * as nodes reject replacements below a minimum bump, and never above the cap.
+ * Transactions are never priced on chains where the configured price is zero.
+ */
+@Slf4j
+@Service
+public class DeadlineAwareGasPriceStrategy implements GasPriceStrategy {
+
+    static final long SLACK_BLOCKS = 30;
+    static final long URGENT_BLOCKS = 5;
+    static final int REPLACEMENT_BUMP_PERCENT = 15;
+
+    private final Web3jService web3jService;
+    private final BigInteger gasPriceCap;
+
+    public DeadlineAwareGasPriceStrategy(final Web3jService web3jService,
+                                         final WorkerConfigurationService workerConfigurationService) {
+        this.web3jService = web3jService;
+        this.gasPriceCap = BigInteger.valueOf(workerConfigurationService.getGasPriceCap());
+    }
+
+    @Override
+    public BigInteger getGasPrice(final long deadline) {
+        final BigInteger configuredGasPrice = web3jService.getUserGasPrice();
+        if (deadline <= 0 || configuredGasPrice.signum() == 0) {
+            return configuredGasPrice;
+        }
+        final BigInteger urgentGasPrice = gasPriceCap.max(configuredGasPrice);
+        final double urgency = getUrgency(deadline);
+        final BigInteger gasPrice = urgency < 0.5
+                ? interpolate(getNetworkGasPrice(configuredGasPrice), configuredGasPrice, urgency * 2)
+                : interpolate(configuredGasPrice, urgentGasPrice, urgency * 2 - 1);
+        log.debug("Gas price [deadline:{}, urgency:{}, gasPrice:{}]", deadline, urgency, gasPrice);
+        return gasPrice;
+    }
+
+    @Override
+    public Optional<BigInteger> getReplacementGasPrice(final BigInteger previousGasPrice, final long deadline) {
+        if (previousGasPrice.signum() == 0) {
+            return Optional.empty();
+        }
+        final BigInteger bumpedGasPrice = previousGasPrice
+                .multiply(BigInteger.valueOf(100L + REPLACEMENT_BUMP_PERCENT))
+                .add(BigInteger.valueOf(99))
+                .divide(BigInteger.valueOf(100));
+        final BigInteger gasPrice = bumpedGasPrice.max(getGasPrice(deadline));
+        if (gasPrice.compareTo(gasPriceCap) > 0) {
+            log.warn("Cannot replace transaction above gas price cap [previousGasPrice:{}, gasPriceCap:{}]",
+                    previousGasPrice, gasPriceCap);
+            return Optional.empty();
+        }
+        return Optional.of(gasPrice);
+    }
+
+    private BigInteger getNetworkGasPrice(final BigInteger configuredGasPrice) {
+        try {
+            final EthGasPrice ethGasPrice = web3jService.getWeb3j().ethGasPrice().send();
+            if (!ethGasPrice.hasError()) {
+                return ethGasPrice.getGasPrice().min(configuredGasPrice);
+            }
+            log.warn("Failed to read network gas price [error:{}]", ethGasPrice.getError().getMessage());
+        } catch (IOException e) {
+            log.warn("Failed to read network gas price", e);
+        }
+        return configuredGasPrice;
+    }
+
+    /**
+     * Returns {@literal 0} when at least {@link #SLACK_BLOCKS} blocks are left before the deadline,
+     * {@literal 1} when at most {@link #URGENT_BLOCKS} blocks are left, a linear value in between.
+     */
+    private double getUrgency(final long deadline) {
+        final double blocksLeft = (double) (deadline - System.currentTimeMillis()) / web3jService.getBlockTime().toMillis();
+        final double urgency = (SLACK_BLOCKS - blocksLeft) / (SLACK_BLOCKS - URGENT_BLOCKS);
+        return Math.min(1, Math.max(0, urgency));
+    }
+
+    private static BigInteger interpolate(final BigInteger from, final BigInteger to, final double fraction) {
+        return new BigDecimal(from).add(new BigDecimal(to.subtract(from)).multiply(BigDecimal.valueOf(fraction)))
+                .setScale(0, RoundingMode.CEILING)
+                .toBigInteger();
+    }
+}
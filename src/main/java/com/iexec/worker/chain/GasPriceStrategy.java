@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+/**
+ * Gas pricing of the transactions sent by the worker.
+ * <p>
+ * {@link DeadlineAwareGasPriceStrategy} is used by default, another strategy can be plugged
+ * by declaring a {@code @Primary} bean implementing this interface.
+ */
+public interface GasPriceStrategy {
+
+    /**
+     * Returns the gas price of a new transaction.
+     *
+     * @param deadline Timestamp in milliseconds before which the transaction must be mined,
+     *                 {@literal 0} if unknown
+     * @return The gas price in wei
+     */
+    BigInteger getGasPrice(long deadline);
+
+    /**
+     * Returns the gas price of a transaction replacing a stuck one with the same nonce.
+     *
+     * @param previousGasPrice Gas price of the stuck transaction
+     * @param deadline         Timestamp in milliseconds before which the transaction must be mined,
+     *                         {@literal 0} if unknown
+     * @return The gas price in wei, empty if the transaction should not be replaced
+     */
+    Optional<BigInteger> getReplacementGasPrice(BigInteger previousGasPrice, long deadline);
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,25 +20,38 @@ import com.iexec.common.lifecycle.purge.Purgeable;
 import com.iexec.commons.poco.chain.*;
 import com.iexec.commons.poco.encoding.LogTopic;
 import com.iexec.commons.poco.encoding.PoCoDataEncoder;
+import com.iexec.worker.chain.event.LatestBlockEvent;
 import com.iexec.worker.config.ConfigServerConfigurationService;
+import com.iexec.worker.config.WorkerConfigurationService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Numeric;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
 
 import static com.iexec.commons.poco.chain.ChainContributionStatus.CONTRIBUTED;
 import static com.iexec.commons.poco.chain.ChainContributionStatus.REVEALED;
@@ -49,17 +62,30 @@ import static com.iexec.commons.poco.utils.BytesUtils.stringToBytes;
 public class IexecHubService extends IexecHubAbstractService implements Purgeable {
 
     private static final String PENDING_RECEIPT_STATUS = "pending";
+    private static final String VIEW_TASK_SELECTOR = "0xadccf0d5";
+    static final int MAX_REPLACEMENTS = 3;
+    static final int PRE_SIGNED_GAS_PRICE_TOLERANCE_PERCENT = 10;
     private final SignerService signerService;
-    private final ThreadPoolExecutor executor;
+    private final NonceManager nonceManager;
+    private final BlockConfirmationWatcher blockConfirmationWatcher = new BlockConfirmationWatcher();
     private final Web3jService web3jService;
     private final String hubContractAddress;
+    private final MulticallReader multicallReader;
+    private final TransactionBroadcaster transactionBroadcaster;
+    private final GasPriceStrategy gasPriceStrategy;
+    private final ChainStateCache chainStateCache;
+    private final Counter replacementCounter = Metrics.counter("iexec.poco.transaction.replaced");
     private final Counter failureCounter = Metrics.counter("iexec.poco.transaction", "status", "failure");
     private final Counter successCounter = Metrics.counter("iexec.poco.transaction", "status", "success");
 
     @Autowired
     public IexecHubService(final SignerService signerService,
                            final Web3jService web3jService,
-                           final ConfigServerConfigurationService configServerConfigurationService) {
+                           final ConfigServerConfigurationService configServerConfigurationService,
+                           final WorkerConfigurationService workerConfigurationService,
+                           final RpcNodePool rpcNodePool,
+                           final GasPriceStrategy gasPriceStrategy,
+                           @Lazy final ChainStateCache chainStateCache) {
         super(signerService.getCredentials(),
                 web3jService,
                 configServerConfigurationService.getIexecHubContractAddress(),
@@ -68,25 +94,43 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
         this.hubContractAddress = configServerConfigurationService.getIexecHubContractAddress();
         this.signerService = signerService;
         this.web3jService = web3jService;
-        this.executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        this.gasPriceStrategy = gasPriceStrategy;
+        // lazy, the cache reads the chain through this service
+        this.chainStateCache = chainStateCache;
+        this.nonceManager = new NonceManager(signerService);
+        final String multicallAddress = workerConfigurationService.getMulticallAddress();
+        this.multicallReader = StringUtils.isNotBlank(multicallAddress) ?
+                new MulticallReader(Web3j.build(rpcNodePool), multicallAddress) : null;
+        this.transactionBroadcaster = workerConfigurationService.isBroadcastTransactionsEnabled() ?
+                new TransactionBroadcaster(rpcNodePool.getNodes(), web3jService.getBlockTime().dividedBy(5),
+                        web3jService.getBlockTime().multipliedBy(40)) : null;
     }
 
     // region contribute
     Log contribute(final Contribution contribution) {
+        return contribute(contribution, null);
+    }
+
+    /**
+     * Sends the contribute transaction of a task.
+     * <p>
+     * The pre-signed transaction is broadcast as is if its nonce is still the next nonce of the wallet
+     * and its gas price is still current, see {@link #isGasPriceCurrent(BigInteger, BigInteger)},
+     * otherwise the transaction is signed again.
+     *
+     * @param contribution      Contribution to send
+     * @param signedTransaction Transaction signed by {@link #signContribute(Contribution)}, may be {@literal null}
+     * @return The contribute event, {@literal null} if the transaction failed
+     */
+    Log contribute(final Contribution contribution, final SignedTransaction signedTransaction) {
         log.info("contribute request [chainTaskId:{}, waitingTxCount:{}]", contribution.chainTaskId(), getWaitingTransactionCount());
 
         final String chainTaskId = contribution.chainTaskId();
-        final String txData = PoCoDataEncoder.encodeContribute(
-                chainTaskId,
-                contribution.resultHash(),
-                contribution.resultSeal(),
-                contribution.enclaveChallenge(),
-                contribution.enclaveSignature(),
-                contribution.workerPoolSignature()
-        );
+        final String txData = signedTransaction != null ? signedTransaction.txData() : encodeContribute(contribution);
         log.info("Sent contribute [chainTaskId:{}, contribution:{}]", chainTaskId, contribution);
 
-        final TransactionReceipt receipt = submit("contribute", txData);
+        final TransactionReceipt receipt = submit("contribute", txData,
+                getDeadline(chainTaskId, ChainTask::getContributionDeadline), signedTransaction);
         log.debug("receipt {}", receipt);
 
         final List<Log> contributeEvents = receipt.getLogs().stream()
@@ -107,6 +151,40 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
         log.error("Failed to contribute [chainTaskId:{}]", chainTaskId);
         return null;
     }
+
+    /**
+     * Encodes and signs the contribute transaction of a task without sending it.
+     *
+     * @param contribution Contribution to sign
+     * @return The signed transaction, empty if it could not be signed
+     */
+    Optional<SignedTransaction> signContribute(final Contribution contribution) {
+        try {
+            final String txData = encodeContribute(contribution);
+            final BigInteger nonce = nonceManager.getNextNonce();
+            final BigInteger gasPrice = gasPriceStrategy.getGasPrice(
+                    getDeadline(contribution.chainTaskId(), ChainTask::getContributionDeadline));
+            final String signedTx = signerService.signTransaction(nonce, gasPrice,
+                    PoCoDataEncoder.getGasLimitForFunction("contribute"), hubContractAddress, txData);
+            log.info("Signed contribute [chainTaskId:{}, nonce:{}, gasPrice:{}]",
+                    contribution.chainTaskId(), nonce, gasPrice);
+            return Optional.of(new SignedTransaction(txData, nonce, gasPrice, signedTx));
+        } catch (Exception e) {
+            log.warn("Failed to sign contribute [chainTaskId:{}]", contribution.chainTaskId(), e);
+            return Optional.empty();
+        }
+    }
+
+    private String encodeContribute(final Contribution contribution) {
+        return PoCoDataEncoder.encodeContribute(
+                contribution.chainTaskId(),
+                contribution.resultHash(),
+                contribution.resultSeal(),
+                contribution.enclaveChallenge(),
+                contribution.enclaveSignature(),
+                contribution.workerPoolSignature()
+        );
+    }
     // endregion
 
     // region reveal
@@ -119,7 +197,8 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
         );
         log.info("Sent reveal [chainTaskId:{}, resultDigest:{}]", chainTaskId, resultDigest);
 
-        final TransactionReceipt receipt = submit("reveal", txData);
+        final TransactionReceipt receipt = submit("reveal", txData,
+                getDeadline(chainTaskId, ChainTask::getRevealDeadline));
 
         final List<Log> revealEvents = receipt.getLogs().stream()
                 .filter(log -> log.getTopics().get(0).equals(LogTopic.TASK_REVEAL_EVENT)
@@ -160,7 +239,8 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
         log.info("Sent contributeAndFinalize [chainTaskId:{}, contribution:{}, resultLink:{}, callbackData:{}]",
                 chainTaskId, contribution, resultLink, callbackData);
 
-        final TransactionReceipt receipt = submit("contributeAndFinalize", txData);
+        final TransactionReceipt receipt = submit("contributeAndFinalize", txData,
+                getDeadline(chainTaskId, ChainTask::getContributionDeadline));
 
         final List<Log> finalizeEvents = receipt.getLogs().stream()
                 .filter(log -> log.getTopics().get(0).equals(LogTopic.TASK_FINALIZE_EVENT)
@@ -185,7 +265,7 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
 
     // region isSuccessTx
     private long getWaitingTransactionCount() {
-        return executor.getTaskCount() - 1 - executor.getCompletedTaskCount();
+        return nonceManager.getWaitingTransactions();
     }
 
     boolean isSuccessTx(final String chainTaskId, final Log eventLog, final ChainContributionStatus pretendedStatus) {
@@ -206,31 +286,110 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
         return chainContribution.isPresent() && chainContribution.get().getStatus() == chainContributionStatus;
     }
 
+    /**
+     * Waits for the status of the contribution to be visible on-chain after a pending receipt.
+     * <p>
+     * The status is checked by the {@link BlockConfirmationWatcher} on each new block,
+     * for at most 10 block times. The calling thread waits for the outcome, the RPC calls
+     * of the checks run on the watcher pool.
+     */
     private boolean isStatusValidOnChainAfterPendingReceipt(final String chainTaskId, final ChainContributionStatus onchainStatus) {
-        long maxWaitingTime = 10 * web3jService.getBlockTime().toMillis();
+        final Duration maxWaitingTime = web3jService.getBlockTime().multipliedBy(10);
         log.info("Waiting for on-chain status after pending receipt " +
                         "[chainTaskId:{}, status:{}, maxWaitingTime:{}]",
-                chainTaskId, onchainStatus, maxWaitingTime);
+                chainTaskId, onchainStatus, maxWaitingTime.toMillis());
+
+        final boolean isStatusValid = blockConfirmationWatcher.watch(
+                String.format("chainTaskId:%s, status:%s", chainTaskId, onchainStatus),
+                () -> isContributionStatusValidOnChain(chainTaskId, onchainStatus),
+                maxWaitingTime).join();
+        if (!isStatusValid) {
+            log.error("Timeout reached after waiting for on-chain status " +
+                            "[chainTaskId:{}, maxWaitingTime:{}]",
+                    chainTaskId, maxWaitingTime.toMillis());
+        }
+        return isStatusValid;
+    }
+
+    @EventListener
+    void onLatestBlockEvent(final LatestBlockEvent event) {
+        blockConfirmationWatcher.onNewBlock(event.getBlockNumber());
+    }
+    // endregion
 
-        final long startTime = System.currentTimeMillis();
-        long duration = 0;
-        while (duration < maxWaitingTime) {
+    // region aggregated reads
+
+    /**
+     * Reads several tasks at once.
+     * <p>
+     * When a Multicall3 aggregator address is configured, all tasks are read with a single {@code eth_call}.
+     * Only the status, deal ID, index, deadlines, consensus value, contributors and result digest of the tasks
+     * are decoded in this case. Tasks are read one by one otherwise, or if the aggregated call fails.
+     *
+     * @param chainTaskIds IDs of the tasks to read
+     * @return Tasks which could be read, by task ID
+     */
+    public Map<String, ChainTask> getChainTasks(final Collection<String> chainTaskIds) {
+        if (multicallReader != null && chainTaskIds.size() > 1) {
             try {
-                if (isContributionStatusValidOnChain(chainTaskId, onchainStatus)) {
-                    return true;
-                }
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                log.error("Error in checking the latest block number", e);
-                Thread.currentThread().interrupt();
+                return getChainTasksWithMulticall(List.copyOf(chainTaskIds));
+            } catch (Exception e) {
+                log.warn("Failed to read tasks with multicall, reading them one by one [count:{}]",
+                        chainTaskIds.size(), e);
             }
-            duration = System.currentTimeMillis() - startTime;
         }
+        final Map<String, ChainTask> chainTasks = new HashMap<>();
+        chainTaskIds.forEach(chainTaskId -> getChainTask(chainTaskId)
+                .ifPresent(chainTask -> chainTasks.put(chainTaskId, chainTask)));
+        return chainTasks;
+    }
+
+    private Map<String, ChainTask> getChainTasksWithMulticall(final List<String> chainTaskIds) throws IOException {
+        final List<MulticallReader.Call> calls = chainTaskIds.stream()
+                .map(chainTaskId -> new MulticallReader.Call(hubContractAddress,
+                        VIEW_TASK_SELECTOR + Numeric.cleanHexPrefix(chainTaskId)))
+                .toList();
+        final List<Optional<String>> results = multicallReader.aggregate(calls);
+        final Map<String, ChainTask> chainTasks = new HashMap<>();
+        for (int i = 0; i < chainTaskIds.size(); i++) {
+            final String chainTaskId = chainTaskIds.get(i);
+            results.get(i).ifPresentOrElse(
+                    rawTask -> chainTasks.put(chainTaskId, decodeChainTask(rawTask)),
+                    () -> log.warn("Failed to read task with multicall [chainTaskId:{}]", chainTaskId));
+        }
+        return chainTasks;
+    }
+
+    /**
+     * Decodes the ABI encoded {@code Task} struct returned by {@code viewTask(bytes32)}.
+     * <p>
+     * The struct holds dynamic fields, its encoding starts with the offset of the struct.
+     * Deadlines are converted from seconds to milliseconds, as in {@link ChainTask}.
+     */
+    static ChainTask decodeChainTask(final String rawTask) {
+        final byte[] data = Numeric.hexStringToByteArray(rawTask);
+        final int base = word(data, 0, 0).intValueExact();
+        final int contributorsOffset = base + word(data, base, 10).intValueExact();
+        final int contributorsCount = word(data, contributorsOffset, 0).intValueExact();
+        final List<String> contributors = IntStream.rangeClosed(1, contributorsCount)
+                .mapToObj(i -> Numeric.toHexStringWithPrefixZeroPadded(word(data, contributorsOffset, i), 40))
+                .toList();
+        return ChainTask.builder()
+                .status(ChainTaskStatus.values()[word(data, base, 0).intValueExact()])
+                .dealid(Numeric.toHexStringWithPrefixZeroPadded(word(data, base, 1), 64))
+                .idx(word(data, base, 2).intValueExact())
+                .contributionDeadline(word(data, base, 4).longValueExact() * 1000)
+                .revealDeadline(word(data, base, 5).longValueExact() * 1000)
+                .finalDeadline(word(data, base, 6).longValueExact() * 1000)
+                .consensusValue(Numeric.toHexStringWithPrefixZeroPadded(word(data, base, 7), 64))
+                .contributors(contributors)
+                .resultDigest(Numeric.toHexStringWithPrefixZeroPadded(word(data, base, 11), 64))
+                .build();
+    }
 
-        log.error("Timeout reached after waiting for on-chain status " +
-                        "[chainTaskId:{}, maxWaitingTime:{}]",
-                chainTaskId, maxWaitingTime);
-        return false;
+    private static BigInteger word(final byte[] data, final int offset, final int index) {
+        final int start = offset + index * 32;
+        return new BigInteger(1, Arrays.copyOfRange(data, start, start + 32));
     }
     // endregion
 
@@ -259,14 +418,50 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
         super.purgeAllTasksData();
     }
 
-    synchronized TransactionReceipt submit(final String function, final String txData) {
+    @PreDestroy
+    void shutdown() {
+        blockConfirmationWatcher.shutdown();
+    }
+
+    TransactionReceipt submit(final String function, final String txData, final long deadline) {
+        return submit(function, txData, deadline, null);
+    }
+
+    /**
+     * Sends a transaction with the next nonce assigned by the {@link NonceManager}, then waits for its receipt.
+     * <p>
+     * Only the signature and the broadcast are serialized, the receipt is awaited outside the lock of the
+     * {@link NonceManager}, so that the transactions of concurrent tasks are pipelined.
+     * When transaction broadcast is enabled, the signed transaction is sent to all nodes of the {@link RpcNodePool}
+     * and the first receipt found on any node is accepted.
+     * <p>
+     * The gas price is given by the {@link GasPriceStrategy} from the deadline of the transaction. It is computed
+     * before taking the lock of the {@link NonceManager}, as the strategy may read the network gas price.
+     *
+     * @param deadline Timestamp in milliseconds before which the transaction must be mined, {@literal 0} if unknown
+     */
+    TransactionReceipt submit(final String function, final String txData, final long deadline,
+                              final SignedTransaction signedTransaction) {
         try {
-            final BigInteger nonce = signerService.getNonce();
-            final BigInteger gasLimit = "contributeAndFinalize".equals(function)
-                    ? signerService.estimateGas(hubContractAddress, txData).add(getCallbackGas())
-                    : PoCoDataEncoder.getGasLimitForFunction(function);
-            return waitTxMined(signerService.signAndSendTransaction(
-                    nonce, web3jService.getUserGasPrice(), gasLimit, hubContractAddress, txData));
+            final AtomicReference<PendingTransaction> pendingTransaction = new AtomicReference<>();
+            final BigInteger gasPrice = gasPriceStrategy.getGasPrice(deadline);
+            final String txHash = nonceManager.send(nonce -> {
+                if (signedTransaction != null && signedTransaction.nonce().equals(nonce)
+                        && isGasPriceCurrent(signedTransaction.gasPrice(), gasPrice)) {
+                    log.info("Sending pre-signed transaction [function:{}, nonce:{}]", function, nonce);
+                    pendingTransaction.set(new PendingTransaction(function, txData, nonce, signedTransaction.gasPrice()));
+                    return sendSignedTransaction(signedTransaction.signedTx());
+                }
+                if (signedTransaction != null) {
+                    log.info("Signing transaction again [function:{}, signedNonce:{}, nonce:{}, signedGasPrice:{}, gasPrice:{}]",
+                            function, signedTransaction.nonce(), nonce, signedTransaction.gasPrice(), gasPrice);
+                }
+                pendingTransaction.set(new PendingTransaction(function, txData, nonce, gasPrice));
+                return signAndSendTransaction(pendingTransaction.get());
+            });
+            log.info("Transaction sent [function:{}, txHash:{}, gasPrice:{}, inFlightTxCount:{}]",
+                    function, txHash, pendingTransaction.get().gasPrice(), nonceManager.getInFlightTransactions());
+            return waitTxMined(txHash, pendingTransaction.get(), deadline);
         } catch (Exception e) {
             log.error("{} asynchronous execution did not complete", function, e);
         }
@@ -276,15 +471,143 @@ public class IexecHubService extends IexecHubAbstractService implements Purgeabl
         return receipt;
     }
 
-    TransactionReceipt waitTxMined(final String txHash) throws IOException, TransactionException {
-        final TransactionReceipt receipt = txReceiptProcessor.waitForTransactionReceipt(txHash);
-        log.info("Transaction receipt [hash:{}, status:{}, revert-reason:{}]",
-                txHash, receipt.getStatus(), receipt.getRevertReason());
-        if (receipt.isStatusOK()) {
-            successCounter.increment();
-        } else {
-            failureCounter.increment();
+    /**
+     * Checks whether a pre-signed gas price may still be used.
+     * It must not be below the current gas price, so that the transaction is not stuck,
+     * and not more than {@link #PRE_SIGNED_GAS_PRICE_TOLERANCE_PERCENT} above it, so that it is not overpaid.
+     */
+    static boolean isGasPriceCurrent(final BigInteger signedGasPrice, final BigInteger gasPrice) {
+        return signedGasPrice.compareTo(gasPrice) >= 0
+                && signedGasPrice.multiply(BigInteger.valueOf(100))
+                .compareTo(gasPrice.multiply(BigInteger.valueOf(100 + PRE_SIGNED_GAS_PRICE_TOLERANCE_PERCENT))) <= 0;
+    }
+
+    private String signAndSendTransaction(final PendingTransaction transaction) throws IOException {
+        final BigInteger gasLimit = getGasLimit(transaction.function(), transaction.txData());
+        if (transactionBroadcaster != null) {
+            return transactionBroadcaster.broadcast(signerService.signTransaction(transaction.nonce(),
+                    transaction.gasPrice(), gasLimit, hubContractAddress, transaction.txData()));
         }
-        return receipt;
+        return signerService.signAndSendTransaction(transaction.nonce(),
+                transaction.gasPrice(), gasLimit, hubContractAddress, transaction.txData());
+    }
+
+    private String sendSignedTransaction(final String signedTx) throws IOException {
+        return transactionBroadcaster != null ?
+                transactionBroadcaster.broadcast(signedTx) : signerService.sendSignedTransaction(signedTx);
+    }
+
+    private BigInteger getGasLimit(final String function, final String txData) throws IOException {
+        return "contributeAndFinalize".equals(function)
+                ? signerService.estimateGas(hubContractAddress, txData).add(getCallbackGas())
+                : PoCoDataEncoder.getGasLimitForFunction(function);
+    }
+
+    /**
+     * Returns a deadline of a task from the {@link ChainStateCache}, {@literal 0} if the task cannot be read.
+     */
+    private long getDeadline(final String chainTaskId, final ToLongFunction<ChainTask> deadline) {
+        try {
+            return chainStateCache.getChainTask(chainTaskId).map(deadline::applyAsLong).orElse(0L);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read task deadline [chainTaskId:{}]", chainTaskId, e);
+            return 0L;
+        }
+    }
+
+    TransactionReceipt waitTxMined(final String txHash, final PendingTransaction transaction, final long deadline)
+            throws IOException, TransactionException {
+        boolean mined = false;
+        try {
+            final TransactionReceipt receipt = waitForReceiptOrReplace(txHash, transaction, deadline);
+            mined = true;
+            log.info("Transaction receipt [hash:{}, status:{}, revert-reason:{}]",
+                    receipt.getTransactionHash(), receipt.getStatus(), receipt.getRevertReason());
+            if (receipt.isStatusOK()) {
+                successCounter.increment();
+            } else {
+                failureCounter.increment();
+            }
+            return receipt;
+        } finally {
+            nonceManager.onTransactionMined(mined);
+        }
+    }
+
+    /**
+     * Waits for the receipt of a transaction and replaces the transaction at a higher gas price,
+     * with the same nonce, each time no receipt is found before the timeout.
+     * <p>
+     * The receipts of the replaced transactions are checked as well, as any of them may be mined.
+     * The transaction is replaced at most {@link #MAX_REPLACEMENTS} times, and only while the
+     * {@link GasPriceStrategy} gives a replacement price.
+     */
+    private TransactionReceipt waitForReceiptOrReplace(final String txHash, final PendingTransaction transaction,
+                                                       final long deadline) throws IOException, TransactionException {
+        final List<String> txHashes = new ArrayList<>(List.of(txHash));
+        PendingTransaction pendingTransaction = transaction;
+        while (true) {
+            try {
+                return waitForReceipt(txHashes.get(txHashes.size() - 1));
+            } catch (TransactionException e) {
+                final Optional<TransactionReceipt> replacedReceipt = findReceipt(txHashes);
+                if (replacedReceipt.isPresent()) {
+                    return replacedReceipt.get();
+                }
+                final Optional<BigInteger> replacementGasPrice = txHashes.size() <= MAX_REPLACEMENTS ?
+                        gasPriceStrategy.getReplacementGasPrice(pendingTransaction.gasPrice(), deadline) :
+                        Optional.empty();
+                if (replacementGasPrice.isEmpty()) {
+                    throw e;
+                }
+                pendingTransaction = new PendingTransaction(transaction.function(), transaction.txData(),
+                        transaction.nonce(), replacementGasPrice.get());
+                log.warn("Replacing stuck transaction [function:{}, nonce:{}, txHash:{}, gasPrice:{}]",
+                        transaction.function(), transaction.nonce(), txHashes.get(txHashes.size() - 1),
+                        pendingTransaction.gasPrice());
+                try {
+                    txHashes.add(signAndSendTransaction(pendingTransaction));
+                    replacementCounter.increment();
+                } catch (IOException sendException) {
+                    // a transaction with the same nonce may have been mined in the meantime
+                    log.warn("Failed to replace stuck transaction [function:{}, nonce:{}]",
+                            transaction.function(), transaction.nonce(), sendException);
+                    return findReceipt(txHashes).orElseThrow(() -> e);
+                }
+            }
+        }
+    }
+
+    private TransactionReceipt waitForReceipt(final String txHash) throws IOException, TransactionException {
+        return transactionBroadcaster != null ?
+                transactionBroadcaster.waitForReceipt(txHash) : txReceiptProcessor.waitForTransactionReceipt(txHash);
+    }
+
+    private Optional<TransactionReceipt> findReceipt(final List<String> txHashes) {
+        for (final String txHash : txHashes) {
+            try {
+                final Optional<TransactionReceipt> receipt = web3jService.getWeb3j()
+                        .ethGetTransactionReceipt(txHash).send().getTransactionReceipt();
+                if (receipt.isPresent()) {
+                    return receipt;
+                }
+            } catch (IOException e) {
+                log.debug("Failed to get transaction receipt [txHash:{}]", txHash, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Transaction signed ahead of time, only valid while {@code nonce} is the next nonce of the wallet
+     * and {@code gasPrice} is still current.
+     */
+    record SignedTransaction(String txData, BigInteger nonce, BigInteger gasPrice, String signedTx) {
+    }
+
+    /**
+     * Transaction waiting for its receipt, with the parameters needed to replace it.
+     */
+    record PendingTransaction(String function, String txData, BigInteger nonce, BigInteger gasPrice) {
     }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import com.iexec.worker.utils.ExecutorUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.reactivex.Flowable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JSON-RPC transport grouping concurrent requests into batches.
+ * <p>
+ * Requests sent through this transport are queued for a short window, then sent to the node as a single
+ * JSON-RPC batch. The batch is sent as soon as it reaches its maximum size, without waiting for the end
+ * of the window. Requests only benefit from batching when they are sent concurrently, for instance with
+ * {@link Request#sendAsync()}.
+ */
+@Slf4j
+class JsonRpcBatcher implements Web3jService {
+
+    static final String BATCH_SIZE_METRIC_NAME = "iexec.chain.rpc.batch.size";
+    static final String SAVED_REQUESTS_METRIC_NAME = "iexec.chain.rpc.requests.saved";
+
+    private final Web3jService transport;
+    private final int maxBatchSize;
+    private final Executor flushExecutor;
+    private final ThreadPoolTaskExecutor ioExecutor;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter savedRequestsCounter;
+    private List<PendingRequest> pendingRequests = new ArrayList<>();
+
+    JsonRpcBatcher(final Web3jService transport, final Duration window, final int maxBatchSize) {
+        this.transport = transport;
+        this.maxBatchSize = maxBatchSize;
+        this.ioExecutor = ExecutorUtils.newFixedThreadPoolExecutor(1, "rpc-batch-");
+        this.flushExecutor = CompletableFuture.delayedExecutor(window.toMillis(), TimeUnit.MILLISECONDS, ioExecutor);
+        this.batchSizeSummary = Metrics.summary(BATCH_SIZE_METRIC_NAME);
+        this.savedRequestsCounter = Metrics.counter(SAVED_REQUESTS_METRIC_NAME);
+    }
+
+    @Override
+    public <T extends Response> T send(final Request request, final Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for JSON-RPC batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(final Request request, final Class<T> responseType) {
+        final CompletableFuture<Response<?>> result = new CompletableFuture<>();
+        final boolean isFirst;
+        final boolean isFull;
+        synchronized (this) {
+            pendingRequests.add(new PendingRequest(request, result));
+            isFirst = pendingRequests.size() == 1;
+            isFull = pendingRequests.size() >= maxBatchSize;
+        }
+        if (isFull) {
+            ioExecutor.execute(this::flush);
+        } else if (isFirst) {
+            flushExecutor.execute(this::flush);
+        }
+        return result.thenApply(responseType::cast);
+    }
+
+    /**
+     * Sends all queued requests in a single batch and completes their futures.
+     */
+    void flush() {
+        final List<PendingRequest> batch;
+        synchronized (this) {
+            if (pendingRequests.isEmpty()) {
+                return;
+            }
+            batch = pendingRequests;
+            pendingRequests = new ArrayList<>();
+        }
+        batchSizeSummary.record(batch.size());
+        savedRequestsCounter.increment(batch.size() - 1d);
+        try {
+            if (batch.size() == 1) {
+                final PendingRequest single = batch.get(0);
+                single.result().complete(transport.send(single.request(), single.request().getResponseType()));
+                return;
+            }
+            final BatchRequest batchRequest = new BatchRequest(transport);
+            batch.forEach(pending -> batchRequest.add(pending.request()));
+            final Map<Long, Response<?>> responsesById = transport.sendBatch(batchRequest).getResponses().stream()
+                    .collect(Collectors.toMap(Response::getId, Function.identity(), (first, second) -> first));
+            for (final PendingRequest pending : batch) {
+                final Response<?> response = responsesById.get(pending.request().getId());
+                if (response != null) {
+                    pending.result().complete(response);
+                } else {
+                    pending.result().completeExceptionally(new IOException(
+                            "No response in JSON-RPC batch [method:" + pending.request().getMethod() + "]"));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to send JSON-RPC batch [size:{}]", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public BatchResponse sendBatch(final BatchRequest batchRequest) throws IOException {
+        return transport.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(final BatchRequest batchRequest) {
+        return transport.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(final Request request, final String unsubscribeMethod,
+                                                             final Class<T> responseType) {
+        return transport.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        ioExecutor.shutdown();
+        transport.close();
+    }
+
+    private record PendingRequest(Request<?, ? extends Response<?>> request, CompletableFuture<Response<?>> result) {
+    }
+}
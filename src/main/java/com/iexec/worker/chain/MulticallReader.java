@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.DynamicStruct;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Aggregates contract reads in a single {@code eth_call} to a Multicall3 contract.
+ * <p>
+ * Calls are sent with {@code aggregate3((address,bool,bytes)[])} and failures are allowed, so that a reverted
+ * call does not prevent reading the results of the other ones.
+ */
+@Slf4j
+class MulticallReader {
+
+    private final Web3j web3j;
+    private final String multicallAddress;
+
+    MulticallReader(final Web3j web3j, final String multicallAddress) {
+        this.web3j = web3j;
+        this.multicallAddress = multicallAddress;
+    }
+
+    /**
+     * Sends all calls in a single {@code eth_call} on the latest block.
+     *
+     * @param calls Calls to aggregate
+     * @return The return data of each call, in the order of the calls, empty for failed calls
+     * @throws IOException if the aggregated call could not be sent or was reverted
+     */
+    List<Optional<String>> aggregate(final List<Call> calls) throws IOException {
+        final List<Call3> call3s = calls.stream()
+                .map(call -> new Call3(call.target(), Numeric.hexStringToByteArray(call.callData())))
+                .toList();
+        final String data = FunctionEncoder.encode(new Function("aggregate3",
+                List.of(new DynamicArray<>(Call3.class, call3s)), List.of()));
+        final EthCall ethCall = web3j.ethCall(
+                Transaction.createEthCallTransaction(null, multicallAddress, data),
+                DefaultBlockParameterName.LATEST).send();
+        if (ethCall.hasError() || ethCall.isReverted()) {
+            throw new IOException("Multicall failed [calls:" + calls.size() + ", error:" +
+                    (ethCall.hasError() ? ethCall.getError().getMessage() : ethCall.getRevertReason()) + "]");
+        }
+        final List<Type> outputs = FunctionReturnDecoder.decode(ethCall.getValue(),
+                org.web3j.abi.Utils.convert(List.of(new TypeReference<DynamicArray<Result>>() {
+                })));
+        if (outputs.isEmpty()) {
+            throw new IOException("Multicall returned no data [calls:" + calls.size() + "]");
+        }
+        @SuppressWarnings("unchecked") final List<Result> results = ((DynamicArray<Result>) outputs.get(0)).getValue();
+        if (results.size() != calls.size()) {
+            throw new IOException("Multicall returned " + results.size() + " results for " + calls.size() + " calls");
+        }
+        log.debug("Multicall done [calls:{}]", calls.size());
+        return results.stream()
+                .map(result -> result.success ? Optional.of(Numeric.toHexString(result.returnData)) : Optional.<String>empty())
+                .toList();
+    }
+
+    record Call(String target, String callData) {
+    }
+
+    /**
+     * {@code Call3} input struct of Multicall3.
+     */
+    public static class Call3 extends DynamicStruct {
+        public Call3(final String target, final byte[] callData) {
+            super(new Address(target), new Bool(true), new DynamicBytes(callData));
+        }
+    }
+
+    /**
+     * {@code Result} output struct of Multicall3, must be public to be decoded.
+     */
+    public static class Result extends DynamicStruct {
+        private final boolean success;
+        private final byte[] returnData;
+
+        public Result(final Bool success, final DynamicBytes returnData) {
+            super(success, returnData);
+            this.success = success.getValue();
+            this.returnData = returnData.getValue();
+        }
+    }
+}
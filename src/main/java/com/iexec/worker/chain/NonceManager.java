@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.chain;
+
+import com.iexec.commons.poco.chain.SignerService;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local assignment of the nonces of the worker wallet.
+ * <p>
+ * Transactions are signed and sent one at a time with consecutive nonces, but the sender does not wait for
+ * the receipt of a transaction before the next one is sent, so that several transactions are in flight at once.
+ * The next nonce is read again from the pending transaction count of the wallet on startup and after any failure
+ * (send error, receipt not found), so that a gap left by a failed transaction is filled by the next one.
+ */
+@Slf4j
+class NonceManager {
+
+    static final String IN_FLIGHT_METRIC_NAME = "iexec.chain.tx.in-flight";
+    static final String WAITING_METRIC_NAME = "iexec.chain.tx.waiting";
+
+    private final SignerService signerService;
+    private final AtomicInteger inFlightTransactions;
+    private final AtomicInteger waitingTransactions;
+    private BigInteger nextNonce;
+
+    NonceManager(final SignerService signerService) {
+        this.signerService = signerService;
+        this.inFlightTransactions = Metrics.gauge(IN_FLIGHT_METRIC_NAME, new AtomicInteger(0));
+        this.waitingTransactions = Metrics.gauge(WAITING_METRIC_NAME, new AtomicInteger(0));
+    }
+
+    /**
+     * Sends a transaction with the next nonce of the wallet.
+     * <p>
+     * The transaction is counted as in flight until {@link #onTransactionMined(boolean)} is called.
+     *
+     * @param sender Signs and sends the transaction with the given nonce, returns its hash
+     * @return The hash of the transaction
+     * @throws IOException if the transaction could not be sent, the nonce is then read again from the node
+     */
+    String send(final TransactionSender sender) throws IOException {
+        waitingTransactions.incrementAndGet();
+        synchronized (this) {
+            waitingTransactions.decrementAndGet();
+            final BigInteger nonce = getNextNonce();
+            try {
+                final String txHash = sender.send(nonce);
+                if (txHash == null || txHash.isEmpty()) {
+                    throw new IOException("Transaction not accepted by the node [nonce:" + nonce + "]");
+                }
+                nextNonce = nonce.add(BigInteger.ONE);
+                inFlightTransactions.incrementAndGet();
+                log.debug("Transaction sent [nonce:{}, txHash:{}, inFlight:{}]",
+                        nonce, txHash, inFlightTransactions.get());
+                return txHash;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to send transaction, nonce will be read again [nonce:{}]", nonce);
+                nextNonce = null;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Releases an in-flight transaction once its receipt has been fetched, or could not be.
+     *
+     * @param mined {@literal false} if no receipt was found for the transaction, the nonce is then read again
+     */
+    void onTransactionMined(final boolean mined) {
+        inFlightTransactions.decrementAndGet();
+        if (!mined) {
+            resync();
+        }
+    }
+
+    /**
+     * Returns the nonce of the next transaction, read from the pending transaction count of the wallet if needed.
+     */
+    synchronized BigInteger getNextNonce() throws IOException {
+        if (nextNonce == null) {
+            nextNonce = signerService.getNonce();
+            log.info("Nonce synchronized with the node [nextNonce:{}]", nextNonce);
+        }
+        return nextNonce;
+    }
+
+    synchronized void resync() {
+        nextNonce = null;
+    }
+
+    int getInFlightTransactions() {
+        return inFlightTransactions.get();
+    }
+
+    int getWaitingTransactions() {
+        return waitingTransactions.get();
+    }
+
+    @FunctionalInterface
+    interface TransactionSender {
+        String send(BigInteger nonce) throws IOException;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,31 +16,129 @@
 
 package com.iexec.worker.chain;
 
+import com.iexec.common.lifecycle.purge.ExpiringTaskMapFactory;
+import com.iexec.common.lifecycle.purge.Purgeable;
 import com.iexec.commons.poco.chain.*;
 import com.iexec.commons.poco.utils.HashUtils;
+import com.iexec.core.notification.TaskNotification;
+import com.iexec.core.notification.TaskNotificationExtra;
+import com.iexec.core.notification.TaskNotificationType;
+import com.iexec.worker.chain.event.LatestBlockEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.web3j.protocol.core.methods.response.Log;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-
+import java.util.stream.Collectors;
+
+/**
+ * Reveal of the contributions of the worker.
+ * <p>
+ * Once a contribution has been sent, the task is watched on each new block until the consensus is reached
+ * on the contributed result hash. The worker then triggers the reveal itself with a {@code PLEASE_REVEAL}
+ * notification, without waiting for the scheduler. The {@code PLEASE_REVEAL} notification of the scheduler
+ * remains the fallback, and is deduplicated by the task stage ledger if the reveal has already been sent.
+ */
 @Slf4j
 @Service
-public class RevealService {
+public class RevealService implements Purgeable {
+
+    static final String CONSENSUS_DETECTED_METRIC_NAME = "iexec.chain.consensus.detected";
 
     private final IexecHubService iexecHubService;
     private final Web3jService web3jService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final String workerWalletAddress;
+    private final Map<String, ConsensusWatch> watchedTasks = ExpiringTaskMapFactory.getExpiringTaskMap();
+    private final Counter consensusDetectedCounter = Metrics.counter(CONSENSUS_DETECTED_METRIC_NAME);
 
     public RevealService(IexecHubService iexecHubService,
                          Web3jService web3jService,
+                         ApplicationEventPublisher applicationEventPublisher,
                          String workerWalletAddress) {
         this.iexecHubService = iexecHubService;
         this.web3jService = web3jService;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.workerWalletAddress = workerWalletAddress;
     }
 
+    // region consensus watch
+
+    /**
+     * Watches a contributed task until the consensus is reached on its result.
+     *
+     * @param chainTaskId  ID of the task
+     * @param resultDigest Contributed result digest
+     */
+    public void watchConsensus(final String chainTaskId, final String resultDigest) {
+        log.debug("Watching consensus [chainTaskId:{}]", chainTaskId);
+        watchedTasks.put(chainTaskId, new ConsensusWatch(
+                resultDigest, HashUtils.concatenateAndHash(chainTaskId, resultDigest), 0L, 0L));
+    }
+
+    /**
+     * Checks whether the consensus has been observed on the contributed result digest of a task,
+     * and its reveal deadline is not reached yet.
+     *
+     * @param chainTaskId  ID of the task
+     * @param resultDigest Result digest to reveal
+     * @return {@literal true} if the reveal can be sent without checking the on-chain state again
+     */
+    public boolean isRevealReady(final String chainTaskId, final String resultDigest) {
+        final ConsensusWatch watch = watchedTasks.get(chainTaskId);
+        return watch != null
+                && watch.isConsensusReached()
+                && watch.resultDigest().equals(resultDigest)
+                && System.currentTimeMillis() < watch.revealDeadline();
+    }
+
+    @EventListener
+    void onLatestBlockEvent(final LatestBlockEvent event) {
+        final Map<String, ConsensusWatch> pendingWatches = watchedTasks.entrySet().stream()
+                .filter(entry -> !entry.getValue().isConsensusReached())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (pendingWatches.isEmpty()) {
+            return;
+        }
+        // all watched tasks are read together, in a single call when multicall is enabled
+        final Map<String, ChainTask> chainTasks = iexecHubService.getChainTasks(pendingWatches.keySet());
+        pendingWatches.forEach((chainTaskId, watch) ->
+                checkConsensus(chainTaskId, watch, chainTasks.get(chainTaskId), event.getBlockNumber()));
+    }
+
+    private void checkConsensus(final String chainTaskId, final ConsensusWatch watch, final ChainTask chainTask,
+                                final long blockNumber) {
+        if (chainTask == null || chainTask.getStatus() == ChainTaskStatus.ACTIVE) {
+            return;
+        }
+        if (chainTask.getStatus() != ChainTaskStatus.REVEALING
+                || !Objects.equals(watch.resultHash(), chainTask.getConsensusValue())
+                || chainTask.isRevealDeadlineReached()) {
+            log.info("Consensus not reached on contribution, stop watching [chainTaskId:{}, status:{}]",
+                    chainTaskId, chainTask.getStatus());
+            watchedTasks.remove(chainTaskId);
+            return;
+        }
+        log.info("Consensus reached on contribution, triggering reveal [chainTaskId:{}, block:{}]",
+                chainTaskId, blockNumber);
+        watchedTasks.put(chainTaskId, new ConsensusWatch(
+                watch.resultDigest(), watch.resultHash(), blockNumber, chainTask.getRevealDeadline()));
+        consensusDetectedCounter.increment();
+        applicationEventPublisher.publishEvent(TaskNotification.builder()
+                .chainTaskId(chainTaskId)
+                .taskNotificationType(TaskNotificationType.PLEASE_REVEAL)
+                .taskNotificationExtra(TaskNotificationExtra.builder().blockNumber(blockNumber).build())
+                .build());
+    }
+    // endregion
+
     public boolean repeatCanReveal(String chainTaskId, String resultDigest) {
         return web3jService.repeatCheck(6, 3, "canReveal",
                 this::canReveal, chainTaskId, resultDigest);
@@ -127,4 +225,27 @@ public class RevealService {
 
         return Optional.of(chainReceipt);
     }
+
+    @Override
+    public boolean purgeTask(final String chainTaskId) {
+        log.debug("purgeTask [chainTaskId:{}]", chainTaskId);
+        watchedTasks.remove(chainTaskId);
+        return true;
+    }
+
+    @Override
+    @PreDestroy
+    public void purgeAllTasksData() {
+        log.info("Method purgeAllTasksData() called to perform task data cleanup.");
+        watchedTasks.clear();
+    }
+
+    /**
+     * Consensus state of a contributed task, {@code consensusBlock} is {@literal 0} until the consensus is reached.
+     */
+    private record ConsensusWatch(String resultDigest, String resultHash, long consensusBlock, long revealDeadline) {
+        boolean isConsensusReached() {
+            return consensusBlock > 0;
+        }
+    }
 }
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import com.iexec.worker.config.ConfigServerConfigurationService;
+import com.iexec.worker.config.WorkerConfigurationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Flowable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.websocket.events.Notification;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * JSON-RPC transport spreading reads over several blockchain nodes.
+ * <p>
+ * The node of the worker configuration, or of the config server, is completed with the nodes of
+ * {@link WorkerConfigurationService#getBlockchainNodeReadUrls()}. Each read is sent to the healthy node with
+ * the lowest median latency. When no response is received after the {@link #HEDGE_PERCENTILE} latency of that
+ * node, the read is hedged: the same request is sent to the next node and the first response wins. A failed
+ * read is sent to the next node right away. A read fails when the node cannot be reached, or when it answers
+ * with a node error (see {@link #isNodeError(Response.Error)}) for any request of a batch. If all nodes answer
+ * with a node error, the last error response is returned. Other JSON-RPC errors, such as a reverted
+ * {@code eth_call}, are deterministic: they are returned at once and do not count against the node.
+ * <p>
+ * Nodes are checked on each tick. A node is ejected after {@link #MAX_CONSECUTIVE_FAILURES} consecutive failures
+ * or when it lags more than {@link #MAX_LAG_BLOCKS} blocks behind the most advanced node, it is added back as
+ * soon as it is healthy again. Only reads should be sent through this transport.
+ */
+@Slf4j
+@Service
+public class RpcNodePool implements Web3jService {
+
+    static final String LATENCY_METRIC_NAME = "iexec.chain.rpc.node.latency";
+    static final String LAG_METRIC_NAME = "iexec.chain.rpc.node.lag";
+    static final String HEALTHY_METRIC_NAME = "iexec.chain.rpc.node.healthy";
+    static final String SELECTED_METRIC_NAME = "iexec.chain.rpc.node.selected";
+    static final String HEDGED_METRIC_NAME = "iexec.chain.rpc.hedged";
+    static final int MAX_CONSECUTIVE_FAILURES = 3;
+    static final long MAX_LAG_BLOCKS = 3;
+    static final double HEDGE_PERCENTILE = 0.95;
+    static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(500);
+    private static final int LATENCY_SAMPLES = 64;
+    private static final int INTERNAL_ERROR_CODE = -32603;
+    private static final int MIN_SERVER_ERROR_CODE = -32099;
+    private static final int MAX_SERVER_ERROR_CODE = -32000;
+
+    private final List<Node> nodes;
+    private final Counter hedgedCounter;
+
+    @Autowired
+    public RpcNodePool(final ConfigServerConfigurationService configServerConfigurationService,
+                       final WorkerConfigurationService workerConfigurationService) {
+        this(Stream.concat(
+                        Stream.of(!workerConfigurationService.getOverrideBlockchainNodeAddress().isEmpty() ?
+                                workerConfigurationService.getOverrideBlockchainNodeAddress() :
+                                configServerConfigurationService.getChainNodeUrl()),
+                        Stream.ofNullable(workerConfigurationService.getBlockchainNodeReadUrls())
+                                .flatMap(urls -> Arrays.stream(urls.split(","))))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .map(HttpService::new)
+                .toList());
+    }
+
+    RpcNodePool(final List<? extends Web3jService> transports) {
+        this.nodes = IntStream.range(0, transports.size())
+                .mapToObj(i -> new Node(String.valueOf(i), transports.get(i)))
+                .toList();
+        this.hedgedCounter = Metrics.counter(HEDGED_METRIC_NAME);
+        log.info("Blockchain read nodes [count:{}]", nodes.size());
+    }
+
+    // region node health
+    @Scheduled(fixedRate = 5000)
+    void checkNodes() {
+        if (nodes.size() < 2) {
+            return;
+        }
+        nodes.forEach(Node::probe);
+        final long maxBlockNumber = nodes.stream().mapToLong(node -> node.blockNumber.get()).max().orElse(0L);
+        nodes.forEach(node -> node.updateHealth(maxBlockNumber));
+    }
+
+    List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns healthy nodes by increasing median latency, or all nodes if none is healthy.
+     */
+    List<Node> getRankedNodes() {
+        final List<Node> healthyNodes = nodes.stream().filter(Node::isHealthy).toList();
+        return (healthyNodes.isEmpty() ? nodes : healthyNodes).stream()
+                .sorted(Comparator.comparingLong(node -> node.getLatencyPercentile(0.5)))
+                .toList();
+    }
+    // endregion
+
+    // region hedged requests
+
+    /**
+     * Checks whether a JSON-RPC error comes from the node rather than from the request,
+     * in which case another node may answer successfully.
+     *
+     * @return {@literal true} for internal errors and implementation-defined server errors,
+     * {@literal false} otherwise.
+     */
+    static boolean isNodeError(final Response.Error error) {
+        final int code = error.getCode();
+        return code == INTERNAL_ERROR_CODE || (code >= MIN_SERVER_ERROR_CODE && code <= MAX_SERVER_ERROR_CODE);
+    }
+
+    private static boolean hasNodeError(final Response<?> response) {
+        return response.hasError() && isNodeError(response.getError());
+    }
+
+    private <R> CompletableFuture<R> hedge(final Function<Web3jService, CompletableFuture<R>> call,
+                                           final Predicate<R> hasNodeError) {
+        final HedgedCall<R> hedgedCall = new HedgedCall<>(getRankedNodes(), call, hasNodeError);
+        hedgedCall.sendToNextNode();
+        return hedgedCall.result;
+    }
+
+    /**
+     * A read sent to one node at a time, then to the next node on failure or once the hedge delay is over.
+     */
+    private final class HedgedCall<R> {
+        private final List<Node> candidates;
+        private final Function<Web3jService, CompletableFuture<R>> call;
+        private final Predicate<R> hasNodeError;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicReference<R> errorResponse = new AtomicReference<>();
+
+        private HedgedCall(final List<Node> candidates, final Function<Web3jService, CompletableFuture<R>> call,
+                           final Predicate<R> hasNodeError) {
+            this.candidates = candidates;
+            this.call = call;
+            this.hasNodeError = hasNodeError;
+        }
+
+        private boolean sendToNextNode() {
+            final int index = nextIndex.getAndIncrement();
+            if (index >= candidates.size() || result.isDone()) {
+                return false;
+            }
+            final Node node = candidates.get(index);
+            node.selectedCounter.increment();
+            inFlight.incrementAndGet();
+            final long start = System.nanoTime();
+            call.apply(node.transport).whenComplete((response, throwable) -> {
+                inFlight.decrementAndGet();
+                if (throwable == null && !hasNodeError.test(response)) {
+                    node.onSuccess(System.nanoTime() - start);
+                    result.complete(response);
+                    return;
+                }
+                node.onFailure();
+                if (throwable == null) {
+                    errorResponse.set(response);
+                    log.debug("Read returned a node error [node:{}]", node.name);
+                } else {
+                    log.debug("Read failed on node [node:{}]", node.name, throwable);
+                }
+                if (!sendToNextNode() && inFlight.get() == 0) {
+                    if (errorResponse.get() != null) {
+                        result.complete(errorResponse.get());
+                    } else {
+                        result.completeExceptionally(throwable);
+                    }
+                }
+            });
+            if (index + 1 < candidates.size()) {
+                CompletableFuture.delayedExecutor(node.getHedgeDelay().toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> {
+                            if (!result.isDone() && sendToNextNode()) {
+                                hedgedCounter.increment();
+                            }
+                        });
+            }
+            return true;
+        }
+    }
+    // endregion
+
+    // region Web3jService
+    @Override
+    public <T extends Response> T send(final Request request, final Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for JSON-RPC response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(final Request request, final Class<T> responseType) {
+        return hedge(transport -> transport.sendAsync(request, responseType), RpcNodePool::hasNodeError);
+    }
+
+    @Override
+    public BatchResponse sendBatch(final BatchRequest batchRequest) throws IOException {
+        try {
+            return sendBatchAsync(batchRequest).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for JSON-RPC batch response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(final BatchRequest batchRequest) {
+        return hedge(transport -> transport.sendBatchAsync(batchRequest),
+                batchResponse -> batchResponse.getResponses().stream().anyMatch(RpcNodePool::hasNodeError));
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(final Request request, final String unsubscribeMethod,
+                                                             final Class<T> responseType) {
+        return nodes.get(0).transport.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (final Node node : nodes) {
+            node.transport.close();
+        }
+    }
+    // endregion
+
+    /**
+     * A blockchain node with its latency samples and health state.
+     */
+    static final class Node {
+        private final String name;
+        private final Web3jService transport;
+        private final Web3j web3j;
+        private final long[] latencySamples = new long[LATENCY_SAMPLES];
+        private int sampleCount;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong blockNumber = new AtomicLong();
+        private final AtomicLong lag;
+        private final AtomicInteger healthy;
+        private final Timer latencyTimer;
+        private final Counter selectedCounter;
+
+        private Node(final String name, final Web3jService transport) {
+            this.name = name;
+            this.transport = transport;
+            this.web3j = Web3j.build(transport);
+            final Tags tags = Tags.of("node", name);
+            this.lag = Metrics.gauge(LAG_METRIC_NAME, tags, new AtomicLong());
+            this.healthy = Metrics.gauge(HEALTHY_METRIC_NAME, tags, new AtomicInteger(1));
+            this.latencyTimer = Metrics.timer(LATENCY_METRIC_NAME, tags);
+            this.selectedCounter = Metrics.counter(SELECTED_METRIC_NAME, tags);
+        }
+
+        boolean isHealthy() {
+            return healthy.get() == 1;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Web3j getWeb3j() {
+            return web3j;
+        }
+
+        private void probe() {
+            final long start = System.nanoTime();
+            try {
+                blockNumber.set(web3j.ethBlockNumber().send().getBlockNumber().longValue());
+                onSuccess(System.nanoTime() - start);
+            } catch (Exception e) {
+                log.debug("Failed to get block number of node [node:{}]", name, e);
+                onFailure();
+            }
+        }
+
+        private void updateHealth(final long maxBlockNumber) {
+            lag.set(maxBlockNumber - blockNumber.get());
+            final boolean isHealthy = consecutiveFailures.get() < MAX_CONSECUTIVE_FAILURES && lag.get() <= MAX_LAG_BLOCKS;
+            if (isHealthy != isHealthy()) {
+                if (isHealthy) {
+                    log.info("Blockchain node is healthy again [node:{}]", name);
+                } else {
+                    log.warn("Ejecting blockchain node [node:{}, consecutiveFailures:{}, lag:{}]",
+                            name, consecutiveFailures.get(), lag.get());
+                }
+                healthy.set(isHealthy ? 1 : 0);
+            }
+        }
+
+        private synchronized void onSuccess(final long latencyNanos) {
+            consecutiveFailures.set(0);
+            latencyTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            latencySamples[sampleCount % LATENCY_SAMPLES] = latencyNanos;
+            sampleCount++;
+        }
+
+        private void onFailure() {
+            consecutiveFailures.incrementAndGet();
+        }
+
+        /**
+         * Returns a percentile of the latest latency samples in nanoseconds, or {@link Long#MAX_VALUE} without samples.
+         */
+        synchronized long getLatencyPercentile(final double percentile) {
+            final int count = Math.min(sampleCount, LATENCY_SAMPLES);
+            if (count == 0) {
+                return Long.MAX_VALUE;
+            }
+            final long[] sorted = Arrays.copyOf(latencySamples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(percentile * count) - 1];
+        }
+
+        Duration getHedgeDelay() {
+            final long percentile = getLatencyPercentile(HEDGE_PERCENTILE);
+            return percentile == Long.MAX_VALUE ? DEFAULT_HEDGE_DELAY : Duration.ofNanos(percentile);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import com.iexec.worker.utils.ExecutorUtils;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Broadcasts signed transactions to all nodes of the {@link RpcNodePool}.
+ * <p>
+ * A transaction is sent to every node at once and is considered sent as soon as one node accepts it.
+ * Its receipt is then polled on all nodes and the first receipt found is accepted. The nodes which have not
+ * returned the receipt yet are still polled for a few intervals afterwards, so that the time-to-inclusion
+ * seen by each node is recorded.
+ */
+@Slf4j
+class TransactionBroadcaster {
+
+    static final String BROADCAST_METRIC_NAME = "iexec.chain.tx.broadcast";
+    static final String INCLUSION_METRIC_NAME = "iexec.chain.tx.inclusion";
+    static final int FOLLOW_UP_POLLS = 10;
+
+    private final List<RpcNodePool.Node> nodes;
+    private final Duration pollInterval;
+    private final Duration timeout;
+    private final ThreadPoolTaskExecutor followUpExecutor;
+    private final Map<String, Long> broadcastTimes = new ConcurrentHashMap<>();
+
+    TransactionBroadcaster(final List<RpcNodePool.Node> nodes, final Duration pollInterval, final Duration timeout) {
+        this.nodes = nodes;
+        this.pollInterval = pollInterval;
+        this.timeout = timeout;
+        this.followUpExecutor = ExecutorUtils.newFixedThreadPoolExecutor(1, "tx-inclusion-");
+    }
+
+    /**
+     * Sends a signed transaction to all nodes.
+     *
+     * @param signedTx Signed transaction, hex encoded
+     * @return The hash of the transaction, from the first node which accepted it
+     * @throws IOException if no node accepted the transaction
+     */
+    String broadcast(final String signedTx) throws IOException {
+        final long start = System.nanoTime();
+        final CompletableFuture<String> accepted = new CompletableFuture<>();
+        final AtomicInteger remainingNodes = new AtomicInteger(nodes.size());
+        for (final RpcNodePool.Node node : nodes) {
+            node.getWeb3j().ethSendRawTransaction(signedTx).sendAsync().whenComplete((response, throwable) -> {
+                final boolean isAccepted = throwable == null && !response.hasError();
+                Metrics.counter(BROADCAST_METRIC_NAME, "node", node.getName(),
+                        "result", isAccepted ? "accepted" : "rejected").increment();
+                if (isAccepted) {
+                    accepted.complete(response.getTransactionHash());
+                } else {
+                    log.debug("Transaction not accepted by node [node:{}, error:{}]", node.getName(),
+                            throwable != null ? throwable.getMessage() : response.getError().getMessage());
+                }
+                if (remainingNodes.decrementAndGet() == 0) {
+                    accepted.completeExceptionally(new IOException("Transaction not accepted by any node"));
+                }
+            });
+        }
+        try {
+            final String txHash = accepted.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            broadcastTimes.put(txHash, start);
+            return txHash;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while broadcasting transaction", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("Failed to broadcast transaction", e);
+        }
+    }
+
+    /**
+     * Polls the receipt of a transaction on all nodes and returns the first one found.
+     *
+     * @param txHash Hash of a transaction sent with {@link #broadcast(String)}
+     * @return The receipt of the transaction
+     * @throws TransactionException if no node returned the receipt before the timeout
+     */
+    TransactionReceipt waitForReceipt(final String txHash) throws TransactionException {
+        final long start = Optional.ofNullable(broadcastTimes.remove(txHash)).orElseGet(System::nanoTime);
+        final List<RpcNodePool.Node> pendingNodes = new ArrayList<>(nodes);
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        TransactionReceipt receipt = pollReceipt(txHash, start, pendingNodes);
+        try {
+            while (receipt == null && System.nanoTime() < deadline) {
+                Thread.sleep(pollInterval.toMillis());
+                receipt = pollReceipt(txHash, start, pendingNodes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (receipt == null) {
+            throw new TransactionException("Transaction receipt not found on any node [txHash:" + txHash + "]");
+        }
+        if (!pendingNodes.isEmpty()) {
+            followUpExecutor.execute(() -> followUp(txHash, start, pendingNodes));
+        }
+        return receipt;
+    }
+
+    private void followUp(final String txHash, final long start, final List<RpcNodePool.Node> pendingNodes) {
+        try {
+            for (int i = 0; i < FOLLOW_UP_POLLS && !pendingNodes.isEmpty(); i++) {
+                Thread.sleep(pollInterval.toMillis());
+                pollReceipt(txHash, start, pendingNodes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!pendingNodes.isEmpty()) {
+            log.info("Transaction receipt still not seen by some nodes [txHash:{}, nodes:{}]",
+                    txHash, pendingNodes.stream().map(RpcNodePool.Node::getName).toList());
+        }
+    }
+
+    /**
+     * Asks the receipt to all pending nodes, records the time-to-inclusion of the nodes which return it
+     * and removes them from pending nodes.
+     */
+    private TransactionReceipt pollReceipt(final String txHash, final long start,
+                                           final List<RpcNodePool.Node> pendingNodes) {
+        final List<CompletableFuture<EthGetTransactionReceipt>> requests = pendingNodes.stream()
+                .map(node -> node.getWeb3j().ethGetTransactionReceipt(txHash).sendAsync())
+                .toList();
+        TransactionReceipt firstReceipt = null;
+        final List<RpcNodePool.Node> includedNodes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            final RpcNodePool.Node node = pendingNodes.get(i);
+            try {
+                final Optional<TransactionReceipt> receipt = requests.get(i)
+                        .get(pollInterval.toMillis(), TimeUnit.MILLISECONDS).getTransactionReceipt();
+                if (receipt.isPresent()) {
+                    Metrics.timer(INCLUSION_METRIC_NAME, "node", node.getName())
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    includedNodes.add(node);
+                    if (firstReceipt == null) {
+                        firstReceipt = receipt.get();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Failed to get transaction receipt from node [node:{}, txHash:{}]",
+                        node.getName(), txHash, e);
+            }
+        }
+        pendingNodes.removeAll(includedNodes);
+        return firstReceipt;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import com.iexec.common.result.ComputedFile;
 import com.iexec.common.utils.FileHelper;
 import com.iexec.commons.poco.dapp.DappType;
 import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.worker.chain.ContributionService;
 import com.iexec.worker.compute.app.AppComputeResponse;
 import com.iexec.worker.compute.app.AppComputeService;
 import com.iexec.worker.compute.post.PostComputeResponse;
@@ -31,6 +32,7 @@ import com.iexec.worker.config.WorkerConfigurationService;
 import com.iexec.worker.docker.DockerRegistryConfiguration;
 import com.iexec.worker.docker.DockerService;
 import com.iexec.worker.result.ResultService;
+import com.iexec.worker.workflow.TaskCancellationService;
 import com.iexec.worker.workflow.WorkflowError;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -58,6 +60,8 @@ public class ComputeManagerService {
     private final PostComputeService postComputeService;
     private final WorkerConfigurationService workerConfigService;
     private final ResultService resultService;
+    private final TaskCancellationService taskCancellationService;
+    private final ContributionService contributionService;
 
     public ComputeManagerService(
             DockerService dockerService,
@@ -66,7 +70,9 @@ public class ComputeManagerService {
             AppComputeService appComputeService,
             PostComputeService postComputeService,
             WorkerConfigurationService workerConfigService,
-            ResultService resultService) {
+            ResultService resultService,
+            TaskCancellationService taskCancellationService,
+            ContributionService contributionService) {
         this.dockerService = dockerService;
         this.dockerRegistryConfiguration = dockerRegistryConfiguration;
         this.preComputeService = preComputeService;
@@ -74,6 +80,8 @@ public class ComputeManagerService {
         this.postComputeService = postComputeService;
         this.workerConfigService = workerConfigService;
         this.resultService = resultService;
+        this.taskCancellationService = taskCancellationService;
+        this.contributionService = contributionService;
     }
 
     /**
@@ -81,9 +89,11 @@ public class ComputeManagerService {
      * <p>
      * The download fails for a bad task description or if a timeout is reached.
      * The timeout is computed by calling {@link #computeImagePullTimeout(TaskDescription)}.
+     * The pull is run with the cancellation token of the task, it is interrupted if the task is aborted.
      *
      * @param taskDescription Task description containing application type and download URI
      * @return true if download succeeded, false otherwise
+     * @throws java.util.concurrent.CancellationException if the task has been aborted
      */
     public boolean downloadApp(TaskDescription taskDescription) {
         if (taskDescription == null || taskDescription.getAppType() == null) {
@@ -95,9 +105,11 @@ public class ComputeManagerService {
         }
 
         final long pullTimeout = computeImagePullTimeout(taskDescription);
-        dockerService.getClient(taskDescription.getAppUri())
-                .pullImage(taskDescription.getAppUri(), Duration.of(pullTimeout, ChronoUnit.MINUTES));
-        return dockerService.getClient(taskDescription.getAppUri()).isImagePresent(taskDescription.getAppUri());
+        return taskCancellationService.getToken(taskDescription.getChainTaskId()).run(() -> {
+            dockerService.getClient(taskDescription.getAppUri())
+                    .pullImage(taskDescription.getAppUri(), Duration.of(pullTimeout, ChronoUnit.MINUTES));
+            return dockerService.getClient(taskDescription.getAppUri()).isImagePresent(taskDescription.getAppUri());
+        });
     }
 
     /**
@@ -203,6 +215,8 @@ public class ComputeManagerService {
      * Execute post-compute stage for standard and TEE tasks.
      * <p>
      * This method calls methods from {@code PostComputeService} depending on the Task type.
+     * Once the computed file is available, the contribution is prepared with
+     * {@link ContributionService#prepareContribution(ComputedFile)}.
      *
      * @param taskDescription Description of the task
      * @return {@code PostComputeResponse} instance
@@ -239,7 +253,11 @@ public class ComputeManagerService {
                     .stderr(postComputeResponse.getStderr())
                     .build();
         }
+        if (computedFile.getResultDigest() == null || computedFile.getResultDigest().isEmpty()) {
+            computedFile.setResultDigest(resultDigest);
+        }
         resultService.saveResultInfo(taskDescription, computedFile);
+        contributionService.prepareContribution(computedFile);
         return postComputeResponse;
     }
 
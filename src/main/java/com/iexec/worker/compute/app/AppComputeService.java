@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.worker.config.WorkerConfigurationService;
 import com.iexec.worker.docker.DockerService;
 import com.iexec.worker.metric.ComputeDurationsService;
+import com.iexec.worker.task.TaskTimeBudgetService;
 import com.iexec.worker.tee.TeeService;
 import com.iexec.worker.tee.TeeServicesManager;
 import com.iexec.worker.workflow.WorkflowError;
@@ -43,15 +44,18 @@ public class AppComputeService {
     private final DockerService dockerService;
     private final TeeServicesManager teeServicesManager;
     private final ComputeDurationsService appComputeDurationsService;
+    private final TaskTimeBudgetService taskTimeBudgetService;
 
     public AppComputeService(final WorkerConfigurationService workerConfigService,
                              final DockerService dockerService,
                              final TeeServicesManager teeServicesManager,
-                             final ComputeDurationsService appComputeDurationsService) {
+                             final ComputeDurationsService appComputeDurationsService,
+                             final TaskTimeBudgetService taskTimeBudgetService) {
         this.workerConfigService = workerConfigService;
         this.dockerService = dockerService;
         this.teeServicesManager = teeServicesManager;
         this.appComputeDurationsService = appComputeDurationsService;
+        this.taskTimeBudgetService = taskTimeBudgetService;
     }
 
     public AppComputeResponse runCompute(final TaskDescription taskDescription) {
@@ -84,7 +88,8 @@ public class AppComputeService {
                 .containerName(getTaskContainerName(chainTaskId))
                 .cmd(taskDescription.getDealParams().getIexecArgs())
                 .env(env)
-                .maxExecutionTime(taskDescription.getMaxExecutionTime())
+                .maxExecutionTime(taskTimeBudgetService.getComputeMaxExecutionTime(taskDescription)
+                        .orElse(taskDescription.getMaxExecutionTime()))
                 .build();
         final DockerRunResponse dockerResponse = dockerService.run(runRequest);
         final Duration executionDuration = dockerResponse.getExecutionDuration();
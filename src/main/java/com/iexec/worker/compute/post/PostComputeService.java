@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import com.iexec.worker.compute.ComputeStage;
 import com.iexec.worker.config.WorkerConfigurationService;
 import com.iexec.worker.docker.DockerService;
 import com.iexec.worker.metric.ComputeDurationsService;
+import com.iexec.worker.task.TaskTimeBudgetService;
 import com.iexec.worker.tee.TeeService;
 import com.iexec.worker.tee.TeeServicesManager;
 import com.iexec.worker.tee.TeeServicesPropertiesService;
@@ -62,19 +63,22 @@ public class PostComputeService {
     private final ComputeExitCauseService computeExitCauseService;
     private final TeeServicesPropertiesService teeServicesPropertiesService;
     private final ComputeDurationsService postComputeDurationsService;
+    private final TaskTimeBudgetService taskTimeBudgetService;
 
     public PostComputeService(final WorkerConfigurationService workerConfigService,
                               final DockerService dockerService,
                               final TeeServicesManager teeServicesManager,
                               final ComputeExitCauseService computeExitCauseService,
                               final TeeServicesPropertiesService teeServicesPropertiesService,
-                              final ComputeDurationsService postComputeDurationsService) {
+                              final ComputeDurationsService postComputeDurationsService,
+                              final TaskTimeBudgetService taskTimeBudgetService) {
         this.workerConfigService = workerConfigService;
         this.dockerService = dockerService;
         this.teeServicesManager = teeServicesManager;
         this.computeExitCauseService = computeExitCauseService;
         this.teeServicesPropertiesService = teeServicesPropertiesService;
         this.postComputeDurationsService = postComputeDurationsService;
+        this.taskTimeBudgetService = taskTimeBudgetService;
     }
 
     /**
@@ -186,13 +190,15 @@ public class PostComputeService {
         if (taskDescription.requiresTdx() && !StringUtils.isBlank(workerConfigService.getDockerExtraHosts())) {
             hostConfig.withExtraHosts(workerConfigService.getDockerExtraHosts());
         }
+        final long maxExecutionTime = taskTimeBudgetService.getPostComputeMaxExecutionTime(taskDescription)
+                .orElse(taskDescription.getMaxExecutionTime());
         final DockerRunRequest request = DockerRunRequest.builder()
                 .hostConfig(hostConfig)
                 .chainTaskId(chainTaskId)
                 .containerName(getTaskTeePostComputeContainerName(chainTaskId))
                 .imageUri(postComputeImage)
                 .entrypoint(postComputeProperties.getEntrypoint())
-                .maxExecutionTime(taskDescription.getMaxExecutionTime())
+                .maxExecutionTime(maxExecutionTime)
                 .env(env)
                 .build();
         final DockerRunResponse dockerResponse = dockerService.run(request);
@@ -203,7 +209,7 @@ public class PostComputeService {
         final DockerRunFinalStatus finalStatus = dockerResponse.getFinalStatus();
         if (finalStatus == DockerRunFinalStatus.TIMEOUT) {
             log.error("Tee post-compute container timed out [chainTaskId:{}, maxExecutionTime:{}]",
-                    chainTaskId, taskDescription.getMaxExecutionTime());
+                    chainTaskId, maxExecutionTime);
             return PostComputeResponse.builder()
                     .exitCauses(List.of(new WorkflowError(ReplicateStatusCause.POST_COMPUTE_TIMEOUT)))
                     .build();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,6 +56,22 @@ public class WorkerConfigurationService {
     @Getter
     private String overrideBlockchainNodeAddress;
 
+    @Value("${worker.blockchain-node-ws-url}")
+    @Getter
+    private String blockchainNodeWsUrl;
+
+    @Value("${worker.blockchain-node-read-urls}")
+    @Getter
+    private String blockchainNodeReadUrls;
+
+    @Value("${worker.broadcast-transactions-enabled}")
+    @Getter
+    private boolean broadcastTransactionsEnabled;
+
+    @Value("${worker.multicall-address}")
+    @Getter
+    private String multicallAddress;
+
     @Value("${worker.developer-logger-enabled}")
     @Getter
     private boolean developerLoggerEnabled;
@@ -145,7 +161,7 @@ public class WorkerConfigurationService {
 
     public int getMemorySize() {
         final com.sun.management.OperatingSystemMXBean os = (com.sun.management.OperatingSystemMXBean) getOperatingSystemMXBean();
-        return (int) os.getTotalMemorySize() / (1024 * 1024 * 1024); // conversion to GB
+        return (int) (os.getTotalMemorySize() / (1024 * 1024 * 1024)); // conversion to GB
     }
 
     public String getHttpProxyHost() {
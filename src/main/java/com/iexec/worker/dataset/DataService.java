@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import com.iexec.common.utils.IexecFileHelper;
 import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.commons.poco.utils.MultiAddressHelper;
 import com.iexec.worker.config.WorkerConfigurationService;
+import com.iexec.worker.workflow.TaskCancellationService;
 import com.iexec.worker.workflow.WorkflowException;
 import jakarta.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
@@ -37,9 +38,12 @@ import java.util.List;
 public class DataService {
 
     private final WorkerConfigurationService workerConfigurationService;
+    private final TaskCancellationService taskCancellationService;
 
-    public DataService(WorkerConfigurationService workerConfigurationService) {
+    public DataService(WorkerConfigurationService workerConfigurationService,
+                       TaskCancellationService taskCancellationService) {
         this.workerConfigurationService = workerConfigurationService;
+        this.taskCancellationService = taskCancellationService;
     }
 
     /**
@@ -111,12 +115,16 @@ public class DataService {
     /**
      * Download a file from a URI in the provided parent
      * directory and save it with the provided filename.
+     * <p>
+     * The download is run with the cancellation token of the task,
+     * it is not started or it is interrupted if the task is aborted.
      *
      * @param chainTaskId         Task ID, for logging purpose
      * @param uri                 URI of  single file to download
      * @param parentDirectoryPath Destination folder on worker host
      * @param filename            Name of downloaded file in destination folder
      * @return absolute path of the saved file on worker host
+     * @throws java.util.concurrent.CancellationException if the task has been aborted
      */
     String downloadFile(final String chainTaskId, final String uri,
                         final String parentDirectoryPath, final String filename) {
@@ -129,6 +137,7 @@ public class DataService {
                     chainTaskId, uri, parentDirectoryPath, filename);
             return StringUtils.EMPTY;
         }
-        return FileHelper.downloadFile(uri, parentDirectoryPath, filename);
+        return taskCancellationService.getToken(chainTaskId)
+                .run(() -> FileHelper.downloadFile(uri, parentDirectoryPath, filename));
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package com.iexec.worker.pubsub;
 
 import com.iexec.common.lifecycle.purge.Purgeable;
 import com.iexec.core.notification.TaskNotification;
+import com.iexec.core.replicate.ReplicateTaskSummary;
 import jakarta.annotation.PreDestroy;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -50,7 +51,9 @@ public class SubscriptionService implements Purgeable {
     private final Lock sessionLock = new ReentrantLock();
     private final Condition sessionReadyCondition = sessionLock.newCondition();
     @Getter
-    private boolean sessionReady = false;
+    private volatile boolean sessionReady = false;
+    private boolean replicateOffersRequested = false;
+    private volatile Subscription replicateOffersSubscription;
 
     public SubscriptionService(ApplicationEventPublisher applicationEventPublisher,
                                StompClientService stompClientService,
@@ -82,6 +85,36 @@ public class SubscriptionService implements Purgeable {
         );
     }
 
+    /**
+     * Subscribe to the topic of this worker, on which the scheduler pushes replicate offers.
+     * Offers are published as {@link ReplicateTaskSummary} events.
+     * <p>
+     * If the STOMP session is not ready yet, the subscription is done as soon as it is created.
+     */
+    public synchronized void subscribeToReplicateOffers() {
+        replicateOffersRequested = true;
+        if (replicateOffersSubscription != null) {
+            return;
+        }
+        final String topic = getWorkerTopicName();
+        stompClientService.subscribeToTopic(topic, new ReplicateOfferHandler()).ifPresentOrElse(
+                subscription -> {
+                    replicateOffersSubscription = subscription;
+                    log.info("Subscribed to replicate offers [topic:{}]", topic);
+                },
+                () -> log.warn("Replicate offers subscription failed, will retry on next STOMP session [topic:{}]", topic)
+        );
+    }
+
+    /**
+     * Check if replicate offers can currently be received.
+     *
+     * @return true if subscribed to the topic of this worker on a live STOMP session, false otherwise
+     */
+    public boolean isReceivingReplicateOffers() {
+        return sessionReady && replicateOffersSubscription != null;
+    }
+
     /**
      * Unsubscribe from topic if already subscribed.
      *
@@ -139,6 +172,11 @@ public class SubscriptionService implements Purgeable {
             log.info("ReSubscribed to topics [chainTaskIds: {}]", chainTaskIds);
         }
 
+        if (replicateOffersRequested) {
+            replicateOffersSubscription = null;
+            subscribeToReplicateOffers();
+        }
+
         if (sessionReady) {
             log.warn("STOMP session was already up before receiving this event");
         }
@@ -183,6 +221,35 @@ public class SubscriptionService implements Purgeable {
         return "/topic/task/" + chainTaskId;
     }
 
+    private String getWorkerTopicName() {
+        return "/topic/worker/" + workerWalletAddress;
+    }
+
+    /**
+     * An implementation of {@link StompFrameHandler} that
+     * handles replicate offers pushed by the scheduler.
+     */
+    public class ReplicateOfferHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(final StompHeaders headers) {
+            return ReplicateTaskSummary.class;
+        }
+
+        @Override
+        public void handleFrame(final StompHeaders headers, @Nullable final Object payload) {
+            if (payload == null) {
+                log.error("Payload of replicate offer is null");
+                return;
+            }
+            final ReplicateTaskSummary replicateTaskSummary = (ReplicateTaskSummary) payload;
+            log.info("PubSub service received new replicate offer [chainTaskId:{}]",
+                    replicateTaskSummary.getWorkerpoolAuthorization() != null
+                            ? replicateTaskSummary.getWorkerpoolAuthorization().getChainTaskId() : null);
+            eventPublisher.publishEvent(replicateTaskSummary);
+        }
+    }
+
     /**
      * An implementation of {@link StompFrameHandler} that
      * handles received task notifications.
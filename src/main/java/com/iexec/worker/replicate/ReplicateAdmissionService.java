@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.replicate;
+
+import com.iexec.common.lifecycle.purge.Purgeable;
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.worker.config.WorkerConfigurationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local admission control of replicates.
+ * <p>
+ * Each running replicate reserves a slot, made of one CPU and an amount of memory depending on the task
+ * ({@link WorkerConfigurationService#getTeeComputeMaxHeapSizeGb()} for TEE tasks, {@link #STANDARD_TASK_MEMORY_GB}
+ * otherwise). The slot is reserved when the replicate is received and its compute resources are released once
+ * the compute stage is over. The task is then only tracked as a chain-phase task (contribute, reveal, upload)
+ * until it is purged, so that the compute of the next replicate overlaps the chain phase of the previous one.
+ * <p>
+ * The worker does not ask for a new replicate while the reserved slots leave no room for another standard task
+ * on the host, or while the free disk space of the worker base directory is below {@link #MIN_FREE_DISK_SPACE}.
+ */
+@Slf4j
+@Service
+public class ReplicateAdmissionService implements Purgeable {
+
+    static final String CPU_CAPACITY_METRIC_NAME = "iexec.replicate.admission.cpu.capacity";
+    static final String CPU_RESERVED_METRIC_NAME = "iexec.replicate.admission.cpu.reserved";
+    static final String MEMORY_CAPACITY_METRIC_NAME = "iexec.replicate.admission.memory.capacity";
+    static final String MEMORY_RESERVED_METRIC_NAME = "iexec.replicate.admission.memory.reserved";
+    static final String DISK_FREE_METRIC_NAME = "iexec.replicate.admission.disk.free";
+    static final String CHAIN_PHASE_METRIC_NAME = "iexec.replicate.admission.chain.phase";
+    static final String RUNNING_METRIC_NAME = "iexec.replicate.admission.running";
+    static final String REJECTED_METRIC_NAME = "iexec.replicate.admission.rejected";
+    static final int STANDARD_TASK_MEMORY_GB = 1;
+    static final long MIN_FREE_DISK_SPACE = 1024L * 1024 * 1024;
+
+    private final WorkerConfigurationService workerConfigurationService;
+    private final int cpuCapacity;
+    private final int memoryCapacityGb;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger reservedCpus;
+    private final AtomicInteger reservedMemoryGb;
+    private final AtomicInteger chainPhaseReplicates;
+    private final Map<TaskCategory, AtomicInteger> runningReplicates = new EnumMap<>(TaskCategory.class);
+    private final Counter saturatedCpuCounter;
+    private final Counter saturatedMemoryCounter;
+    private final Counter saturatedDiskCounter;
+
+    public ReplicateAdmissionService(final WorkerConfigurationService workerConfigurationService) {
+        this.workerConfigurationService = workerConfigurationService;
+        this.cpuCapacity = workerConfigurationService.getCpuCount();
+        this.memoryCapacityGb = workerConfigurationService.getMemorySize();
+        Metrics.gauge(CPU_CAPACITY_METRIC_NAME, this, service -> service.cpuCapacity);
+        Metrics.gauge(MEMORY_CAPACITY_METRIC_NAME, this, service -> service.memoryCapacityGb);
+        Metrics.gauge(DISK_FREE_METRIC_NAME, this, ReplicateAdmissionService::getFreeDiskSpace);
+        this.reservedCpus = Metrics.gauge(CPU_RESERVED_METRIC_NAME, new AtomicInteger(0));
+        this.reservedMemoryGb = Metrics.gauge(MEMORY_RESERVED_METRIC_NAME, new AtomicInteger(0));
+        this.chainPhaseReplicates = Metrics.gauge(CHAIN_PHASE_METRIC_NAME, new AtomicInteger(0));
+        for (final TaskCategory category : TaskCategory.values()) {
+            runningReplicates.put(category,
+                    Metrics.gauge(RUNNING_METRIC_NAME, Tags.of("category", category.name()), new AtomicInteger(0)));
+        }
+        this.saturatedCpuCounter = Metrics.counter(REJECTED_METRIC_NAME, "reason", "cpu");
+        this.saturatedMemoryCounter = Metrics.counter(REJECTED_METRIC_NAME, "reason", "memory");
+        this.saturatedDiskCounter = Metrics.counter(REJECTED_METRIC_NAME, "reason", "disk");
+        log.info("Replicate admission capacity [cpus:{}, memoryGb:{}]", cpuCapacity, memoryCapacityGb);
+    }
+
+    /**
+     * Checks whether the host has enough free resources to run another replicate.
+     *
+     * @return {@literal true} if a new replicate can be asked for, {@literal false} otherwise.
+     */
+    public synchronized boolean canAcceptNewReplicate() {
+        if (reservedCpus.get() + 1 > cpuCapacity) {
+            log.info("Cannot ask for new tasks, all CPUs are reserved [reserved:{}, capacity:{}]",
+                    reservedCpus.get(), cpuCapacity);
+            saturatedCpuCounter.increment();
+            return false;
+        }
+        if (memoryCapacityGb > 0 && reservedMemoryGb.get() + STANDARD_TASK_MEMORY_GB > memoryCapacityGb) {
+            log.info("Cannot ask for new tasks, all memory is reserved [reservedGb:{}, capacityGb:{}]",
+                    reservedMemoryGb.get(), memoryCapacityGb);
+            saturatedMemoryCounter.increment();
+            return false;
+        }
+        final long freeDiskSpace = getFreeDiskSpace();
+        if (freeDiskSpace >= 0 && freeDiskSpace < MIN_FREE_DISK_SPACE) {
+            log.warn("Cannot ask for new tasks, not enough free disk space [free:{}, min:{}]",
+                    freeDiskSpace, MIN_FREE_DISK_SPACE);
+            saturatedDiskCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reserves a slot for a replicate which has been received.
+     * Reserving a slot twice for the same task has no effect.
+     *
+     * @param taskDescription Description of the task
+     */
+    public synchronized void reserve(final TaskDescription taskDescription) {
+        final String chainTaskId = taskDescription.getChainTaskId();
+        if (slots.containsKey(chainTaskId)) {
+            return;
+        }
+        final boolean isTeeTask = taskDescription.requiresSgx() || taskDescription.requiresTdx();
+        final Slot slot = new Slot(
+                TaskCategory.fromMaxExecutionTime(taskDescription.getMaxExecutionTime()),
+                1,
+                isTeeTask ? workerConfigurationService.getTeeComputeMaxHeapSizeGb() : STANDARD_TASK_MEMORY_GB,
+                true);
+        slots.put(chainTaskId, slot);
+        reservedCpus.addAndGet(slot.cpus());
+        reservedMemoryGb.addAndGet(slot.memoryGb());
+        runningReplicates.get(slot.category()).incrementAndGet();
+        log.debug("Reserved replicate slot [chainTaskId:{}, slot:{}]", chainTaskId, slot);
+    }
+
+    /**
+     * Releases the compute resources of a task whose compute stage is over.
+     * The task is still tracked as a chain-phase task until it is purged.
+     *
+     * @param chainTaskId ID of the task
+     * @return {@literal true} if compute resources were reserved for the task, {@literal false} otherwise.
+     */
+    public synchronized boolean releaseComputeSlot(final String chainTaskId) {
+        final Slot slot = slots.get(chainTaskId);
+        if (slot == null || !slot.computing()) {
+            return false;
+        }
+        slots.put(chainTaskId, new Slot(slot.category(), slot.cpus(), slot.memoryGb(), false));
+        releaseComputeResources(slot);
+        chainPhaseReplicates.incrementAndGet();
+        log.debug("Released compute slot [chainTaskId:{}, slot:{}]", chainTaskId, slot);
+        return true;
+    }
+
+    /**
+     * Releases the slot of a task, if any.
+     *
+     * @param chainTaskId ID of the task
+     * @return {@literal true}, releasing a slot cannot fail.
+     */
+    @Override
+    public synchronized boolean purgeTask(final String chainTaskId) {
+        log.debug("purgeTask [chainTaskId:{}]", chainTaskId);
+        final Slot slot = slots.remove(chainTaskId);
+        if (slot != null) {
+            if (slot.computing()) {
+                releaseComputeResources(slot);
+            } else {
+                chainPhaseReplicates.decrementAndGet();
+            }
+            runningReplicates.get(slot.category()).decrementAndGet();
+            log.debug("Released replicate slot [chainTaskId:{}, slot:{}]", chainTaskId, slot);
+        }
+        return true;
+    }
+
+    private void releaseComputeResources(final Slot slot) {
+        reservedCpus.addAndGet(-slot.cpus());
+        reservedMemoryGb.addAndGet(-slot.memoryGb());
+    }
+
+    @Override
+    @PreDestroy
+    public synchronized void purgeAllTasksData() {
+        log.info("Method purgeAllTasksData() called to perform task data cleanup.");
+        List.copyOf(slots.keySet()).forEach(this::purgeTask);
+    }
+
+    int getReservedCpus() {
+        return reservedCpus.get();
+    }
+
+    int getReservedMemoryGb() {
+        return reservedMemoryGb.get();
+    }
+
+    int getChainPhaseReplicates() {
+        return chainPhaseReplicates.get();
+    }
+
+    int getRunningReplicates(final TaskCategory category) {
+        return runningReplicates.get(category).get();
+    }
+
+    /**
+     * Returns the usable space of the worker base directory,
+     * or {@literal -1} if the directory does not exist yet.
+     */
+    private long getFreeDiskSpace() {
+        final File workerBaseDir = new File(workerConfigurationService.getWorkerBaseDir());
+        return workerBaseDir.exists() ? workerBaseDir.getUsableSpace() : -1;
+    }
+
+    /**
+     * Task categories, identified by their max execution time in seconds.
+     */
+    enum TaskCategory {
+        XS(3_000),
+        S(12_000),
+        M(36_000),
+        L(108_000),
+        XL(Long.MAX_VALUE);
+
+        private final long maxExecutionTime;
+
+        TaskCategory(final long maxExecutionTime) {
+            this.maxExecutionTime = maxExecutionTime;
+        }
+
+        static TaskCategory fromMaxExecutionTime(final long maxExecutionTime) {
+            for (final TaskCategory category : values()) {
+                if (maxExecutionTime <= category.maxExecutionTime) {
+                    return category;
+                }
+            }
+            return XL;
+        }
+    }
+
+    private record Slot(TaskCategory category, int cpus, int memoryGb, boolean computing) {
+    }
+}
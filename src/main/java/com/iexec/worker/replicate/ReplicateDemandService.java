@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2024 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package com.iexec.worker.replicate;
 
 import com.iexec.commons.poco.chain.WorkerpoolAuthorization;
+import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.core.notification.TaskNotification;
 import com.iexec.core.notification.TaskNotificationExtra;
 import com.iexec.core.notification.TaskNotificationType;
@@ -25,39 +26,90 @@ import com.iexec.worker.chain.ContributionService;
 import com.iexec.worker.chain.IexecHubService;
 import com.iexec.worker.feign.CustomCoreFeignClient;
 import com.iexec.worker.pubsub.SubscriptionService;
+import com.iexec.worker.task.TaskManagerService;
 import com.iexec.worker.utils.AsyncUtils;
 import com.iexec.worker.utils.ExecutorUtils;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 public class ReplicateDemandService {
 
+    static final String BACKOFF_METRIC_NAME = "iexec.replicate.demand.backoff";
+    private static final int MAX_BACKOFF_EXPONENT = 16;
+
     private final Executor executor;
+    private final ThreadPoolTaskExecutor offerExecutor;
     private final IexecHubService iexecHubService;
     private final CustomCoreFeignClient coreFeignClient;
     private final ContributionService contributionService;
     private final SubscriptionService subscriptionService;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final ReplicateAdmissionService replicateAdmissionService;
+    private final TaskManagerService taskManagerService;
+    private final boolean replicatePushEnabled;
+    private final long askForReplicatePeriod;
+    private final long maxBackoff;
+    private final AtomicInteger emptyAnswers = new AtomicInteger(0);
+    private final AtomicLong backoff;
+    private volatile long nextAskTime = 0;
 
     public ReplicateDemandService(IexecHubService iexecHubService,
                                   CustomCoreFeignClient coreFeignClient,
                                   ContributionService contributionService,
                                   SubscriptionService subscriptionService,
-                                  ApplicationEventPublisher applicationEventPublisher) {
+                                  ApplicationEventPublisher applicationEventPublisher,
+                                  ReplicateAdmissionService replicateAdmissionService,
+                                  TaskManagerService taskManagerService,
+                                  @Value("${worker.replicate-demand.push-enabled}") boolean replicatePushEnabled,
+                                  @Value("#{publicConfigurationService.publicConfiguration.askForReplicatePeriod}") long askForReplicatePeriod,
+                                  @Value("${worker.replicate-demand.max-backoff}") Duration maxBackoff) {
         executor = ExecutorUtils
                 .newSingleThreadExecutorWithFixedSizeQueue(1, "ask-for-rep-");
+        offerExecutor = ExecutorUtils.newFixedThreadPoolExecutor(1, "replicate-offer-");
         this.iexecHubService = iexecHubService;
         this.coreFeignClient = coreFeignClient;
         this.contributionService = contributionService;
         this.subscriptionService = subscriptionService;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.replicateAdmissionService = replicateAdmissionService;
+        this.taskManagerService = taskManagerService;
+        this.replicatePushEnabled = replicatePushEnabled;
+        this.askForReplicatePeriod = askForReplicatePeriod;
+        this.maxBackoff = Math.max(maxBackoff.toMillis(), askForReplicatePeriod);
+        this.backoff = Metrics.gauge(BACKOFF_METRIC_NAME, new AtomicLong(0));
+    }
+
+    /**
+     * Subscribe to replicate offers pushed by the scheduler, if enabled.
+     */
+    @PostConstruct
+    void subscribeToReplicateOffers() {
+        if (replicatePushEnabled) {
+            subscriptionService.subscribeToReplicateOffers();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        offerExecutor.shutdown();
     }
 
     /**
@@ -67,35 +119,145 @@ public class ReplicateDemandService {
      * We use single thread executor to make sure the worker does not ask for more
      * than one replicate at the same time. The executor's queue is of size 1 to
      * avoid memory leak if the thread halts for any reason.
+     * <p>
+     * When replicate offers are pushed by the scheduler, polling only runs
+     * while the STOMP session is down.
+     * <p>
+     * While the scheduler has no replicate to give, polling backs off, see {@link #backOff()}.
      */
     @Scheduled(fixedDelayString = "#{publicConfigurationService.publicConfiguration.askForReplicatePeriod}")
     void triggerAskForReplicate() {
+        if (replicatePushEnabled && subscriptionService.isReceivingReplicateOffers()) {
+            log.debug("Receiving replicate offers, skipping ask for replicate action");
+            return;
+        }
+        if (System.currentTimeMillis() < nextAskTime) {
+            log.debug("Backing off, skipping ask for replicate action [backoff:{}]", backoff.get());
+            return;
+        }
         log.debug("Triggering ask for replicate action");
+        requestReplicate();
+    }
+
+    /**
+     * Asks for a new replicate asynchronously, whether replicate offers are pushed or not.
+     */
+    void requestReplicate() {
         AsyncUtils.runAsyncTask("ask-for-replicate", this::askForReplicate, executor);
     }
 
+    /**
+     * Handles a replicate offer pushed by the scheduler.
+     * Offers are processed one at a time, outside of the STOMP client thread.
+     *
+     * @param replicateTaskSummary replicate task summary for computing and contribution
+     */
+    @EventListener
+    void onReplicateOffer(ReplicateTaskSummary replicateTaskSummary) {
+        AsyncUtils.runAsyncTask("accept-replicate-offer",
+                () -> acceptReplicateOffer(replicateTaskSummary), offerExecutor);
+    }
+
+    /**
+     * Starts the task of a replicate offer if all conditions are satisfied.
+     * Offers for tasks which are already running are ignored.
+     * As for asked replicates, gas is checked when the task starts.
+     *
+     * @param replicateTaskSummary replicate task summary for computing and contribution
+     */
+    void acceptReplicateOffer(ReplicateTaskSummary replicateTaskSummary) {
+        if (replicateTaskSummary.getWorkerpoolAuthorization() == null) {
+            log.error("Cannot accept replicate offer without workerpool authorization");
+            return;
+        }
+        final String chainTaskId = replicateTaskSummary.getWorkerpoolAuthorization().getChainTaskId();
+        if (subscriptionService.isSubscribedToTopic(chainTaskId)) {
+            log.info("Ignoring replicate offer of running task [chainTaskId:{}]", chainTaskId);
+            return;
+        }
+        if (!replicateAdmissionService.canAcceptNewReplicate()) {
+            log.warn("Ignoring replicate offer, host is saturated [chainTaskId:{}]", chainTaskId);
+            return;
+        }
+        resetBackoff();
+        if (isNewTaskInitialized(replicateTaskSummary)) {
+            startTask(replicateTaskSummary);
+        }
+    }
+
+    /**
+     * Releases the compute slot of a task whose compute stage is over and immediately asks for a new replicate,
+     * so that its compute overlaps the contribution and reveal of the previous one.
+     *
+     * @param chainTaskId ID of the task
+     */
+    public void releaseComputeSlot(String chainTaskId) {
+        if (replicateAdmissionService.releaseComputeSlot(chainTaskId)) {
+            log.debug("Compute slot released, asking for a new replicate [chainTaskId:{}]", chainTaskId);
+            resetBackoff();
+            requestReplicate();
+        }
+    }
+
     /**
      * Ask for a new replicate. Check all conditions are satisfied before starting
      * to execute the task.
+     * No replicate is asked for while the host is saturated by running replicates.
+     * Gas is only checked once a replicate has been received, when its task starts.
+     * A replicate received with a dry wallet is then reported to the scheduler as failed to start.
      */
     void askForReplicate() {
         log.debug("Asking for a new replicate");
-        // TODO check blocknumber only once a replicate is received.
+        if (!replicateAdmissionService.canAcceptNewReplicate()) {
+            return;
+        }
+        // Latest block number is kept up to date by block events, no RPC call is made here.
         long lastAvailableBlockNumber = iexecHubService.getLatestBlockNumber();
         if (lastAvailableBlockNumber == 0) {
             log.error("Cannot ask for new tasks, your blockchain node is not synchronized");
             return;
         }
-        // TODO check gas only once a replicate is received.
-        if (!iexecHubService.hasEnoughGas()) {
-            log.error("Cannot ask for new tasks, your wallet is dry");
+        final Optional<ReplicateTaskSummary> replicateTaskSummary =
+                coreFeignClient.getAvailableReplicateTaskSummary(lastAvailableBlockNumber);
+        if (replicateTaskSummary.isEmpty()) {
+            backOff();
             return;
         }
-        coreFeignClient.getAvailableReplicateTaskSummary(lastAvailableBlockNumber)
+        resetBackoff();
+        replicateTaskSummary
                 .filter(this::isNewTaskInitialized)
                 .ifPresent(this::startTask);
     }
 
+    /**
+     * Delays the next ask for replicate after the scheduler answered it has no replicate to give.
+     * <p>
+     * The delay grows exponentially with the number of consecutive empty answers, up to the max backoff,
+     * with a random jitter so that workers of a pool do not ask at the same time:
+     * {@literal delay = random(backoff / 2, backoff)} with {@literal backoff = min(period * 2^(emptyAnswers - 1), maxBackoff)}.
+     */
+    private void backOff() {
+        final int exponent = Math.min(emptyAnswers.incrementAndGet() - 1, MAX_BACKOFF_EXPONENT);
+        final long currentBackoff = Math.min(askForReplicatePeriod << exponent, maxBackoff);
+        final long delay = currentBackoff / 2 + ThreadLocalRandom.current().nextLong(currentBackoff / 2 + 1);
+        backoff.set(delay);
+        nextAskTime = System.currentTimeMillis() + delay;
+        log.debug("No replicate available, backing off [emptyAnswers:{}, delay:{}]", emptyAnswers.get(), delay);
+    }
+
+    /**
+     * Asks for replicates at the nominal period again.
+     */
+    private void resetBackoff() {
+        emptyAnswers.set(0);
+        backoff.set(0);
+        nextAskTime = 0;
+    }
+
+    long getNextAskTime() {
+        return nextAskTime;
+    }
+
     /**
      * Checks if task is initialized
      *
@@ -114,7 +276,7 @@ public class ReplicateDemandService {
     }
 
     /**
-     * Starts task
+     * Reserves resources for the task on the host, starts prefetching its app image and data, then starts it.
      *
      * @param replicateTaskSummary replicate task summary for computing and contribution
      */
@@ -132,6 +294,11 @@ public class ReplicateDemandService {
                 .taskNotificationType(TaskNotificationType.PLEASE_START)
                 .taskNotificationExtra(notificationExtra)
                 .build();
+        final TaskDescription taskDescription = iexecHubService.getTaskDescription(chainTaskId);
+        if (taskDescription != null) {
+            replicateAdmissionService.reserve(taskDescription);
+            taskManagerService.prefetch(taskDescription);
+        }
         subscriptionService.subscribeToTopic(chainTaskId);
         applicationEventPublisher.publishEvent(taskNotification);
     }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.replicate;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iexec.common.replicate.ReplicateStatusUpdate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Append-only journal of replicate status updates, backed by a memory-mapped file.
+ * <p>
+ * Each record is laid out as {@code [int payloadLength][byte state][payload]},
+ * the payload being the JSON representation of a {@link JournalRecord}.
+ * The length is written last, a record whose write was interrupted is then read as the end of the journal.
+ * Once delivered, a record is marked as such in place and is dropped on the next compaction.
+ * <p>
+ * Compaction copies pending records to a new file which replaces the current one.
+ * It runs when the journal is opened and when a record does not fit in the remaining space.
+ */
+@Slf4j
+class ReplicateStatusJournal {
+
+    static final int DEFAULT_CAPACITY = 16 * 1024 * 1024;
+    static final long NOT_PERSISTED = -1L;
+
+    private static final int HEADER_SIZE = Integer.BYTES + 1;
+    private static final byte PENDING = 1;
+    private static final byte DELIVERED = 2;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Path path;
+    private final int capacity;
+    private final Map<Long, Integer> pendingOffsets = new LinkedHashMap<>();
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long nextId;
+
+    ReplicateStatusJournal(final Path path, final int capacity) {
+        this.path = path;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Maps the journal file, reads records which have not been delivered yet and compacts the file.
+     * A record which cannot be read, such as a record written by another version of the worker, is skipped
+     * and the following records are still read.
+     * <p>
+     * If the file cannot be mapped, the journal is disabled and no record will be persisted.
+     *
+     * @return Pending records, in the order they have been appended
+     */
+    synchronized List<JournalRecord> open() {
+        final List<JournalRecord> records = new ArrayList<>();
+        try {
+            Files.createDirectories(path.getParent());
+            buffer = map(path);
+            int position = 0;
+            while (position + HEADER_SIZE <= capacity) {
+                final int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_SIZE + length > capacity) {
+                    break;
+                }
+                if (buffer.get(position + Integer.BYTES) == PENDING) {
+                    readPending(position, length).ifPresent(records::add);
+                }
+                position += HEADER_SIZE + length;
+            }
+            writePosition = position;
+            compact();
+            log.info("Opened replicate status journal [path:{}, pending:{}]", path, records.size());
+        } catch (IOException e) {
+            log.error("Failed to open replicate status journal, updates will not be persisted [path:{}]", path, e);
+            buffer = null;
+            pendingOffsets.clear();
+        }
+        return records;
+    }
+
+    /**
+     * Appends a pending record to the journal.
+     *
+     * @return ID of the record, {@link #NOT_PERSISTED} if it could not be written
+     */
+    synchronized long append(final String chainTaskId, final ReplicateStatusUpdate statusUpdate) {
+        if (buffer == null) {
+            return NOT_PERSISTED;
+        }
+        try {
+            final byte[] payload = mapper.writeValueAsBytes(new JournalRecord(NOT_PERSISTED, chainTaskId, statusUpdate));
+            if (!hasRoomFor(payload.length)) {
+                compact();
+            }
+            if (!hasRoomFor(payload.length)) {
+                log.warn("Replicate status journal is full, update will not be persisted [chainTaskId:{}, status:{}]",
+                        chainTaskId, statusUpdate.getStatus());
+                return NOT_PERSISTED;
+            }
+            final long id = nextId++;
+            write(buffer, writePosition, PENDING, payload);
+            pendingOffsets.put(id, writePosition);
+            writePosition += HEADER_SIZE + payload.length;
+            return id;
+        } catch (IOException e) {
+            log.error("Failed to persist replicate status update [chainTaskId:{}, status:{}]",
+                    chainTaskId, statusUpdate.getStatus(), e);
+            return NOT_PERSISTED;
+        }
+    }
+
+    /**
+     * Marks a record as delivered, it will not be read again when the journal is opened.
+     */
+    synchronized void markDelivered(final long id) {
+        final Integer offset = pendingOffsets.remove(id);
+        if (buffer != null && offset != null) {
+            buffer.put(offset + Integer.BYTES, DELIVERED);
+        }
+    }
+
+    synchronized int getPendingCount() {
+        return pendingOffsets.size();
+    }
+
+    private boolean hasRoomFor(final int payloadLength) {
+        // keep room for the end marker
+        return writePosition + HEADER_SIZE + payloadLength + Integer.BYTES <= capacity;
+    }
+
+    private void compact() throws IOException {
+        final Path compactedPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(compactedPath);
+        final MappedByteBuffer compacted = map(compactedPath);
+        int position = 0;
+        for (final Map.Entry<Long, Integer> pending : pendingOffsets.entrySet()) {
+            final int offset = pending.getValue();
+            final byte[] payload = new byte[buffer.getInt(offset)];
+            buffer.get(offset + HEADER_SIZE, payload);
+            write(compacted, position, PENDING, payload);
+            pending.setValue(position);
+            position += HEADER_SIZE + payload.length;
+        }
+        compacted.force();
+        Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        buffer = compacted;
+        writePosition = position;
+    }
+
+    /**
+     * Reads a pending record and keeps track of it.
+     * A record which cannot be read is skipped, it is dropped on the next compaction.
+     */
+    private Optional<JournalRecord> readPending(final int position, final int length) {
+        try {
+            final JournalRecord record = read(nextId, position, length);
+            pendingOffsets.put(nextId++, position);
+            return Optional.of(record);
+        } catch (IOException e) {
+            log.warn("Skipping unreadable replicate status journal record [path:{}, position:{}, length:{}]",
+                    path, position, length, e);
+            return Optional.empty();
+        }
+    }
+
+    private JournalRecord read(final long id, final int position, final int length) throws IOException {
+        final byte[] payload = new byte[length];
+        buffer.get(position + HEADER_SIZE, payload);
+        final JournalRecord record = mapper.readValue(payload, JournalRecord.class);
+        return new JournalRecord(id, record.chainTaskId(), record.statusUpdate());
+    }
+
+    private MappedByteBuffer map(final Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    private static void write(final MappedByteBuffer target, final int position, final byte state, final byte[] payload) {
+        final int next = position + HEADER_SIZE + payload.length;
+        if (next + Integer.BYTES <= target.capacity()) {
+            target.putInt(next, 0);
+        }
+        target.put(position + HEADER_SIZE, payload);
+        target.put(position + Integer.BYTES, state);
+        target.putInt(position, payload.length);
+    }
+
+    record JournalRecord(long id, String chainTaskId, ReplicateStatusUpdate statusUpdate) {
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.replicate;
+
+import com.iexec.common.replicate.ReplicateStatus;
+import com.iexec.common.replicate.ReplicateStatusUpdate;
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.core.notification.TaskNotificationType;
+import com.iexec.worker.chain.IexecHubService;
+import com.iexec.worker.config.WorkerConfigurationService;
+import com.iexec.worker.feign.CustomCoreFeignClient;
+import com.iexec.worker.pubsub.SubscriptionService;
+import com.iexec.worker.utils.ExecutorUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.iexec.common.replicate.ReplicateStatus.*;
+
+/**
+ * Delivers replicate status updates to the scheduler.
+ * <p>
+ * Updates are written to a {@link ReplicateStatusJournal} before being sent,
+ * so that updates which have not been acknowledged by the scheduler survive a worker restart.
+ * Pending updates are sent again when the worker starts.
+ * <p>
+ * Updates of a task are delivered one after the other and in order, updates of distinct tasks are delivered concurrently.
+ * As long as the scheduler does not reply, delivery is retried until the final deadline of the task is reached.
+ * While the scheduler is unreachable, in-progress statuses which are followed by a newer update of the same task
+ * are coalesced: they are dropped and only the newer update is delivered.
+ */
+@Slf4j
+@Service
+public class ReplicateStatusOutbox {
+
+    static final String JOURNAL_FILENAME = "replicate-status-outbox.journal";
+    static final String PENDING_METRIC_NAME = "iexec.replicate.status.outbox.pending";
+    static final String COALESCED_METRIC_NAME = "iexec.replicate.status.outbox.coalesced";
+    private static final int DELIVERY_POOL_SIZE = 8;
+    private static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Set<ReplicateStatus> IN_PROGRESS_STATUSES = EnumSet.of(
+            STARTING, APP_DOWNLOADING, DATA_DOWNLOADING, COMPUTING, CONTRIBUTING, REVEALING,
+            RESULT_UPLOADING, CONTRIBUTE_AND_FINALIZE_ONGOING, COMPLETING);
+
+    private final CustomCoreFeignClient customCoreFeignClient;
+    private final SubscriptionService subscriptionService;
+    private final IexecHubService iexecHubService;
+    private final ReplicateStatusJournal journal;
+    private final ThreadPoolTaskExecutor executor;
+    private final Executor retryExecutor;
+    private final Map<String, TaskOutbox> outboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount;
+    private final Counter coalescedCounter;
+
+    @Autowired
+    public ReplicateStatusOutbox(final CustomCoreFeignClient customCoreFeignClient,
+                                 final SubscriptionService subscriptionService,
+                                 final IexecHubService iexecHubService,
+                                 final WorkerConfigurationService workerConfigurationService) {
+        this(customCoreFeignClient, subscriptionService, iexecHubService,
+                new ReplicateStatusJournal(
+                        Path.of(workerConfigurationService.getWorkerBaseDir(), JOURNAL_FILENAME),
+                        ReplicateStatusJournal.DEFAULT_CAPACITY),
+                DEFAULT_RETRY_DELAY);
+    }
+
+    ReplicateStatusOutbox(final CustomCoreFeignClient customCoreFeignClient,
+                          final SubscriptionService subscriptionService,
+                          final IexecHubService iexecHubService,
+                          final ReplicateStatusJournal journal,
+                          final Duration retryDelay) {
+        this.customCoreFeignClient = customCoreFeignClient;
+        this.subscriptionService = subscriptionService;
+        this.iexecHubService = iexecHubService;
+        this.journal = journal;
+        this.executor = ExecutorUtils.newFixedThreadPoolExecutor(DELIVERY_POOL_SIZE, "status-outbox-");
+        this.retryExecutor = CompletableFuture.delayedExecutor(retryDelay.toMillis(), TimeUnit.MILLISECONDS, executor);
+        this.pendingCount = Metrics.gauge(PENDING_METRIC_NAME, new AtomicInteger(0));
+        this.coalescedCounter = Metrics.counter(COALESCED_METRIC_NAME);
+    }
+
+    /**
+     * Sends again updates which were still pending when the worker stopped.
+     * Next actions returned by the scheduler for those updates are ignored,
+     * they are retrieved with missed notifications during replicate recovery.
+     */
+    @PostConstruct
+    void recoverPendingUpdates() {
+        final List<ReplicateStatusJournal.JournalRecord> records = journal.open();
+        if (records.isEmpty()) {
+            return;
+        }
+        log.info("Sending again pending replicate status updates [count:{}]", records.size());
+        records.forEach(record -> enqueue(new OutboxEntry(
+                record.id(), record.chainTaskId(), record.statusUpdate(), new CompletableFuture<>())));
+    }
+
+    /**
+     * Persists a status update and queues it for delivery.
+     *
+     * @param chainTaskId  ID of the task
+     * @param statusUpdate Update to send to the scheduler
+     * @return A future completed with the next action returned by the scheduler,
+     * or with {@literal null} if the update has been coalesced or dropped.
+     */
+    public CompletableFuture<TaskNotificationType> submit(final String chainTaskId,
+                                                          final ReplicateStatusUpdate statusUpdate) {
+        log.info("update replicate request [chainTaskId:{}, status:{}, details:{}]",
+                chainTaskId, statusUpdate.getStatus(), statusUpdate.getDetailsWithoutLogs());
+        final long id = journal.append(chainTaskId, statusUpdate);
+        final OutboxEntry entry = new OutboxEntry(id, chainTaskId, statusUpdate, new CompletableFuture<>());
+        enqueue(entry);
+        return entry.future();
+    }
+
+    private void enqueue(final OutboxEntry entry) {
+        pendingCount.incrementAndGet();
+        outboxes.compute(entry.chainTaskId(), (key, outbox) -> {
+            final TaskOutbox current = outbox != null ? outbox : new TaskOutbox();
+            current.pending.add(entry);
+            if (!current.scheduled) {
+                current.scheduled = true;
+                executor.execute(() -> deliver(key, current));
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Delivers pending updates of a task until its outbox is empty.
+     * <p>
+     * When the scheduler does not reply, delivery is resumed on the pool after {@code retryDelay}.
+     * <p>
+     * Outbox state is only updated inside {@link ConcurrentHashMap#compute}, which is atomic per task.
+     */
+    private void deliver(final String chainTaskId, final TaskOutbox outbox) {
+        OutboxEntry entry;
+        while ((entry = outbox.pending.peek()) != null) {
+            if (isFinalDeadlineReached(chainTaskId)) {
+                log.warn("Final deadline reached, dropping pending replicate status updates [chainTaskId:{}, count:{}]",
+                        chainTaskId, outbox.pending.size());
+                OutboxEntry dropped;
+                while ((dropped = outbox.pending.poll()) != null) {
+                    complete(dropped, null);
+                }
+                break;
+            }
+            // Let's wait for the STOMP session to be ready.
+            // Otherwise, an update could be lost.
+            try {
+                subscriptionService.waitForSessionReady();
+            } catch (InterruptedException e) {
+                log.warn("Replicate status update has been interrupted [chainTaskId:{}, statusUpdate:{}]",
+                        chainTaskId, entry.statusUpdate());
+                Thread.currentThread().interrupt();
+                return;
+            }
+            final TaskNotificationType next = customCoreFeignClient.updateReplicateStatus(chainTaskId, entry.statusUpdate());
+            if (next == null) {
+                // As long as the Core doesn't reply, we try to contact it. It may be rebooting.
+                // The outbox stays scheduled until the retry, the delivery thread is released in the meantime.
+                coalesce(chainTaskId, outbox);
+                retryExecutor.execute(() -> deliver(chainTaskId, outbox));
+                return;
+            }
+            log.info("update replicate response [chainTaskId:{}, status:{}, next:{}]",
+                    chainTaskId, entry.statusUpdate().getStatus(), next);
+            outbox.pending.poll();
+            complete(entry, next);
+        }
+        outboxes.compute(chainTaskId, (key, current) -> {
+            if (outbox.pending.isEmpty()) {
+                outbox.scheduled = false;
+                return null;
+            }
+            executor.execute(() -> deliver(key, outbox));
+            return outbox;
+        });
+    }
+
+    /**
+     * Drops in-progress statuses which are followed by a newer update of the same task.
+     * The last queued update is always kept.
+     */
+    private void coalesce(final String chainTaskId, final TaskOutbox outbox) {
+        final List<OutboxEntry> snapshot = List.copyOf(outbox.pending);
+        for (int i = 0; i < snapshot.size() - 1; i++) {
+            final OutboxEntry entry = snapshot.get(i);
+            if (IN_PROGRESS_STATUSES.contains(entry.statusUpdate().getStatus()) && outbox.pending.remove(entry)) {
+                log.debug("Coalesced replicate status update [chainTaskId:{}, status:{}]",
+                        chainTaskId, entry.statusUpdate().getStatus());
+                coalescedCounter.increment();
+                complete(entry, null);
+            }
+        }
+    }
+
+    private void complete(final OutboxEntry entry, final TaskNotificationType next) {
+        journal.markDelivered(entry.id());
+        pendingCount.decrementAndGet();
+        entry.future().complete(next);
+    }
+
+    /**
+     * Checks whether the final deadline of a task is reached, from its task description.
+     * <p>
+     * If the task description cannot be retrieved, because the task is unknown on-chain or the chain
+     * cannot be read, the final deadline is not considered as reached and delivery goes on.
+     *
+     * @param chainTaskId Task ID whose final deadline should be checked.
+     * @return {@literal true} if the final deadline is met, {@literal false} if it is not or if the task is unknown.
+     */
+    boolean isFinalDeadlineReached(final String chainTaskId) {
+        final TaskDescription taskDescription = iexecHubService.getTaskDescription(chainTaskId);
+        return taskDescription != null && taskDescription.getFinalDeadline() < Instant.now().toEpochMilli();
+    }
+
+    int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class TaskOutbox {
+        private final Queue<OutboxEntry> pending = new ConcurrentLinkedQueue<>();
+        private boolean scheduled = false;
+    }
+
+    private record OutboxEntry(long id, String chainTaskId, ReplicateStatusUpdate statusUpdate,
+                               CompletableFuture<TaskNotificationType> future) {
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import com.iexec.commons.poco.utils.BytesUtils;
 import com.iexec.worker.chain.IexecHubService;
 import com.iexec.worker.config.PublicConfigurationService;
 import com.iexec.worker.config.WorkerConfigurationService;
+import com.iexec.worker.workflow.TaskCancellationService;
 import com.iexec.worker.workflow.WorkflowError;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +45,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 import static com.iexec.commons.poco.chain.DealParams.DROPBOX_RESULT_STORAGE_PROVIDER;
 import static com.iexec.commons.poco.chain.DealParams.IPFS_RESULT_STORAGE_PROVIDER;
@@ -58,6 +60,7 @@ public class ResultService implements Purgeable {
     private final SignerService signerService;
     private final IexecHubService iexecHubService;
     private final PublicConfigurationService publicConfigurationService;
+    private final TaskCancellationService taskCancellationService;
     private final Map<String, ResultInfo> resultInfoMap = ExpiringTaskMapFactory.getExpiringTaskMap();
     private final ObjectMapper mapper = new ObjectMapper();
 
@@ -65,11 +68,13 @@ public class ResultService implements Purgeable {
             WorkerConfigurationService workerConfigService,
             SignerService signerService,
             IexecHubService iexecHubService,
-            PublicConfigurationService publicConfigurationService) {
+            PublicConfigurationService publicConfigurationService,
+            TaskCancellationService taskCancellationService) {
         this.workerConfigService = workerConfigService;
         this.signerService = signerService;
         this.iexecHubService = iexecHubService;
         this.publicConfigurationService = publicConfigurationService;
+        this.taskCancellationService = taskCancellationService;
     }
 
     public ResultInfo getResultInfos(final String chainTaskId) {
@@ -220,10 +225,16 @@ public class ResultService implements Purgeable {
         }
 
         try {
-            publicConfigurationService
-                    .createResultProxyClientFromURL(resultProxyUrl)
-                    .addResult(authorizationToken, getResultModelWithZip(chainTaskId));
-            return true;
+            // upload is interrupted if the task is aborted
+            return taskCancellationService.getToken(chainTaskId).run(() -> {
+                publicConfigurationService
+                        .createResultProxyClientFromURL(resultProxyUrl)
+                        .addResult(authorizationToken, getResultModelWithZip(chainTaskId));
+                return true;
+            });
+        } catch (CancellationException e) {
+            log.warn("Result upload cancelled [chainTaskId:{}]", chainTaskId);
+            return false;
         } catch (Exception e) {
             log.error("Empty location, cannot upload result [chainTaskId:{}]", chainTaskId, e);
             return false;
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.commons.poco.chain.ChainTask;
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.core.notification.TaskNotificationType;
+import com.iexec.worker.chain.ChainStateCache;
+import com.iexec.worker.chain.IexecHubService;
+import com.iexec.worker.utils.DeadlineTask;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Provides the deadline bounding each stage of a task, so that the blocking work of concurrent tasks
+ * is run earliest deadline first.
+ * <p>
+ * Stages up to the contribution are bound by the contribution deadline of the task, the reveal by its
+ * reveal deadline and all other stages by its final deadline. On-chain deadlines are read from the
+ * block-scoped {@link ChainStateCache}. The final deadline of the task description is used while they are
+ * not set on-chain yet.
+ */
+@Service
+public class TaskDeadlineService {
+
+    private final ChainStateCache chainStateCache;
+    private final IexecHubService iexecHubService;
+
+    public TaskDeadlineService(final ChainStateCache chainStateCache,
+                               final IexecHubService iexecHubService) {
+        this.chainStateCache = chainStateCache;
+        this.iexecHubService = iexecHubService;
+    }
+
+    /**
+     * Returns the deadline of the stage triggered by an action.
+     *
+     * @param chainTaskId ID of the task
+     * @param action      Action triggering the stage
+     * @return The deadline as a timestamp in milliseconds, {@link DeadlineTask#NO_DEADLINE} if it is unknown.
+     */
+    public long getDeadline(final String chainTaskId, final TaskNotificationType action) {
+        final Optional<ChainTask> chainTask = chainStateCache.getChainTask(chainTaskId);
+        if (chainTask.isPresent()) {
+            final long deadline = switch (action) {
+                case PLEASE_START, PLEASE_DOWNLOAD_APP, PLEASE_DOWNLOAD_DATA, PLEASE_COMPUTE, PLEASE_CONTRIBUTE,
+                     PLEASE_CONTRIBUTE_AND_FINALIZE -> chainTask.get().getContributionDeadline();
+                case PLEASE_REVEAL -> chainTask.get().getRevealDeadline();
+                default -> chainTask.get().getFinalDeadline();
+            };
+            if (deadline > 0) {
+                return deadline;
+            }
+        }
+        final TaskDescription taskDescription = iexecHubService.getTaskDescription(chainTaskId);
+        return taskDescription != null && taskDescription.getFinalDeadline() > 0
+                ? taskDescription.getFinalDeadline()
+                : DeadlineTask.NO_DEADLINE;
+    }
+}
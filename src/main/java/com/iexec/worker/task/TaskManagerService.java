@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package com.iexec.worker.task;
 
+import com.iexec.common.lifecycle.purge.ExpiringTaskMapFactory;
 import com.iexec.common.lifecycle.purge.PurgeService;
 import com.iexec.common.replicate.ComputeLogs;
 import com.iexec.common.replicate.ReplicateStatus;
@@ -26,6 +27,7 @@ import com.iexec.commons.poco.chain.ChainReceipt;
 import com.iexec.commons.poco.chain.WorkerpoolAuthorization;
 import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.core.notification.TaskNotificationExtra;
+import com.iexec.core.notification.TaskNotificationType;
 import com.iexec.sms.api.TeeSessionGenerationError;
 import com.iexec.worker.chain.Contribution;
 import com.iexec.worker.chain.ContributionService;
@@ -42,15 +44,29 @@ import com.iexec.worker.sms.SmsService;
 import com.iexec.worker.sms.TeeSessionGenerationException;
 import com.iexec.worker.tee.TeeService;
 import com.iexec.worker.tee.TeeServicesManager;
+import com.iexec.worker.utils.DeadlineTask;
+import com.iexec.worker.utils.ExecutorUtils;
 import com.iexec.worker.utils.LoggingUtils;
+import com.iexec.worker.workflow.TaskCancellationService;
 import com.iexec.worker.workflow.WorkflowError;
 import com.iexec.worker.workflow.WorkflowException;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.iexec.common.replicate.ReplicateStatus.APP_DOWNLOAD_FAILED;
 import static com.iexec.common.replicate.ReplicateStatus.DATA_DOWNLOAD_FAILED;
@@ -63,6 +79,7 @@ public class TaskManagerService {
 
     private static final String CONTRIBUTE = "contribute";
     private static final String CONTRIBUTE_AND_FINALIZE = "contributeAndFinalize";
+    private static final int PREFETCH_POOL_SIZE = 4;
 
     private final IexecHubService iexecHubService;
     private final ContributionService contributionService;
@@ -73,7 +90,15 @@ public class TaskManagerService {
     private final ResultService resultService;
     private final SmsService smsService;
     private final PurgeService purgeService;
+    private final TaskDeadlineService taskDeadlineService;
+    private final TaskTimeBudgetService taskTimeBudgetService;
+    private final TaskCancellationService taskCancellationService;
     private final String workerWalletAddress;
+    private final Map<String, Object> taskLocks = ExpiringTaskMapFactory.getExpiringTaskMap();
+    private final Map<String, Prefetch<Boolean>> appPulls = ExpiringTaskMapFactory.getExpiringTaskMap();
+    private final Map<String, Prefetch<Void>> dataDownloads = ExpiringTaskMapFactory.getExpiringTaskMap();
+    private final ThreadPoolTaskExecutor prefetchExecutor =
+            ExecutorUtils.newDeadlineThreadPoolExecutor(PREFETCH_POOL_SIZE, "prefetch-");
 
     public TaskManagerService(
             IexecHubService iexecHubService,
@@ -85,6 +110,9 @@ public class TaskManagerService {
             ResultService resultService,
             SmsService smsService,
             PurgeService purgeService,
+            TaskDeadlineService taskDeadlineService,
+            TaskTimeBudgetService taskTimeBudgetService,
+            TaskCancellationService taskCancellationService,
             String workerWalletAddress) {
         this.iexecHubService = iexecHubService;
         this.contributionService = contributionService;
@@ -95,13 +123,16 @@ public class TaskManagerService {
         this.resultService = resultService;
         this.smsService = smsService;
         this.purgeService = purgeService;
+        this.taskDeadlineService = taskDeadlineService;
+        this.taskTimeBudgetService = taskTimeBudgetService;
+        this.taskCancellationService = taskCancellationService;
         this.workerWalletAddress = workerWalletAddress;
     }
 
     ReplicateActionResponse start(final TaskDescription taskDescription) {
         final String chainTaskId = taskDescription.getChainTaskId();
-        final List<WorkflowError> errors = contributionService.getCannotContributeStatusCause(chainTaskId);
         final String context = "start";
+        final List<WorkflowError> errors = getCannotContributeInTimeStatusCause(chainTaskId, context);
         if (!errors.isEmpty()) {
             return getFailureResponseAndPrintErrors(errors, context, chainTaskId);
         }
@@ -112,6 +143,12 @@ public class TaskManagerService {
                     List.of(new WorkflowError(TASK_DESCRIPTION_INVALID)), context, chainTaskId);
         }
 
+        // gas is only checked once a replicate has been received, a dry wallet is reported as a start failure
+        if (!hasEnoughGas()) {
+            return getFailureResponseAndPrintErrors(
+                    List.of(new WorkflowError(OUT_OF_GAS)), context, chainTaskId);
+        }
+
         if (taskDescription.requiresSgx() || taskDescription.requiresTdx()) {
             // If any TEE prerequisite is not met,
             // then we won't be able to run the task.
@@ -141,6 +178,50 @@ public class TaskManagerService {
         return ReplicateActionResponse.success();
     }
 
+    /**
+     * Starts pulling the app image and, for standard tasks, downloading dataset and input files in background,
+     * as soon as a replicate has been accepted.
+     * <p>
+     * Prefetches run on a bounded pool, so that they overlap with the start stage and with other running tasks.
+     * Queued prefetches are started earliest contribution deadline first.
+     * They are awaited by {@link #downloadApp(TaskDescription)} and {@link #downloadData(TaskDescription)},
+     * and cancelled if the task is aborted.
+     * Prefetching a task twice has no effect.
+     *
+     * @param taskDescription Description of the task
+     */
+    public void prefetch(final TaskDescription taskDescription) {
+        final String chainTaskId = taskDescription.getChainTaskId();
+        final long deadline = taskDeadlineService.getDeadline(chainTaskId, TaskNotificationType.PLEASE_DOWNLOAD_APP);
+        appPulls.computeIfAbsent(chainTaskId, key -> {
+            log.info("Prefetching app image [chainTaskId:{}, deadline:{}]", chainTaskId, deadline);
+            return submitPrefetch(deadline, () -> computeManagerService.downloadApp(taskDescription));
+        });
+        if (taskDescription.requiresSgx() || taskDescription.requiresTdx()) {
+            return;
+        }
+        dataDownloads.computeIfAbsent(chainTaskId, key -> {
+            log.info("Prefetching dataset and input files [chainTaskId:{}]", chainTaskId);
+            return submitPrefetch(deadline, () -> {
+                downloadStandardData(taskDescription);
+                return null;
+            });
+        });
+    }
+
+    private <T> Prefetch<T> submitPrefetch(final long deadline, final Callable<T> callable) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final DeadlineTask task = new DeadlineTask(deadline, () -> {
+            try {
+                result.complete(callable.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        prefetchExecutor.execute(task);
+        return new Prefetch<>(result, task);
+    }
+
     /**
      * {@link TeeSessionGenerationError} and {@link ReplicateStatusCause} are dynamically bound
      * such as {@code TeeSessionGenerationError.MEMBER_X == ReplicateStatusCause.TEE_SESSION_GENERATION_MEMBER_X}.
@@ -158,14 +239,19 @@ public class TaskManagerService {
 
     ReplicateActionResponse downloadApp(final TaskDescription taskDescription) {
         final String chainTaskId = taskDescription.getChainTaskId();
-        final List<WorkflowError> errors = contributionService.getCannotContributeStatusCause(chainTaskId);
         final String context = "download app";
+        final List<WorkflowError> errors = getCannotContributeInTimeStatusCause(chainTaskId, context);
         if (!errors.isEmpty()) {
             return getFailureResponseAndPrintErrors(errors, context, chainTaskId);
         }
 
-        if (computeManagerService.downloadApp(taskDescription)) {
-            return ReplicateActionResponse.success();
+        try {
+            if (isAppPrefetched(chainTaskId) || computeManagerService.downloadApp(taskDescription)) {
+                return ReplicateActionResponse.success();
+            }
+        } catch (TimeoutException e) {
+            return getFailureResponseAndPrintErrors(
+                    List.of(new WorkflowError(CONTRIBUTION_TIMEOUT)), context, chainTaskId);
         }
         return triggerPostComputeHookOnError(
                 chainTaskId, context, taskDescription, APP_DOWNLOAD_FAILED, List.of(new WorkflowError(APP_IMAGE_DOWNLOAD_FAILED)));
@@ -186,6 +272,9 @@ public class TaskManagerService {
 
     /**
      * Download dataset file and input files if needed.
+     * <p>
+     * If a download has already been started in background by {@link #prefetch(TaskDescription)},
+     * this method waits for it instead of downloading files again.
      *
      * @param taskDescription Description of the task.
      * @return ReplicateActionResponse containing success
@@ -199,25 +288,22 @@ public class TaskManagerService {
             log.info("Dataset and input files will be downloaded by the pre-compute enclave [chainTaskId:{}]", chainTaskId);
             return ReplicateActionResponse.success();
         }
-        final List<WorkflowError> errors = contributionService.getCannotContributeStatusCause(chainTaskId);
         final String context = "download data";
+        final List<WorkflowError> errors = getCannotContributeInTimeStatusCause(chainTaskId, context);
         if (!errors.isEmpty()) {
             return getFailureResponseAndPrintErrors(errors, context, chainTaskId);
         }
         try {
-            // download dataset for standard task
-            if (!taskDescription.containsDataset()) {
-                log.info("No dataset for this task [chainTaskId:{}]", chainTaskId);
+            final Prefetch<Void> download = dataDownloads.remove(chainTaskId);
+            if (download != null) {
+                log.info("Waiting for prefetched dataset and input files [chainTaskId:{}]", chainTaskId);
+                awaitDataDownload(taskDescription, download);
             } else {
-                dataService.downloadStandardDataset(taskDescription);
-            }
-            // download input files for standard task
-            if (!taskDescription.containsInputFiles()) {
-                log.info("No input files for this task [chainTaskId:{}]", chainTaskId);
-            } else {
-                log.info("Downloading input files [chainTaskId:{}]", chainTaskId);
-                dataService.downloadStandardInputFiles(chainTaskId, taskDescription.getDealParams().getIexecInputFiles());
+                downloadStandardData(taskDescription);
             }
+        } catch (TimeoutException e) {
+            return getFailureResponseAndPrintErrors(
+                    List.of(new WorkflowError(CONTRIBUTION_TIMEOUT)), context, chainTaskId);
         } catch (WorkflowException e) {
             return triggerPostComputeHookOnError(
                     chainTaskId, context, taskDescription, DATA_DOWNLOAD_FAILED, List.of(new WorkflowError(e.getReplicateStatusCause())));
@@ -225,6 +311,105 @@ public class TaskManagerService {
         return ReplicateActionResponse.success();
     }
 
+    private void downloadStandardData(final TaskDescription taskDescription) throws WorkflowException {
+        final String chainTaskId = taskDescription.getChainTaskId();
+        // download dataset for standard task
+        if (!taskDescription.containsDataset()) {
+            log.info("No dataset for this task [chainTaskId:{}]", chainTaskId);
+        } else {
+            dataService.downloadStandardDataset(taskDescription);
+        }
+        // download input files for standard task
+        if (!taskDescription.containsInputFiles()) {
+            log.info("No input files for this task [chainTaskId:{}]", chainTaskId);
+        } else {
+            log.info("Downloading input files [chainTaskId:{}]", chainTaskId);
+            dataService.downloadStandardInputFiles(chainTaskId, taskDescription.getDealParams().getIexecInputFiles());
+        }
+    }
+
+    /**
+     * Waits for the app image prefetch of a task, if any.
+     * A failed prefetch is not final, the image is then pulled again by the caller.
+     *
+     * @return {@literal true} if the app image has been prefetched, {@literal false} otherwise.
+     * @throws TimeoutException if the prefetch did not complete within the download budget of the task,
+     *                          the prefetch is then cancelled.
+     */
+    private boolean isAppPrefetched(final String chainTaskId) throws TimeoutException {
+        final Prefetch<Boolean> pull = appPulls.remove(chainTaskId);
+        if (pull == null) {
+            return false;
+        }
+        log.info("Waiting for prefetched app image [chainTaskId:{}]", chainTaskId);
+        try {
+            return Boolean.TRUE.equals(awaitPrefetch(chainTaskId, pull));
+        } catch (CancellationException | ExecutionException e) {
+            log.warn("App image prefetch failed, pulling it again [chainTaskId:{}]", chainTaskId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Waits for the data prefetch of a task.
+     * A cancelled prefetch is rethrown as is, as for a download run in the current thread, so that the aborted
+     * replicate is not reported as a download failure. Any other unexpected failure is reported as a download failure.
+     */
+    private void awaitDataDownload(final TaskDescription taskDescription, final Prefetch<Void> download)
+            throws WorkflowException, TimeoutException {
+        final String chainTaskId = taskDescription.getChainTaskId();
+        try {
+            awaitPrefetch(chainTaskId, download);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof WorkflowException workflowException) {
+                throw workflowException;
+            }
+            log.error("Data prefetch failed [chainTaskId:{}]", chainTaskId, e.getCause());
+            throw new WorkflowException(taskDescription.containsDataset()
+                    ? DATASET_FILE_DOWNLOAD_FAILED : INPUT_FILES_DOWNLOAD_FAILED);
+        }
+    }
+
+    /**
+     * Waits for a prefetch within the download budget of the task, see {@link TaskTimeBudgetService}.
+     *
+     * @throws CancellationException if the prefetch has been cancelled, or failed because the task has been aborted.
+     */
+    private <T> T awaitPrefetch(final String chainTaskId, final Prefetch<T> prefetch)
+            throws ExecutionException, TimeoutException {
+        final Optional<Duration> budget = taskTimeBudgetService.getDownloadBudget(chainTaskId);
+        try {
+            return budget.isPresent()
+                    ? prefetch.result().get(budget.get().toMillis(), TimeUnit.MILLISECONDS)
+                    : prefetch.result().get();
+        } catch (TimeoutException e) {
+            log.warn("Prefetch exceeded download budget, cancelling it [chainTaskId:{}, budget:{}]",
+                    chainTaskId, budget.get());
+            prefetch.cancel();
+            throw e;
+        } catch (CancellationException e) {
+            // CompletableFuture.get() throws a cancellation as is, it is never wrapped in an ExecutionException
+            log.warn("Prefetch cancelled [chainTaskId:{}]", chainTaskId);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            prefetch.cancel();
+            throw new CancellationException("Interrupted while waiting for prefetch");
+        }
+    }
+
+    /**
+     * Returns the reasons why a task cannot contribute, or {@link ReplicateStatusCause#CONTRIBUTION_TIMEOUT}
+     * if there is not enough time left to run the next stage and contribute.
+     */
+    private List<WorkflowError> getCannotContributeInTimeStatusCause(final String chainTaskId, final String context) {
+        final List<WorkflowError> errors = contributionService.getCannotContributeStatusCause(chainTaskId);
+        if (errors.isEmpty() && taskTimeBudgetService.isContributionDeadlineUnreachable(chainTaskId, context)) {
+            return List.of(new WorkflowError(CONTRIBUTION_TIMEOUT));
+        }
+        return errors;
+    }
+
     private ReplicateActionResponse triggerPostComputeHookOnError(final String chainTaskId,
                                                                   final String context,
                                                                   final TaskDescription taskDescription,
@@ -246,7 +431,7 @@ public class TaskManagerService {
     ReplicateActionResponse compute(final TaskDescription taskDescription) {
         final String chainTaskId = taskDescription.getChainTaskId();
         final String context = "compute";
-        final List<WorkflowError> errors = contributionService.getCannotContributeStatusCause(chainTaskId);
+        final List<WorkflowError> errors = getCannotContributeInTimeStatusCause(chainTaskId, context);
         if (!errors.isEmpty()) {
             return getFailureResponseAndPrintErrors(errors, context, chainTaskId);
         }
@@ -291,6 +476,7 @@ public class TaskManagerService {
      * depending on the context.
      * <p>
      * The method has been developed to avoid code duplication.
+     * The contribution prepared at the end of the post-compute is used when present.
      *
      * @param chainTaskId ID of the task
      * @param context     Either {@link TaskManagerService#CONTRIBUTE} or {@link TaskManagerService#CONTRIBUTE_AND_FINALIZE}
@@ -307,16 +493,21 @@ public class TaskManagerService {
                     List.of(new WorkflowError(OUT_OF_GAS)), context, chainTaskId);
         }
 
-        final ComputedFile computedFile = resultService.getComputedFile(chainTaskId);
-        if (computedFile == null) {
-            logError("computed file error", context, chainTaskId);
-            return ReplicateActionResponse.failure(DETERMINISM_HASH_NOT_FOUND);
-        }
-
-        final Contribution contribution = contributionService.getContribution(computedFile);
+        // contribution prepared at the end of post-compute, built again if missing
+        ComputedFile computedFile = null;
+        Contribution contribution = contributionService.getPreparedContribution(chainTaskId).orElse(null);
         if (contribution == null) {
-            logError("get contribution error", context, chainTaskId);
-            return ReplicateActionResponse.failure(ENCLAVE_SIGNATURE_NOT_FOUND);//TODO update status
+            computedFile = resultService.getComputedFile(chainTaskId);
+            if (computedFile == null) {
+                logError("computed file error", context, chainTaskId);
+                return ReplicateActionResponse.failure(DETERMINISM_HASH_NOT_FOUND);
+            }
+
+            contribution = contributionService.getContribution(computedFile);
+            if (contribution == null) {
+                logError("get contribution error", context, chainTaskId);
+                return ReplicateActionResponse.failure(ENCLAVE_SIGNATURE_NOT_FOUND);//TODO update status
+            }
         }
 
         ReplicateActionResponse response = ReplicateActionResponse.failure(CHAIN_RECEIPT_NOT_VALID);
@@ -325,6 +516,7 @@ public class TaskManagerService {
             final ChainReceipt chainReceipt = contributionService.contribute(contribution).orElse(null);
 
             if (isValidChainReceipt(chainTaskId, chainReceipt)) {
+                revealService.watchConsensus(chainTaskId, contribution.resultDigest());
                 response = ReplicateActionResponse.success(chainReceipt);
             }
         } else if (context.equals(CONTRIBUTE_AND_FINALIZE)) {
@@ -334,7 +526,10 @@ public class TaskManagerService {
             }
 
             final WorkerpoolAuthorization workerpoolAuthorization = contributionService.getWorkerpoolAuthorization(chainTaskId);
-            final String callbackData = computedFile.getCallbackData();
+            if (computedFile == null) {
+                computedFile = resultService.getComputedFile(chainTaskId);
+            }
+            final String callbackData = computedFile != null ? computedFile.getCallbackData() : "";
             final String resultLink = resultService.uploadResultAndGetLink(workerpoolAuthorization);
             log.debug("contributeAndFinalize [contribution:{}, resultLink:{}, callbackData:{}]",
                     contribution, resultLink, callbackData);
@@ -381,7 +576,9 @@ public class TaskManagerService {
                     List.of(new WorkflowError(BLOCK_NOT_REACHED)), context, chainTaskId);
         }
 
-        if (!revealService.repeatCanReveal(chainTaskId, resultDigest)) {
+        // readiness observed on-chain by the consensus watch, polled otherwise
+        if (!revealService.isRevealReady(chainTaskId, resultDigest)
+                && !revealService.repeatCanReveal(chainTaskId, resultDigest)) {
             return getFailureResponseAndPrintErrors(
                     List.of(new WorkflowError(CANNOT_REVEAL)), context, chainTaskId);
         }
@@ -427,33 +624,52 @@ public class TaskManagerService {
     }
 
     ReplicateActionResponse complete(final String chainTaskId) {
-        purgeService.purgeAllServices(chainTaskId);
+        synchronized (getTaskLock(chainTaskId)) {
+            purgeService.purgeAllServices(chainTaskId);
 
-        if (!resultService.purgeTask(chainTaskId)) {
-            return ReplicateActionResponse.failure();
-        }
+            if (!resultService.purgeTask(chainTaskId)) {
+                return ReplicateActionResponse.failure();
+            }
 
-        return ReplicateActionResponse.success();
+            return ReplicateActionResponse.success();
+        }
     }
 
     /**
-     * To abort a task, the worker must, first, remove currently running containers
-     * related to the task in question, unsubscribe from the task's notifications,
-     * then remove result folders.
+     * To abort a task, the worker must, first, cancel in-flight pulls, downloads and uploads of the task,
+     * remove currently running containers related to the task in question,
+     * unsubscribe from the task's notifications, then remove result folders.
+     * <p>
+     * Cleanup operations of a task are serialized with a lock dedicated to the task,
+     * aborting a task never waits for another task to be aborted or completed.
      *
      * @param chainTaskId Task ID
      * @return {@literal true} if all cleanup operations went well, {@literal false} otherwise
      */
-    synchronized boolean abort(final String chainTaskId) {
-        log.info("Aborting task [chainTaskId:{}]", chainTaskId);
-        final boolean allContainersStopped = computeManagerService.abort(chainTaskId);
-        final boolean allServicesPurged = purgeService.purgeAllServices(chainTaskId);
-        final boolean isSuccess = allContainersStopped && allServicesPurged;
-        if (!isSuccess) {
-            log.error("Failed to abort task [chainTaskId:{}, containers:{}, services:{}]",
-                    chainTaskId, allContainersStopped, allServicesPurged);
-        }
-        return isSuccess;
+    boolean abort(final String chainTaskId) {
+        synchronized (getTaskLock(chainTaskId)) {
+            log.info("Aborting task [chainTaskId:{}]", chainTaskId);
+            taskCancellationService.cancel(chainTaskId);
+            Optional.ofNullable(appPulls.remove(chainTaskId)).ifPresent(Prefetch::cancel);
+            Optional.ofNullable(dataDownloads.remove(chainTaskId)).ifPresent(Prefetch::cancel);
+            final boolean allContainersStopped = computeManagerService.abort(chainTaskId);
+            final boolean allServicesPurged = purgeService.purgeAllServices(chainTaskId);
+            final boolean isSuccess = allContainersStopped && allServicesPurged;
+            if (!isSuccess) {
+                log.error("Failed to abort task [chainTaskId:{}, containers:{}, services:{}]",
+                        chainTaskId, allContainersStopped, allServicesPurged);
+            }
+            return isSuccess;
+        }
+    }
+
+    private Object getTaskLock(final String chainTaskId) {
+        return taskLocks.computeIfAbsent(chainTaskId, key -> new Object());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetchExecutor.shutdown();
     }
 
     boolean hasEnoughGas() {
@@ -506,4 +722,14 @@ public class TaskManagerService {
         logError(cause != null ? cause.toString() : "", failureContext, chainTaskId);
     }
 
+    /**
+     * Resource fetched in background for a task.
+     * Cancelling a prefetch interrupts it if it is running.
+     */
+    private record Prefetch<T>(CompletableFuture<T> result, Future<?> task) {
+        void cancel() {
+            task.cancel(true);
+            result.cancel(true);
+        }
+    }
 }
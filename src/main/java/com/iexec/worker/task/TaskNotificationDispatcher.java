@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.core.notification.TaskNotification;
+import com.iexec.core.notification.TaskNotificationType;
+import com.iexec.worker.utils.DeadlineTask;
+import com.iexec.worker.utils.ExecutorUtils;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.iexec.core.notification.TaskNotificationType.PLEASE_ABORT;
+import static com.iexec.core.notification.TaskNotificationType.PLEASE_COMPLETE;
+
+/**
+ * Dispatches {@link TaskNotification} events to {@link TaskNotificationService}.
+ * <p>
+ * Each task owns a mailbox in which its notifications are queued.
+ * A mailbox is drained by a single thread at a time, so notifications of a task are always processed
+ * one after the other and in the order they have been received.
+ * Notifications of distinct tasks are processed concurrently on a dedicated pool,
+ * whose size bounds the number of notifications in flight.
+ * <p>
+ * A mailbox gives its thread back to the pool after each notification,
+ * so that tasks waiting for a thread are served in turn and a few busy tasks cannot starve the others.
+ * Mailboxes waiting for a thread are served earliest deadline first, the deadline of a mailbox being
+ * the one of the stage triggered by its oldest notification (see {@link TaskDeadlineService}).
+ * A task close to its deadline is then never queued behind tasks with plenty of time left.
+ * As the deadline may be read on-chain, it is looked up on a small dedicated pool when a mailbox is created,
+ * and on the mailbox thread when a mailbox is scheduled again, never on the thread receiving notifications.
+ * <p>
+ * {@link TaskNotificationType#PLEASE_ABORT} and {@link TaskNotificationType#PLEASE_COMPLETE} notifications
+ * are control-plane notifications. They bypass mailboxes and run on a separate pool,
+ * so that they are never queued behind long-running stages.
+ * Both discard the notifications still queued for the task. An abort runs at once and cancels the running stage,
+ * a complete is deferred until the notification running for the task, if any, is over, so that the files
+ * of the task are never purged while a stage still uses them.
+ */
+@Slf4j
+@Service
+public class TaskNotificationDispatcher {
+
+    static final String QUEUE_DEPTH_METRIC_NAME = "iexec.task.notification.queue.depth";
+    static final String IN_FLIGHT_METRIC_NAME = "iexec.task.notification.in-flight";
+    static final String WAIT_TIME_METRIC_NAME = "iexec.task.notification.wait";
+    static final String CONTROL_PLANE_IN_FLIGHT_METRIC_NAME = "iexec.task.notification.control-plane.in-flight";
+    static final int CONTROL_PLANE_POOL_SIZE = 4;
+    static final int DEADLINE_POOL_SIZE = 2;
+    private static final Set<TaskNotificationType> CONTROL_PLANE_ACTIONS = EnumSet.of(PLEASE_ABORT, PLEASE_COMPLETE);
+
+    private final TaskNotificationService taskNotificationService;
+    private final TaskDeadlineService taskDeadlineService;
+    private final ThreadPoolTaskExecutor executor;
+    private final ThreadPoolTaskExecutor controlPlaneExecutor;
+    private final ThreadPoolTaskExecutor deadlineExecutor;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth;
+    private final Timer waitTimer;
+
+    public TaskNotificationDispatcher(final TaskNotificationService taskNotificationService,
+                                      final TaskDeadlineService taskDeadlineService,
+                                      @Value("${worker.task-notification.max-in-flight}") final int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight task notifications must be strictly positive");
+        }
+        this.taskNotificationService = taskNotificationService;
+        this.taskDeadlineService = taskDeadlineService;
+        this.executor = ExecutorUtils.newDeadlineThreadPoolExecutor(maxInFlight, "task-notif-");
+        this.controlPlaneExecutor = ExecutorUtils.newFixedThreadPoolExecutor(CONTROL_PLANE_POOL_SIZE, "task-ctrl-");
+        this.deadlineExecutor = ExecutorUtils.newFixedThreadPoolExecutor(DEADLINE_POOL_SIZE, "task-deadline-");
+        this.queueDepth = Metrics.gauge(QUEUE_DEPTH_METRIC_NAME, new AtomicInteger(0));
+        Metrics.gauge(IN_FLIGHT_METRIC_NAME, executor, ThreadPoolTaskExecutor::getActiveCount);
+        Metrics.gauge(CONTROL_PLANE_IN_FLIGHT_METRIC_NAME, controlPlaneExecutor, ThreadPoolTaskExecutor::getActiveCount);
+        this.waitTimer = Metrics.timer(WAIT_TIME_METRIC_NAME);
+    }
+
+    /**
+     * Queues a notification in the mailbox of its task, or runs it on the control-plane pool.
+     * <p>
+     * Note to dev: In spring the code executed in an @EventListener method will be in the same thread as the
+     * method that triggered the event. This method only queues the notification and returns immediately.
+     *
+     * @param notification Notification to process
+     */
+    @EventListener
+    public void onTaskNotification(final TaskNotification notification) {
+        final String chainTaskId = notification.getChainTaskId();
+        final TaskNotificationType action = notification.getTaskNotificationType();
+        if (CONTROL_PLANE_ACTIONS.contains(action)) {
+            discardPendingNotifications(chainTaskId, action);
+            if (action == PLEASE_COMPLETE && deferUntilRunningNotificationEnds(chainTaskId, notification)) {
+                log.debug("Deferred control-plane TaskNotification until running one ends [chainTaskId:{}, action:{}]",
+                        chainTaskId, action);
+                return;
+            }
+            log.debug("Running control-plane TaskNotification [chainTaskId:{}, action:{}]", chainTaskId, action);
+            controlPlaneExecutor.execute(() -> process(chainTaskId, notification));
+            return;
+        }
+        final QueuedNotification queuedNotification = new QueuedNotification(notification, System.nanoTime());
+        queueDepth.incrementAndGet();
+        mailboxes.compute(chainTaskId, (key, mailbox) -> {
+            final Mailbox current = mailbox != null ? mailbox : new Mailbox();
+            current.pending.add(queuedNotification);
+            if (!current.scheduled) {
+                current.scheduled = true;
+                deadlineExecutor.execute(() -> schedule(key, current));
+            }
+            return current;
+        });
+        log.debug("Queued TaskNotification [chainTaskId:{}, action:{}]", chainTaskId, action);
+    }
+
+    /**
+     * Removes notifications queued for a task which have not been started yet.
+     * The notification currently running, if any, is not interrupted.
+     */
+    private void discardPendingNotifications(final String chainTaskId, final TaskNotificationType action) {
+        mailboxes.computeIfPresent(chainTaskId, (key, mailbox) -> {
+            int discarded = 0;
+            while (mailbox.pending.poll() != null) {
+                discarded++;
+            }
+            if (discarded > 0) {
+                queueDepth.addAndGet(-discarded);
+                log.info("Discarded pending TaskNotification [chainTaskId:{}, action:{}, count:{}]",
+                        chainTaskId, action, discarded);
+            }
+            return mailbox;
+        });
+    }
+
+    /**
+     * Keeps a notification aside until the notification running for the task ends.
+     *
+     * @return {@literal true} if a notification of the task is running, {@literal false} otherwise.
+     */
+    private boolean deferUntilRunningNotificationEnds(final String chainTaskId, final TaskNotification notification) {
+        final AtomicBoolean deferred = new AtomicBoolean(false);
+        mailboxes.computeIfPresent(chainTaskId, (key, mailbox) -> {
+            if (mailbox.running) {
+                mailbox.deferred = notification;
+                deferred.set(true);
+            }
+            return mailbox;
+        });
+        return deferred.get();
+    }
+
+    /**
+     * Processes the oldest notification of a mailbox, then schedules the mailbox again if it is not empty.
+     * Empty mailboxes are removed, they are created again on the next notification of the task.
+     * A control-plane notification deferred while the notification was running is then run.
+     * <p>
+     * Mailbox state is only updated inside {@link ConcurrentHashMap#compute}, which is atomic per task.
+     */
+    private void drain(final String chainTaskId, final Mailbox mailbox) {
+        final AtomicReference<QueuedNotification> next = new AtomicReference<>();
+        mailboxes.compute(chainTaskId, (key, current) -> {
+            next.set(mailbox.pending.poll());
+            mailbox.running = next.get() != null;
+            return mailbox;
+        });
+        final QueuedNotification queuedNotification = next.get();
+        if (queuedNotification != null) {
+            queueDepth.decrementAndGet();
+            waitTimer.record(System.nanoTime() - queuedNotification.queuedAt(), TimeUnit.NANOSECONDS);
+            process(chainTaskId, queuedNotification.notification());
+        }
+        final AtomicReference<TaskNotification> deferred = new AtomicReference<>();
+        final Mailbox rescheduled = mailboxes.compute(chainTaskId, (key, current) -> {
+            mailbox.running = false;
+            deferred.set(mailbox.deferred);
+            mailbox.deferred = null;
+            if (mailbox.pending.isEmpty()) {
+                mailbox.scheduled = false;
+                return null;
+            }
+            return mailbox;
+        });
+        if (rescheduled != null) {
+            schedule(chainTaskId, mailbox);
+        }
+        if (deferred.get() != null) {
+            log.debug("Running deferred control-plane TaskNotification [chainTaskId:{}, action:{}]",
+                    chainTaskId, deferred.get().getTaskNotificationType());
+            controlPlaneExecutor.execute(() -> process(chainTaskId, deferred.get()));
+        }
+    }
+
+    /**
+     * Submits a scheduled mailbox to the pool, with the deadline of its oldest notification.
+     * The deadline may be read on-chain, this method must not be called on the thread receiving notifications.
+     */
+    private void schedule(final String chainTaskId, final Mailbox mailbox) {
+        final QueuedNotification head = mailbox.pending.peek();
+        long deadline = DeadlineTask.NO_DEADLINE;
+        if (head != null) {
+            try {
+                deadline = taskDeadlineService.getDeadline(chainTaskId, head.notification().getTaskNotificationType());
+            } catch (RuntimeException e) {
+                log.warn("Failed to get deadline of TaskNotification [chainTaskId:{}]", chainTaskId, e);
+            }
+        }
+        log.debug("Scheduling TaskNotification mailbox [chainTaskId:{}, deadline:{}]", chainTaskId, deadline);
+        executor.execute(new DeadlineTask(deadline, () -> drain(chainTaskId, mailbox)));
+    }
+
+    private void process(final String chainTaskId, final TaskNotification notification) {
+        try {
+            taskNotificationService.onTaskNotification(notification);
+        } catch (CancellationException e) {
+            log.info("TaskNotification interrupted by abort [chainTaskId:{}, action:{}]",
+                    chainTaskId, notification.getTaskNotificationType());
+        } catch (Exception e) {
+            log.error("Failed to process TaskNotification [chainTaskId:{}, action:{}]",
+                    chainTaskId, notification.getTaskNotificationType(), e);
+        }
+    }
+
+    int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    int getWaitingMailboxCount() {
+        return executor.getThreadPoolExecutor().getQueue().size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        controlPlaneExecutor.shutdown();
+        deadlineExecutor.shutdown();
+    }
+
+    private static class Mailbox {
+        private final Queue<QueuedNotification> pending = new ConcurrentLinkedQueue<>();
+        private boolean scheduled = false;
+        private boolean running = false;
+        private TaskNotification deferred;
+    }
+
+    private record QueuedNotification(TaskNotification notification, long queuedAt) {
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,59 +26,86 @@ import com.iexec.core.notification.TaskNotificationExtra;
 import com.iexec.core.notification.TaskNotificationType;
 import com.iexec.worker.chain.IexecHubService;
 import com.iexec.worker.chain.WorkerpoolAuthorizationService;
-import com.iexec.worker.feign.CustomCoreFeignClient;
-import com.iexec.worker.pubsub.SubscriptionService;
 import com.iexec.worker.replicate.ReplicateActionResponse;
+import com.iexec.worker.replicate.ReplicateDemandService;
+import com.iexec.worker.replicate.ReplicateStatusOutbox;
 import com.iexec.worker.sms.SmsService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import static com.iexec.common.replicate.ReplicateStatus.*;
+import static com.iexec.core.notification.TaskNotificationType.*;
 
 @Slf4j
 @Service
 public class TaskNotificationService {
+    private static final Map<ReplicateStatus, TaskNotificationType> FUSED_NEXT_ACTIONS = Map.of(
+            STARTED, PLEASE_DOWNLOAD_APP,
+            APP_DOWNLOADED, PLEASE_DOWNLOAD_DATA,
+            DATA_DOWNLOADED, PLEASE_COMPUTE);
+
     private final TaskManagerService taskManagerService;
-    private final CustomCoreFeignClient customCoreFeignClient;
+    private final ReplicateStatusOutbox replicateStatusOutbox;
+    private final ReplicateDemandService replicateDemandService;
     private final ApplicationEventPublisher applicationEventPublisher;
-    private final SubscriptionService subscriptionService;
     private final WorkerpoolAuthorizationService workerpoolAuthorizationService;
     private final IexecHubService iexecHubService;
     private final SmsService smsService;
+    private final TaskStageLedger taskStageLedger;
+    private final boolean fusedWorkflowEnabled;
 
     public TaskNotificationService(final TaskManagerService taskManagerService,
-                                   final CustomCoreFeignClient customCoreFeignClient,
+                                   final ReplicateStatusOutbox replicateStatusOutbox,
+                                   final ReplicateDemandService replicateDemandService,
                                    final ApplicationEventPublisher applicationEventPublisher,
-                                   final SubscriptionService subscriptionService,
                                    final WorkerpoolAuthorizationService workerpoolAuthorizationService,
                                    final IexecHubService iexecHubService,
-                                   final SmsService smsService) {
+                                   final SmsService smsService,
+                                   final TaskStageLedger taskStageLedger,
+                                   @Value("${worker.task-notification.fused-workflow-enabled}") final boolean fusedWorkflowEnabled) {
         this.taskManagerService = taskManagerService;
-        this.customCoreFeignClient = customCoreFeignClient;
+        this.replicateStatusOutbox = replicateStatusOutbox;
+        this.replicateDemandService = replicateDemandService;
         this.applicationEventPublisher = applicationEventPublisher;
-        this.subscriptionService = subscriptionService;
         this.workerpoolAuthorizationService = workerpoolAuthorizationService;
         this.iexecHubService = iexecHubService;
         this.smsService = smsService;
+        this.taskStageLedger = taskStageLedger;
+        this.fusedWorkflowEnabled = fusedWorkflowEnabled;
     }
 
     /**
-     * Note to dev: In spring the code executed in an @EventListener method will be in the same thread as the
-     * method that triggered the event. We don't want this to be the case here so this method should be Async.
+     * Processes a notification and publishes the next one received from the scheduler, if any.
+     * <p>
+     * Status updates are delivered by {@link ReplicateStatusOutbox}, the next action is published
+     * once the scheduler has acknowledged the final status update of the stage.
+     * <p>
+     * When the fused workflow is enabled, stages of a standard task whose next action is known in advance
+     * (start, app download, data download, compute) are run back-to-back without waiting for the scheduler.
+     * The fused workflow stops as soon as the scheduler replies with another action than the expected one,
+     * this action is then published as usual.
+     * <p>
+     * A stage already run or in flight for the task is not run again, see {@link TaskStageLedger}.
+     * Its final status is reported again with the response of the first run.
+     * <p>
+     * Once the compute stage is over, the compute slot of the task is released
+     * so that a new replicate can be computed during the chain phase of this one.
+     * <p>
+     * Note to dev: This method is called by {@link TaskNotificationDispatcher},
+     * which guarantees that notifications of a given task are processed one at a time and in order.
+     *
+     * @param notification Notification to process
      */
-    @Async
-    @EventListener
     public void onTaskNotification(final TaskNotification notification) {
         final String chainTaskId = notification.getChainTaskId();
         final TaskNotificationType action = notification.getTaskNotificationType();
-        final ReplicateActionResponse actionResponse;
-        final ReplicateStatus nextStatus;
-        TaskNotificationType nextAction = null;
         log.debug("Received TaskNotification [chainTaskId:{}, action:{}]", chainTaskId, action);
 
         if (action == null) {
@@ -93,79 +120,153 @@ public class TaskNotificationService {
             return;
         }
         final TaskDescription taskDescription = iexecHubService.getTaskDescription(chainTaskId);
+        final AtomicBoolean diverged = new AtomicBoolean(false);
+        TaskNotificationType currentAction = action;
+        while (currentAction != null) {
+            final StageOutcome outcome = runStage(notification, currentAction, taskDescription);
+            if (outcome == null) {
+                return;
+            }
+            final TaskNotificationType fusedNextAction = getFusedNextAction(taskDescription, outcome.status());
+            if (fusedNextAction == null) {
+                outcome.nextAction().thenAccept(next -> publishNextAction(chainTaskId, next));
+                return;
+            }
+            outcome.nextAction().thenAccept(next -> {
+                if (next != fusedNextAction && diverged.compareAndSet(false, true)) {
+                    log.info("Scheduler diverged from fused workflow [chainTaskId:{}, expected:{}, next:{}]",
+                            chainTaskId, fusedNextAction, next);
+                    publishNextAction(chainTaskId, next);
+                }
+            });
+            currentAction = diverged.get() ? null : fusedNextAction;
+            if (currentAction != null) {
+                log.debug("Running fused stage [chainTaskId:{}, action:{}]", chainTaskId, currentAction);
+            }
+        }
+    }
+
+    /**
+     * Runs a single stage and submits its status updates.
+     *
+     * @return The final status of the stage with the next action returned by the scheduler,
+     * or {@literal null} if the stage could not be run at all.
+     */
+    private StageOutcome runStage(final TaskNotification notification,
+                                  final TaskNotificationType action,
+                                  final TaskDescription taskDescription) {
+        final String chainTaskId = notification.getChainTaskId();
+        final TaskNotificationExtra extra = notification.getTaskNotificationExtra();
+        final ReplicateActionResponse actionResponse;
+        ReplicateStatus nextStatus = null;
+        CompletableFuture<TaskNotificationType> nextAction = CompletableFuture.completedFuture(null);
         switch (action) {
             case PLEASE_START:
-                updateStatus(chainTaskId, STARTING);
-                actionResponse = taskManagerService.start(taskDescription);
+                actionResponse = runStageOnce(chainTaskId, action, STARTING,
+                        () -> taskManagerService.start(taskDescription));
                 nextStatus = actionResponse.isSuccess() ? STARTED : START_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_DOWNLOAD_APP:
-                updateStatus(chainTaskId, APP_DOWNLOADING);
-                actionResponse = taskManagerService.downloadApp(taskDescription);
+                actionResponse = runStageOnce(chainTaskId, action, APP_DOWNLOADING,
+                        () -> taskManagerService.downloadApp(taskDescription));
                 nextStatus = actionResponse.isSuccess() ? APP_DOWNLOADED : APP_DOWNLOAD_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_DOWNLOAD_DATA:
-                updateStatus(chainTaskId, DATA_DOWNLOADING);
-                actionResponse = taskManagerService.downloadData(taskDescription);
+                actionResponse = runStageOnce(chainTaskId, action, DATA_DOWNLOADING,
+                        () -> taskManagerService.downloadData(taskDescription));
                 nextStatus = actionResponse.isSuccess() ? DATA_DOWNLOADED : DATA_DOWNLOAD_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_COMPUTE:
-                updateStatus(chainTaskId, COMPUTING);
-                actionResponse = taskManagerService.compute(taskDescription);
+                actionResponse = runStageOnce(chainTaskId, action, COMPUTING,
+                        () -> taskManagerService.compute(taskDescription));
                 if (actionResponse.getDetails() != null) {
                     actionResponse.getDetails().tailLogs();
                 }
                 nextStatus = actionResponse.isSuccess() ? COMPUTED : COMPUTE_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
+                // The compute slot is released once the scheduler knows the compute is over,
+                // otherwise the scheduler could still count this replicate as computing.
+                nextAction.thenRun(() -> replicateDemandService.releaseComputeSlot(chainTaskId));
                 break;
             case PLEASE_CONTRIBUTE:
-                updateStatus(chainTaskId, CONTRIBUTING);
-                actionResponse = taskManagerService.contribute(chainTaskId);
+                actionResponse = runStageOnce(chainTaskId, action, CONTRIBUTING,
+                        () -> taskManagerService.contribute(chainTaskId));
                 nextStatus = actionResponse.isSuccess() ? CONTRIBUTED : CONTRIBUTE_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_REVEAL:
-                updateStatus(chainTaskId, REVEALING);
-                actionResponse = taskManagerService.reveal(chainTaskId, extra);
+                actionResponse = runStageOnce(chainTaskId, action, REVEALING,
+                        () -> taskManagerService.reveal(chainTaskId, extra));
                 nextStatus = actionResponse.isSuccess() ? REVEALED : REVEAL_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_UPLOAD:
-                updateStatus(chainTaskId, RESULT_UPLOADING);
-                actionResponse = taskManagerService.uploadResult(chainTaskId);
+                actionResponse = runStageOnce(chainTaskId, action, RESULT_UPLOADING,
+                        () -> taskManagerService.uploadResult(chainTaskId));
                 nextStatus = actionResponse.isSuccess() ? RESULT_UPLOADED : RESULT_UPLOAD_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_CONTRIBUTE_AND_FINALIZE:
-                updateStatus(chainTaskId, CONTRIBUTE_AND_FINALIZE_ONGOING);
-                actionResponse = taskManagerService.contributeAndFinalize(chainTaskId);
+                actionResponse = runStageOnce(chainTaskId, action, CONTRIBUTE_AND_FINALIZE_ONGOING,
+                        () -> taskManagerService.contributeAndFinalize(chainTaskId));
                 nextStatus = actionResponse.isSuccess() ? CONTRIBUTE_AND_FINALIZE_DONE : CONTRIBUTE_AND_FINALIZE_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_COMPLETE:
-                updateStatus(chainTaskId, COMPLETING);
-                actionResponse = taskManagerService.complete(chainTaskId);
+                actionResponse = runStageOnce(chainTaskId, action, COMPLETING,
+                        () -> taskManagerService.complete(chainTaskId));
                 nextStatus = actionResponse.isSuccess() ? COMPLETED : COMPLETE_FAILED;
                 nextAction = updateStatusAndGetNextAction(chainTaskId, nextStatus, actionResponse.getDetails());
                 break;
             case PLEASE_ABORT:
                 if (!taskManagerService.abort(chainTaskId)) {
                     log.error("Failed to abort task [chainTaskId:{}]", chainTaskId);
-                    return;
+                    return null;
                 }
                 final TaskAbortCause taskAbortCause = notification.getTaskAbortCause();
                 final ReplicateStatusUpdate statusUpdate = new ReplicateStatusUpdate(
                         ABORTED, taskAbortCause.toReplicateStatusCause());
-                updateStatusAndGetNextAction(chainTaskId, statusUpdate);
+                replicateStatusOutbox.submit(chainTaskId, statusUpdate);
                 break;
             case PLEASE_CONTINUE,
                  PLEASE_WAIT:
                 break;
         }
+        return new StageOutcome(nextStatus, nextAction);
+    }
+
+    /**
+     * Reports the running status of a stage and runs it, unless the stage has already been run for this task.
+     */
+    private ReplicateActionResponse runStageOnce(final String chainTaskId,
+                                                 final TaskNotificationType action,
+                                                 final ReplicateStatus runningStatus,
+                                                 final Supplier<ReplicateActionResponse> stage) {
+        return taskStageLedger.runOnce(chainTaskId, action, () -> {
+            updateStatus(chainTaskId, runningStatus);
+            return stage.get();
+        });
+    }
+
+    /**
+     * Returns the action which would be run after a stage in the fused workflow.
+     * TEE tasks are never fused.
+     *
+     * @return The expected next action, {@literal null} if the workflow should wait for the scheduler.
+     */
+    private TaskNotificationType getFusedNextAction(final TaskDescription taskDescription,
+                                                    final ReplicateStatus status) {
+        if (!fusedWorkflowEnabled || status == null || taskDescription == null
+                || taskDescription.requiresSgx() || taskDescription.requiresTdx()) {
+            return null;
+        }
+        return FUSED_NEXT_ACTIONS.get(status);
+    }
 
+    private void publishNextAction(final String chainTaskId, final TaskNotificationType nextAction) {
         if (nextAction != null) {
             log.debug("Sending next action [chainTaskId:{}, nextAction:{}]", chainTaskId, nextAction);
             applicationEventPublisher.publishEvent(TaskNotification.builder()
@@ -176,7 +277,6 @@ public class TaskNotificationService {
         } else {
             log.warn("No more actions to do [chainTaskId:{}]", chainTaskId);
         }
-
     }
 
     private boolean storeWorkerpoolAuthAndSmsFromExtraIfPresent(final TaskNotificationExtra extra) {
@@ -194,60 +294,19 @@ public class TaskNotificationService {
 
     private void updateStatus(final String chainTaskId,
                               final ReplicateStatus status) {
-        final ReplicateStatusUpdate statusUpdate = new ReplicateStatusUpdate(status);
-        updateStatusAndGetNextAction(chainTaskId, statusUpdate);
+        replicateStatusOutbox.submit(chainTaskId, new ReplicateStatusUpdate(status));
     }
 
-    private TaskNotificationType updateStatusAndGetNextAction(final String chainTaskId,
-                                                              final ReplicateStatus status,
-                                                              final ReplicateStatusDetails details) {
-        ReplicateStatusUpdate statusUpdate = ReplicateStatusUpdate.builder()
+    private CompletableFuture<TaskNotificationType> updateStatusAndGetNextAction(final String chainTaskId,
+                                                                                 final ReplicateStatus status,
+                                                                                 final ReplicateStatusDetails details) {
+        final ReplicateStatusUpdate statusUpdate = ReplicateStatusUpdate.builder()
                 .status(status)
                 .details(details)
                 .build();
-
-        return updateStatusAndGetNextAction(chainTaskId, statusUpdate);
-    }
-
-    TaskNotificationType updateStatusAndGetNextAction(final String chainTaskId,
-                                                      final ReplicateStatusUpdate statusUpdate) {
-        log.info("update replicate request [chainTaskId:{}, status:{}, details:{}]",
-                chainTaskId, statusUpdate.getStatus(), statusUpdate.getDetailsWithoutLogs());
-
-        TaskNotificationType next = null;
-
-        // As long as the Core doesn't reply, we try to contact it. It may be rebooting.
-        while (next == null && !isFinalDeadlineReached(chainTaskId)) {
-            // Let's wait for the STOMP session to be ready.
-            // Otherwise, an update could be lost.
-            try {
-                subscriptionService.waitForSessionReady();
-            } catch (InterruptedException e) {
-                log.warn("Replicate status update has been interrupted [chainTaskId:{}, statusUpdate:{}]",
-                        chainTaskId, statusUpdate);
-                Thread.currentThread().interrupt();
-                return null;
-            }
-            next = customCoreFeignClient.updateReplicateStatus(chainTaskId, statusUpdate);
-        }
-
-        log.info("update replicate response [chainTaskId:{}, status:{}, next:{}]",
-                chainTaskId, statusUpdate.getStatus(), next);
-        return next;
+        return replicateStatusOutbox.submit(chainTaskId, statusUpdate);
     }
 
-    /**
-     * Checks whether the final deadline is reached.
-     * If never called before for this task, retrieves the final deadline from the chain and caches it.
-     * If already called, then retrieves the final deadline from the cache.
-     * <p>
-     * Note that if the task is unknown on the chain, then the final deadline is considered as reached.
-     *
-     * @param chainTaskId Task ID whose final deadline should be checked.
-     * @return {@literal true} if the final deadline is met or the task is unknown on-chain, {@literal false} otherwise.
-     */
-    boolean isFinalDeadlineReached(final String chainTaskId) {
-        final TaskDescription taskDescription = iexecHubService.getTaskDescription(chainTaskId);
-        return taskDescription != null && taskDescription.getFinalDeadline() < Instant.now().toEpochMilli();
+    private record StageOutcome(ReplicateStatus status, CompletableFuture<TaskNotificationType> nextAction) {
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.common.lifecycle.purge.ExpiringTaskMapFactory;
+import com.iexec.common.lifecycle.purge.Purgeable;
+import com.iexec.core.notification.TaskNotificationType;
+import com.iexec.worker.replicate.ReplicateActionResponse;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-task ledger of the stages which have been run, so that a stage is never run twice for duplicated
+ * notifications (STOMP reconnection, replicate recovery, scheduler retries).
+ * <p>
+ * A duplicated notification waits for the stage if it is in flight, then reuses its
+ * {@link ReplicateActionResponse}. Only successful responses are kept, a failed stage can be run again.
+ */
+@Slf4j
+@Service
+public class TaskStageLedger implements Purgeable {
+
+    static final String DUPLICATE_METRIC_NAME = "iexec.task.notification.duplicate";
+
+    private final Map<String, Map<TaskNotificationType, CompletableFuture<ReplicateActionResponse>>> stages =
+            ExpiringTaskMapFactory.getExpiringTaskMap();
+
+    /**
+     * Runs a stage of a task, unless it is in flight or has already succeeded.
+     *
+     * @param chainTaskId ID of the task
+     * @param action      Action triggering the stage
+     * @param stage       Stage to run
+     * @return The response of the stage, either computed now or by a previous run.
+     */
+    public ReplicateActionResponse runOnce(final String chainTaskId,
+                                           final TaskNotificationType action,
+                                           final Supplier<ReplicateActionResponse> stage) {
+        final Map<TaskNotificationType, CompletableFuture<ReplicateActionResponse>> taskStages =
+                stages.computeIfAbsent(chainTaskId, key -> new ConcurrentHashMap<>());
+        final CompletableFuture<ReplicateActionResponse> run = new CompletableFuture<>();
+        final CompletableFuture<ReplicateActionResponse> previousRun = taskStages.putIfAbsent(action, run);
+        if (previousRun != null) {
+            log.info("Duplicate notification, reusing stage response [chainTaskId:{}, action:{}, inFlight:{}]",
+                    chainTaskId, action, !previousRun.isDone());
+            Metrics.counter(DUPLICATE_METRIC_NAME, "action", action.name()).increment();
+            return previousRun.join();
+        }
+        try {
+            final ReplicateActionResponse response = stage.get();
+            if (response == null || !response.isSuccess()) {
+                taskStages.remove(action, run);
+            }
+            run.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            taskStages.remove(action, run);
+            run.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean purgeTask(final String chainTaskId) {
+        log.debug("purgeTask [chainTaskId:{}]", chainTaskId);
+        stages.remove(chainTaskId);
+        return true;
+    }
+
+    @Override
+    @PreDestroy
+    public void purgeAllTasksData() {
+        log.info("Method purgeAllTasksData() called to perform task data cleanup.");
+        stages.clear();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.worker.chain.Web3jService;
+import com.iexec.worker.utils.DeadlineTask;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.iexec.core.notification.TaskNotificationType.PLEASE_CONTRIBUTE;
+
+/**
+ * Splits the time left until the contribution deadline of a task across the stages leading to the contribution.
+ * <p>
+ * The last {@link #CONTRIBUTION_BLOCKS} blocks before the deadline are kept for the contribution transaction.
+ * The app image pull and the data download run concurrently, each of them may use up to {@link #DOWNLOAD_SHARE}
+ * of the time left when it is awaited, so that at least the other part remains for the compute stage.
+ * The app container may then run for up to {@link #COMPUTE_SHARE} of the time left when it starts, the rest being
+ * kept for the post-compute, and the TEE post-compute container for all the time left when it starts.
+ * Both are still bounded by the max execution time of the task category.
+ * <p>
+ * A task is abandoned before its next stage once the time kept for its contribution is reached,
+ * so that it stops consuming CPU and bandwidth needed by tasks which can still make their deadline.
+ */
+@Slf4j
+@Service
+public class TaskTimeBudgetService {
+
+    static final String ABANDONED_METRIC_NAME = "iexec.task.abandoned";
+    static final int CONTRIBUTION_BLOCKS = 3;
+    static final double DOWNLOAD_SHARE = 0.5;
+    static final double COMPUTE_SHARE = 0.8;
+    static final double POST_COMPUTE_SHARE = 1.0;
+
+    private final TaskDeadlineService taskDeadlineService;
+    private final long contributionReserve;
+
+    public TaskTimeBudgetService(final TaskDeadlineService taskDeadlineService,
+                                 final Web3jService web3jService) {
+        this.taskDeadlineService = taskDeadlineService;
+        this.contributionReserve = web3jService.getBlockTime().multipliedBy(CONTRIBUTION_BLOCKS).toMillis();
+    }
+
+    /**
+     * Checks whether a task can no longer contribute before its deadline and should be abandoned before a stage.
+     *
+     * @param chainTaskId ID of the task
+     * @param stage       Name of the stage about to start, used for logs and metrics
+     * @return {@literal true} if the time kept for the contribution is reached, {@literal false} otherwise.
+     */
+    public boolean isContributionDeadlineUnreachable(final String chainTaskId, final String stage) {
+        final Optional<Long> remainingTime = getRemainingTime(chainTaskId);
+        if (remainingTime.isEmpty() || remainingTime.get() > 0) {
+            return false;
+        }
+        log.warn("Abandoning task, contribution deadline cannot be met [chainTaskId:{}, stage:{}, contributionReserve:{}]",
+                chainTaskId, stage, contributionReserve);
+        Metrics.counter(ABANDONED_METRIC_NAME, "stage", stage).increment();
+        return true;
+    }
+
+    /**
+     * Returns the time a task may spend waiting for its app image or its data.
+     *
+     * @param chainTaskId ID of the task
+     * @return The budget, or {@link Optional#empty()} if the contribution deadline of the task is unknown.
+     */
+    public Optional<Duration> getDownloadBudget(final String chainTaskId) {
+        return getRemainingTime(chainTaskId)
+                .map(remainingTime -> Duration.ofMillis(Math.max(0, (long) (remainingTime * DOWNLOAD_SHARE))));
+    }
+
+    /**
+     * Returns the max execution time of the app container of a task.
+     *
+     * @param taskDescription Description of the task
+     * @return The max execution time in seconds, or {@link Optional#empty()} if the contribution deadline
+     * of the task is unknown.
+     */
+    public Optional<Long> getComputeMaxExecutionTime(final TaskDescription taskDescription) {
+        return getMaxExecutionTime(taskDescription, "compute", COMPUTE_SHARE);
+    }
+
+    /**
+     * Returns the max execution time of the post-compute container of a task.
+     *
+     * @param taskDescription Description of the task
+     * @return The max execution time in seconds, or {@link Optional#empty()} if the contribution deadline
+     * of the task is unknown.
+     */
+    public Optional<Long> getPostComputeMaxExecutionTime(final TaskDescription taskDescription) {
+        return getMaxExecutionTime(taskDescription, "post-compute", POST_COMPUTE_SHARE);
+    }
+
+    /**
+     * Caps the max execution time of the task category by a share of the time left.
+     * The result is at least one second, a container started with no max execution time would be detached.
+     */
+    private Optional<Long> getMaxExecutionTime(final TaskDescription taskDescription, final String stage,
+                                               final double share) {
+        final String chainTaskId = taskDescription.getChainTaskId();
+        return getRemainingTime(chainTaskId).map(remainingTime -> {
+            final long budget = Math.max(1, (long) (remainingTime * share) / 1000);
+            if (budget < taskDescription.getMaxExecutionTime()) {
+                log.info("Capping max execution time to contribution deadline " +
+                                "[chainTaskId:{}, stage:{}, maxExecutionTime:{}, budget:{}]",
+                        chainTaskId, stage, taskDescription.getMaxExecutionTime(), budget);
+                return budget;
+            }
+            return taskDescription.getMaxExecutionTime();
+        });
+    }
+
+    /**
+     * Returns the time left until the contribution deadline of a task, minus the time kept for the contribution.
+     */
+    private Optional<Long> getRemainingTime(final String chainTaskId) {
+        final long deadline = taskDeadlineService.getDeadline(chainTaskId, PLEASE_CONTRIBUTE);
+        if (deadline == DeadlineTask.NO_DEADLINE) {
+            return Optional.empty();
+        }
+        return Optional.of(deadline - contributionReserve - System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.utils;
+
+import java.util.Comparator;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task to run on an executor created by {@link ExecutorUtils#newDeadlineThreadPoolExecutor(int, String)}.
+ * <p>
+ * Queued tasks are started earliest deadline first. Tasks sharing the same deadline are started
+ * in the order they have been queued.
+ */
+public class DeadlineTask extends FutureTask<Void> {
+
+    /**
+     * Deadline of tasks which are not bound by any deadline, they are started last.
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    static final Comparator<Runnable> EARLIEST_DEADLINE_FIRST = Comparator
+            .<Runnable>comparingLong(DeadlineTask::deadlineOf)
+            .thenComparingLong(DeadlineTask::sequenceOf);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long deadline;
+    private final long sequence;
+
+    /**
+     * @param deadline Deadline of the task, as a timestamp in milliseconds
+     * @param runnable Work to run
+     */
+    public DeadlineTask(final long deadline, final Runnable runnable) {
+        super(runnable, null);
+        this.deadline = deadline;
+        this.sequence = SEQUENCE.getAndIncrement();
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    private static long deadlineOf(final Runnable runnable) {
+        return runnable instanceof DeadlineTask task ? task.deadline : NO_DEADLINE;
+    }
+
+    private static long sequenceOf(final Runnable runnable) {
+        return runnable instanceof DeadlineTask task ? task.sequence : Long.MAX_VALUE;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,9 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -39,4 +41,36 @@ public class ExecutorUtils {
         executor.initialize();
         return executor;
     }
+
+    public static ThreadPoolTaskExecutor newFixedThreadPoolExecutor(final int poolSize, final String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setKeepAliveSeconds(0);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates a fixed-size pool whose queued tasks are started earliest deadline first.
+     * <p>
+     * Tasks must be queued with {@link ThreadPoolTaskExecutor#execute(Runnable)} as {@link DeadlineTask}s,
+     * other tasks are started after all {@link DeadlineTask}s.
+     * The queue is unbounded, like the one of {@link #newFixedThreadPoolExecutor(int, String)}.
+     */
+    public static ThreadPoolTaskExecutor newDeadlineThreadPoolExecutor(final int poolSize, final String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            protected BlockingQueue<Runnable> createQueue(final int queueCapacity) {
+                return new PriorityBlockingQueue<>(poolSize, DeadlineTask.EARLIEST_DEADLINE_FIRST);
+            }
+        };
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setKeepAliveSeconds(0);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.workflow;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation state of a task, shared by all blocking operations run for this task.
+ * <p>
+ * An operation run with {@link #run(Supplier)} is refused once the token is cancelled,
+ * and the thread running it is interrupted if the token is cancelled while it runs.
+ */
+public class CancellationToken {
+
+    private final Set<Thread> threads = new HashSet<>();
+    private volatile boolean cancelled = false;
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @throws CancellationException if the token is cancelled.
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Task has been cancelled");
+        }
+    }
+
+    /**
+     * Runs a blocking operation of the task in the current thread.
+     * <p>
+     * If the token is cancelled while the operation runs, the current thread is interrupted.
+     * The interrupt status is cleared before returning, so that pooled threads can be reused.
+     *
+     * @param operation Operation to run
+     * @return The result of the operation
+     * @throws CancellationException if the token is cancelled before or while the operation runs.
+     */
+    public <T> T run(final Supplier<T> operation) {
+        final Thread thread = Thread.currentThread();
+        synchronized (this) {
+            throwIfCancelled();
+            threads.add(thread);
+        }
+        try {
+            return operation.get();
+        } finally {
+            synchronized (this) {
+                threads.remove(thread);
+                if (cancelled) {
+                    // clear interrupt triggered by cancel()
+                    Thread.interrupted();
+                }
+            }
+            throwIfCancelled();
+        }
+    }
+
+    /**
+     * Cancels the token and interrupts operations currently running with it.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        threads.forEach(Thread::interrupt);
+    }
+}
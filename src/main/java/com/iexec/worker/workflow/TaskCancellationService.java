@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.workflow;
+
+import com.iexec.common.lifecycle.purge.ExpiringTaskMapFactory;
+import com.iexec.common.lifecycle.purge.Purgeable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Holds the {@link CancellationToken} of each task.
+ * <p>
+ * Pulls, downloads and uploads of a task run with its token, so that an abort stops all of them.
+ * Cancelled tokens are kept when the task is purged, so that operations still in flight for an aborted task
+ * cannot start again with a new token. They expire with the other task data.
+ */
+@Slf4j
+@Service
+public class TaskCancellationService implements Purgeable {
+
+    private final Map<String, CancellationToken> tokens = ExpiringTaskMapFactory.getExpiringTaskMap();
+
+    public CancellationToken getToken(final String chainTaskId) {
+        return tokens.computeIfAbsent(chainTaskId, key -> new CancellationToken());
+    }
+
+    /**
+     * Cancels all blocking operations of a task, running or to come.
+     *
+     * @param chainTaskId ID of the task
+     */
+    public void cancel(final String chainTaskId) {
+        log.info("Cancelling task operations [chainTaskId:{}]", chainTaskId);
+        getToken(chainTaskId).cancel();
+    }
+
+    @Override
+    public boolean purgeTask(final String chainTaskId) {
+        log.debug("purgeTask [chainTaskId:{}]", chainTaskId);
+        tokens.computeIfPresent(chainTaskId, (key, token) -> token.isCancelled() ? token : null);
+        return true;
+    }
+
+    @Override
+    @PreDestroy
+    public void purgeAllTasksData() {
+        log.info("Method purgeAllTasksData() called to perform task data cleanup.");
+        tokens.values().forEach(CancellationToken::cancel);
+        tokens.clear();
+    }
+}
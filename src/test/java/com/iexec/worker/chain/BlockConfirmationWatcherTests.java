@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.chain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockConfirmationWatcherTests {
+
+    private MeterRegistry meterRegistry;
+    private BlockConfirmationWatcher watcher;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        watcher = new BlockConfirmationWatcher(Runnable::run);
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    @Test
+    void shouldConfirmImmediatelyWhenConditionIsAlreadyMet() {
+        final CompletableFuture<Boolean> result = watcher.watch("met", () -> true, Duration.ofSeconds(5));
+
+        assertThat(result).isCompletedWithValue(true);
+        assertThat(watcher.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldCheckConditionOnlyOnNewBlocks() {
+        final AtomicInteger checks = new AtomicInteger();
+        final CompletableFuture<Boolean> result = watcher.watch("third check",
+                () -> checks.incrementAndGet() == 3, Duration.ofSeconds(5));
+
+        assertThat(result).isNotDone();
+        assertThat(meterRegistry.get(BlockConfirmationWatcher.PENDING_METRIC_NAME).gauge().value()).isOne();
+        watcher.onNewBlock(1L);
+        assertThat(result).isNotDone();
+        watcher.onNewBlock(2L);
+        watcher.onNewBlock(3L);
+
+        assertThat(result).isCompletedWithValue(true);
+        assertThat(checks).hasValue(3);
+        assertThat(watcher.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldRetryOnNextBlockWhenCheckFails() {
+        final AtomicInteger checks = new AtomicInteger();
+        final CompletableFuture<Boolean> result = watcher.watch("failing check", () -> {
+            if (checks.incrementAndGet() == 1) {
+                throw new IllegalStateException("node unreachable");
+            }
+            return true;
+        }, Duration.ofSeconds(5));
+
+        assertThat(result).isNotDone();
+        watcher.onNewBlock(1L);
+
+        assertThat(result).isCompletedWithValue(true);
+    }
+
+    @Test
+    void shouldNotConfirmOnTimeout() throws Exception {
+        final CompletableFuture<Boolean> result = watcher.watch("never met", () -> false, Duration.ofMillis(100));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(watcher.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldCheckConditionsOffThreadPublishingBlocks() throws Exception {
+        final BlockConfirmationWatcher asyncWatcher = new BlockConfirmationWatcher();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger checks = new AtomicInteger();
+        try {
+            final CompletableFuture<Boolean> result = asyncWatcher.watch("slow check", () -> {
+                checks.incrementAndGet();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }, Duration.ofSeconds(5));
+
+            asyncWatcher.onNewBlock(1L);
+            asyncWatcher.onNewBlock(2L);
+            assertThat(result).isNotDone();
+            release.countDown();
+
+            assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(checks).hasValue(1);
+        } finally {
+            asyncWatcher.shutdown();
+        }
+    }
+}
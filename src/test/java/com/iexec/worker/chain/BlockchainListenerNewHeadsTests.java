@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import com.iexec.commons.poco.chain.SignerService;
+import com.iexec.worker.chain.event.LatestBlockEvent;
+import com.iexec.worker.config.ConfigServerConfigurationService;
+import com.iexec.worker.config.WorkerConfigurationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.web3j.protocol.http.HttpService;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the {@code newHeads} subscription of {@link BlockchainListener} against a local JSON-RPC stand-in,
+ * which acknowledges {@code eth_subscribe} calls and pushes a single new head.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlockchainListenerNewHeadsTests {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String NEW_HEAD = """
+            {"jsonrpc":"2.0","method":"eth_subscription","params":{"subscription":"0xsub","result":\
+            {"number":"0x1b4","hash":"0xabc","parentHash":"0xdef","timestamp":"0x64"}}}""";
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private ConfigServerConfigurationService configServerConfigurationService;
+    @Mock
+    private SignerService signerService;
+    @Mock
+    private WorkerConfigurationService workerConfigurationService;
+
+    private MeterRegistry meterRegistry;
+    private RpcNodePool rpcNodePool;
+    private NewHeadsServer server;
+    private BlockchainListener blockchainListener;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        // the HTTP node is unreachable, blocks can only come from the subscription
+        rpcNodePool = new RpcNodePool(List.of(new HttpService("http://localhost:1")));
+        server = new NewHeadsServer();
+        server.start();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> server.getPort() != 0);
+        when(configServerConfigurationService.getBlockTime()).thenReturn(Duration.ofSeconds(5));
+        when(signerService.getAddress()).thenReturn("0x1");
+        when(workerConfigurationService.getBlockchainNodeWsUrl()).thenReturn("ws://localhost:" + server.getPort());
+        blockchainListener = new BlockchainListener(applicationEventPublisher, configServerConfigurationService,
+                signerService, workerConfigurationService, rpcNodePool);
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        blockchainListener.unsubscribe();
+        server.stop(1000);
+        Metrics.globalRegistry.clear();
+    }
+
+    @Test
+    void shouldPublishLatestBlockEventOnNewHead() throws Exception {
+        blockchainListener.run();
+
+        assertThat(blockchainListener.isSubscribed()).isTrue();
+        await().atMost(5, TimeUnit.SECONDS).until(blockchainListener::hasRecentHead);
+        final ArgumentCaptor<LatestBlockEvent> captor = ArgumentCaptor.forClass(LatestBlockEvent.class);
+        verify(applicationEventPublisher, timeout(5000)).publishEvent(captor.capture());
+        assertThat(captor.getValue().getBlockNumber()).isEqualTo(436L);
+        assertThat(captor.getValue().getBlockHash()).isEqualTo("0xabc");
+        assertThat(captor.getValue().getBlockTimestamp()).isEqualTo(100L);
+        assertThat(meterRegistry.get(BlockchainListener.BLOCK_RECEIVED_METRIC_NAME).tag("source", "subscription")
+                .counter().count()).isOne();
+        assertThat(meterRegistry.get(BlockchainListener.BLOCK_RECEIVED_METRIC_NAME).tag("source", "polling")
+                .counter().count()).isZero();
+    }
+
+    @Test
+    void shouldFallBackToPollingWhenSubscriptionIsLost() throws Exception {
+        blockchainListener.run();
+        await().atMost(5, TimeUnit.SECONDS).until(blockchainListener::hasRecentHead);
+
+        server.stop(1000);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !blockchainListener.isSubscribed());
+        assertThat(blockchainListener.hasRecentHead()).isFalse();
+    }
+
+    @Test
+    void shouldPollWhenNoWebSocketUrlIsConfigured() throws Exception {
+        when(workerConfigurationService.getBlockchainNodeWsUrl()).thenReturn("");
+        final BlockchainListener pollingListener = new BlockchainListener(applicationEventPublisher,
+                configServerConfigurationService, signerService, workerConfigurationService, rpcNodePool);
+
+        pollingListener.run();
+
+        assertThat(pollingListener.isSubscribed()).isFalse();
+        verifyNoInteractions(applicationEventPublisher);
+        assertThat(server.getConnections()).isEmpty();
+    }
+
+    /**
+     * JSON-RPC stand-in answering {@code eth_subscribe} and pushing a new head right after.
+     */
+    private static class NewHeadsServer extends WebSocketServer {
+        NewHeadsServer() {
+            super(new InetSocketAddress("localhost", 0));
+        }
+
+        @Override
+        public void onOpen(final WebSocket conn, final ClientHandshake handshake) {
+            // nothing to do
+        }
+
+        @Override
+        public void onClose(final WebSocket conn, final int code, final String reason, final boolean remote) {
+            // nothing to do
+        }
+
+        @Override
+        public void onMessage(final WebSocket conn, final String message) {
+            final Matcher matcher = ID_PATTERN.matcher(message);
+            if (message.contains("eth_subscribe") && matcher.find()) {
+                conn.send("{\"jsonrpc\":\"2.0\",\"id\":" + matcher.group(1) + ",\"result\":\"0xsub\"}");
+                conn.send(NEW_HEAD);
+            }
+        }
+
+        @Override
+        public void onError(final WebSocket conn, final Exception ex) {
+            // nothing to do
+        }
+
+        @Override
+        public void onStart() {
+            // nothing to do
+        }
+    }
+}
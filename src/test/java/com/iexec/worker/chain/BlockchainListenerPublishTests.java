@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.chain;
+
+import com.iexec.commons.poco.chain.SignerService;
+import com.iexec.worker.chain.event.LatestBlockEvent;
+import com.iexec.worker.config.ConfigServerConfigurationService;
+import com.iexec.worker.config.WorkerConfigurationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.web3j.protocol.http.HttpService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static com.iexec.worker.chain.BlockchainListener.LATEST_BLOCK_METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks which blocks {@link BlockchainListener} publishes, without any blockchain node.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlockchainListenerPublishTests {
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private ConfigServerConfigurationService configServerConfigurationService;
+    @Mock
+    private SignerService signerService;
+    @Mock
+    private WorkerConfigurationService workerConfigurationService;
+
+    private MeterRegistry meterRegistry;
+    private BlockchainListener blockchainListener;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        when(configServerConfigurationService.getBlockTime()).thenReturn(Duration.ofSeconds(5));
+        when(signerService.getAddress()).thenReturn("0x1");
+        when(workerConfigurationService.getBlockchainNodeWsUrl()).thenReturn("");
+        blockchainListener = new BlockchainListener(applicationEventPublisher, configServerConfigurationService,
+                signerService, workerConfigurationService,
+                new RpcNodePool(List.of(new HttpService("http://localhost:1"))));
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    @Test
+    void shouldPublishEachHeightOnceAndDropOlderBlocks() {
+        assertThat(blockchainListener.publishIfNewer(10, "0xa", 100)).isTrue();
+        assertThat(blockchainListener.publishIfNewer(10, "0xa", 100)).isFalse();
+        assertThat(blockchainListener.publishIfNewer(9, "0x9", 95)).isFalse();
+        assertThat(blockchainListener.publishIfNewer(12, "0xc", 110)).isTrue();
+
+        final ArgumentCaptor<LatestBlockEvent> captor = ArgumentCaptor.forClass(LatestBlockEvent.class);
+        verify(applicationEventPublisher, times(2)).publishEvent(captor.capture());
+        assertThat(captor.getAllValues()).extracting(LatestBlockEvent::getBlockNumber).containsExactly(10L, 12L);
+        assertThat(captor.getAllValues().get(1).getBlockHash()).isEqualTo("0xc");
+        assertThat(meterRegistry.get(LATEST_BLOCK_METRIC_NAME).gauge().value()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldPublishBlocksInIncreasingOrderFromConcurrentThreads() throws InterruptedException {
+        final List<Long> published = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> published.add(invocation.<LatestBlockEvent>getArgument(0).getBlockNumber()))
+                .when(applicationEventPublisher).publishEvent(any(LatestBlockEvent.class));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        LongStream.rangeClosed(1, 1000).forEach(blockNumber ->
+                executor.execute(() -> blockchainListener.publishIfNewer(blockNumber, "0x", blockNumber)));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(published).isSorted().doesNotHaveDuplicates().endsWith(1000L);
+    }
+}
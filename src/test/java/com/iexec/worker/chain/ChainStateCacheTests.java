@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.chain;
+
+import com.iexec.commons.poco.chain.ChainAccount;
+import com.iexec.commons.poco.chain.ChainDeal;
+import com.iexec.commons.poco.chain.ChainTask;
+import com.iexec.commons.poco.chain.ChainTaskStatus;
+import com.iexec.worker.chain.event.LatestBlockEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChainStateCacheTests {
+
+    private static final String CHAIN_TASK_ID = "0x1";
+    private static final String CHAIN_DEAL_ID = "0x2";
+
+    @Mock
+    private IexecHubService iexecHubService;
+    @Mock
+    private Web3jService web3jService;
+
+    private MeterRegistry meterRegistry;
+    private ChainStateCache chainStateCache;
+
+    private final ChainTask chainTask = ChainTask.builder()
+            .dealid(CHAIN_DEAL_ID)
+            .status(ChainTaskStatus.ACTIVE)
+            .build();
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        when(web3jService.getBlockTime()).thenReturn(Duration.ofSeconds(5));
+        chainStateCache = new ChainStateCache(iexecHubService, web3jService);
+        chainStateCache.onLatestBlockEvent(new LatestBlockEvent(this, 10L, "0xabc", 0L));
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    @Test
+    void shouldServeReadsFromSnapshotOfCurrentBlock() {
+        when(iexecHubService.getChainTask(CHAIN_TASK_ID)).thenReturn(Optional.of(chainTask));
+        when(iexecHubService.getChainDeal(CHAIN_DEAL_ID))
+                .thenReturn(Optional.of(ChainDeal.builder().workerStake(BigInteger.ONE).build()));
+        when(iexecHubService.getChainAccount()).thenReturn(Optional.of(ChainAccount.builder().deposit(10).build()));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(chainStateCache.getChainTask(CHAIN_TASK_ID)).contains(chainTask);
+            assertThat(chainStateCache.getChainDeal(CHAIN_DEAL_ID)).isPresent();
+            assertThat(chainStateCache.getChainAccount()).isPresent();
+        }
+
+        verify(iexecHubService).getChainTask(CHAIN_TASK_ID);
+        verify(iexecHubService).getChainDeal(CHAIN_DEAL_ID);
+        verify(iexecHubService).getChainAccount();
+        assertThat(meterRegistry.get(ChainStateCache.CACHE_METRIC_NAME).tag("result", "hit").counter().count())
+                .isEqualTo(6);
+        assertThat(meterRegistry.get(ChainStateCache.CACHE_METRIC_NAME).tag("result", "miss").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldReadAgainOnNewBlock() {
+        when(iexecHubService.getChainTask(CHAIN_TASK_ID)).thenReturn(Optional.of(chainTask));
+
+        chainStateCache.getChainTask(CHAIN_TASK_ID);
+        chainStateCache.onLatestBlockEvent(new LatestBlockEvent(this, 10L, "0xabc", 0L));
+        chainStateCache.getChainTask(CHAIN_TASK_ID);
+        chainStateCache.onLatestBlockEvent(new LatestBlockEvent(this, 11L, "0xdef", 0L));
+        chainStateCache.getChainTask(CHAIN_TASK_ID);
+
+        verify(iexecHubService, times(2)).getChainTask(CHAIN_TASK_ID);
+    }
+
+    @Test
+    void shouldNotCacheFailedReads() {
+        when(iexecHubService.getChainTask(CHAIN_TASK_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(chainTask));
+
+        assertThat(chainStateCache.getChainTask(CHAIN_TASK_ID)).isEmpty();
+        assertThat(chainStateCache.getChainTask(CHAIN_TASK_ID)).contains(chainTask);
+        assertThat(chainStateCache.getChainTask(CHAIN_TASK_ID)).contains(chainTask);
+
+        verify(iexecHubService, times(2)).getChainTask(CHAIN_TASK_ID);
+    }
+}
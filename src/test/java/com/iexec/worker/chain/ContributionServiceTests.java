@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.web3j.crypto.Credentials;
 
 import java.math.BigInteger;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -43,8 +44,10 @@ import java.util.Optional;
 
 import static com.iexec.common.replicate.ReplicateStatusCause.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -64,6 +67,8 @@ class ContributionServiceTests {
     private WorkerpoolAuthorizationService workerpoolAuthorizationService;
     @Mock
     private EnclaveAuthorizationService enclaveAuthorizationService;
+    @Mock
+    private Web3jService web3jService;
 
     private ContributionService contributionService;
 
@@ -85,7 +90,9 @@ class ContributionServiceTests {
 
     @BeforeEach
     void beforeEach() {
-        contributionService = new ContributionService(iexecHubService, workerpoolAuthorizationService, enclaveAuthorizationService, WORKER_WALLET_ADDRESS);
+        when(web3jService.getBlockTime()).thenReturn(Duration.ofSeconds(5));
+        final ChainStateCache chainStateCache = new ChainStateCache(iexecHubService, web3jService);
+        contributionService = new ContributionService(iexecHubService, chainStateCache, workerpoolAuthorizationService, enclaveAuthorizationService, WORKER_WALLET_ADDRESS);
     }
 
     @Test
@@ -498,6 +505,100 @@ class ContributionServiceTests {
 
     }
 
+    // region prepareContribution
+    @Test
+    void shouldPrepareContributionAndSignContributeTransaction() {
+        final ComputedFile computedFile = ComputedFile.builder()
+                .taskId(CHAIN_TASK_ID)
+                .resultDigest("0x0000000000000000000000000000000000000000000000000000000000000002")
+                .build();
+        final IexecHubService.SignedTransaction signedTransaction =
+                new IexecHubService.SignedTransaction("0xdata", BigInteger.TEN, BigInteger.ONE, "signedTx");
+        when(workerpoolAuthorizationService.getWorkerpoolAuthorization(CHAIN_TASK_ID)).thenReturn(getTeeWorkerpoolAuth());
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .trust(BigInteger.TWO)
+                .build());
+        when(iexecHubService.signContribute(any())).thenReturn(Optional.of(signedTransaction));
+
+        contributionService.prepareContribution(computedFile);
+        final Contribution contribution = contributionService.getPreparedContribution(CHAIN_TASK_ID).orElseThrow();
+        contributionService.contribute(contribution);
+
+        assertThat(contribution).isEqualTo(contributionService.getContribution(computedFile));
+        verify(iexecHubService).contribute(contribution, signedTransaction);
+    }
+
+    @Test
+    void shouldPrepareContributionWithoutSigningWhenTaskIsContributedAndFinalized() {
+        final ComputedFile computedFile = ComputedFile.builder()
+                .taskId(CHAIN_TASK_ID)
+                .resultDigest("0x0000000000000000000000000000000000000000000000000000000000000002")
+                .enclaveSignature("0xenclaveSignature")
+                .build();
+        when(workerpoolAuthorizationService.getWorkerpoolAuthorization(CHAIN_TASK_ID)).thenReturn(getTeeWorkerpoolAuth());
+        when(enclaveAuthorizationService.
+                isVerifiedEnclaveSignature(anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(true);
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(getTaskDescription(OrderTag.TEE_SCONE));
+
+        contributionService.prepareContribution(computedFile);
+
+        assertThat(contributionService.getPreparedContribution(CHAIN_TASK_ID)).isPresent();
+        verify(iexecHubService, never()).signContribute(any());
+    }
+
+    @Test
+    void shouldNotFailWhenTaskDescriptionIsMissingWhilePreparingContribution() {
+        final ComputedFile computedFile = ComputedFile.builder()
+                .taskId(CHAIN_TASK_ID)
+                .resultDigest("0x0000000000000000000000000000000000000000000000000000000000000002")
+                .build();
+        when(workerpoolAuthorizationService.getWorkerpoolAuthorization(CHAIN_TASK_ID)).thenReturn(getTeeWorkerpoolAuth());
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(null);
+
+        assertThatCode(() -> contributionService.prepareContribution(computedFile)).doesNotThrowAnyException();
+
+        assertThat(contributionService.getPreparedContribution(CHAIN_TASK_ID)).isEmpty();
+        verify(iexecHubService, never()).signContribute(any());
+    }
+
+    @Test
+    void shouldPrepareContributionWithoutSignedTransactionWhenSigningFails() {
+        final ComputedFile computedFile = ComputedFile.builder()
+                .taskId(CHAIN_TASK_ID)
+                .resultDigest("0x0000000000000000000000000000000000000000000000000000000000000002")
+                .build();
+        when(workerpoolAuthorizationService.getWorkerpoolAuthorization(CHAIN_TASK_ID)).thenReturn(getTeeWorkerpoolAuth());
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .trust(BigInteger.TWO)
+                .build());
+        when(iexecHubService.signContribute(any())).thenThrow(new IllegalStateException("chain read failed"));
+
+        contributionService.prepareContribution(computedFile);
+        final Contribution contribution = contributionService.getPreparedContribution(CHAIN_TASK_ID).orElseThrow();
+        contributionService.contribute(contribution);
+
+        verify(iexecHubService).contribute(contribution, null);
+    }
+
+    @Test
+    void shouldNotKeepPreparedContributionOncePurged() {
+        final ComputedFile computedFile = ComputedFile.builder()
+                .taskId(CHAIN_TASK_ID)
+                .resultDigest("0x0000000000000000000000000000000000000000000000000000000000000002")
+                .build();
+        when(workerpoolAuthorizationService.getWorkerpoolAuthorization(CHAIN_TASK_ID)).thenReturn(getTeeWorkerpoolAuth());
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(getTaskDescription(OrderTag.STANDARD));
+
+        contributionService.prepareContribution(computedFile);
+        contributionService.purgeTask(CHAIN_TASK_ID);
+
+        assertThat(contributionService.getPreparedContribution(CHAIN_TASK_ID)).isEmpty();
+    }
+    // endregion
+
     private WorkerpoolAuthorization getTeeWorkerpoolAuth() {
         final String hash = HashUtils.concatenateAndHash(WORKER_WALLET_ADDRESS, CHAIN_TASK_ID, ENCLAVE_ADDRESS);
         final Signature signature = SignatureUtils.signMessageHashAndGetSignature(hash, POOL_PRIVATE);
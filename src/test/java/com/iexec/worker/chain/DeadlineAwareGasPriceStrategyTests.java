@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import com.iexec.worker.config.WorkerConfigurationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineAwareGasPriceStrategyTests {
+
+    private static final Duration BLOCK_TIME = Duration.ofSeconds(5);
+    private static final BigInteger CONFIGURED_GAS_PRICE = BigInteger.valueOf(20);
+    private static final BigInteger NETWORK_GAS_PRICE = BigInteger.TEN;
+    private static final long GAS_PRICE_CAP = 100;
+
+    @Mock
+    private Web3jService web3jService;
+    @Mock
+    private WorkerConfigurationService workerConfigurationService;
+    @Mock
+    private Web3j web3j;
+
+    private DeadlineAwareGasPriceStrategy gasPriceStrategy;
+
+    @BeforeEach
+    void init() {
+        when(workerConfigurationService.getGasPriceCap()).thenReturn(GAS_PRICE_CAP);
+        gasPriceStrategy = new DeadlineAwareGasPriceStrategy(web3jService, workerConfigurationService);
+    }
+
+    private long getDeadline(final long blocksLeft) {
+        return System.currentTimeMillis() + BLOCK_TIME.multipliedBy(blocksLeft).toMillis();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Request<?, EthGasPrice> mockNetworkGasPriceRequest() {
+        final Request<?, EthGasPrice> request = mock(Request.class);
+        doReturn(request).when(web3j).ethGasPrice();
+        when(web3jService.getWeb3j()).thenReturn(web3j);
+        return request;
+    }
+
+    private void mockNetworkGasPrice(final EthGasPrice ethGasPrice) throws IOException {
+        when(mockNetworkGasPriceRequest().send()).thenReturn(ethGasPrice);
+    }
+
+    private static EthGasPrice ethGasPrice(final BigInteger gasPrice) {
+        final EthGasPrice ethGasPrice = new EthGasPrice();
+        ethGasPrice.setResult("0x" + gasPrice.toString(16));
+        return ethGasPrice;
+    }
+
+    // region getGasPrice
+    @Test
+    void shouldUseConfiguredGasPriceWhenDeadlineIsUnknown() {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        assertThat(gasPriceStrategy.getGasPrice(0L)).isEqualTo(CONFIGURED_GAS_PRICE);
+    }
+
+    @Test
+    void shouldUseNetworkGasPriceWhenDeadlineIsFar() throws IOException {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        when(web3jService.getBlockTime()).thenReturn(BLOCK_TIME);
+        mockNetworkGasPrice(ethGasPrice(NETWORK_GAS_PRICE));
+        assertThat(gasPriceStrategy.getGasPrice(getDeadline(100))).isEqualTo(NETWORK_GAS_PRICE);
+    }
+
+    @Test
+    void shouldNotUseNetworkGasPriceAboveConfiguredGasPrice() throws IOException {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        when(web3jService.getBlockTime()).thenReturn(BLOCK_TIME);
+        mockNetworkGasPrice(ethGasPrice(BigInteger.valueOf(GAS_PRICE_CAP)));
+        assertThat(gasPriceStrategy.getGasPrice(getDeadline(100))).isEqualTo(CONFIGURED_GAS_PRICE);
+    }
+
+    @Test
+    void shouldUseConfiguredGasPriceWhenNetworkGasPriceCannotBeRead() throws IOException {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        when(web3jService.getBlockTime()).thenReturn(BLOCK_TIME);
+        when(mockNetworkGasPriceRequest().send()).thenThrow(new IOException("unreachable"));
+        assertThat(gasPriceStrategy.getGasPrice(getDeadline(100))).isEqualTo(CONFIGURED_GAS_PRICE);
+    }
+
+    @Test
+    void shouldRaiseGasPriceWhenDeadlineGetsClose() {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        when(web3jService.getBlockTime()).thenReturn(BLOCK_TIME);
+        assertThat(gasPriceStrategy.getGasPrice(getDeadline(10)))
+                .isGreaterThan(CONFIGURED_GAS_PRICE)
+                .isLessThan(BigInteger.valueOf(GAS_PRICE_CAP));
+    }
+
+    @Test
+    void shouldUseGasPriceCapWhenDeadlineIsImminent() {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        when(web3jService.getBlockTime()).thenReturn(BLOCK_TIME);
+        assertThat(gasPriceStrategy.getGasPrice(getDeadline(2))).isEqualTo(BigInteger.valueOf(GAS_PRICE_CAP));
+    }
+
+    @Test
+    void shouldKeepZeroGasPriceWhenDeadlineIsImminent() {
+        when(web3jService.getUserGasPrice()).thenReturn(BigInteger.ZERO);
+        assertThat(gasPriceStrategy.getGasPrice(getDeadline(2))).isZero();
+    }
+    // endregion
+
+    // region getReplacementGasPrice
+    @Test
+    void shouldBumpGasPriceOfReplacement() {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        assertThat(gasPriceStrategy.getReplacementGasPrice(CONFIGURED_GAS_PRICE, 0L))
+                .contains(BigInteger.valueOf(23));
+    }
+
+    @Test
+    void shouldUseDeadlineGasPriceOfReplacementWhenHigherThanBump() {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        when(web3jService.getBlockTime()).thenReturn(BLOCK_TIME);
+        assertThat(gasPriceStrategy.getReplacementGasPrice(NETWORK_GAS_PRICE, getDeadline(2)))
+                .contains(BigInteger.valueOf(GAS_PRICE_CAP));
+    }
+
+    @Test
+    void shouldNotReplaceAboveGasPriceCap() {
+        when(web3jService.getUserGasPrice()).thenReturn(CONFIGURED_GAS_PRICE);
+        assertThat(gasPriceStrategy.getReplacementGasPrice(BigInteger.valueOf(90), 0L)).isEmpty();
+    }
+
+    @Test
+    void shouldNotReplaceTransactionWithZeroGasPrice() {
+        assertThat(gasPriceStrategy.getReplacementGasPrice(BigInteger.ZERO, 0L)).isEmpty();
+    }
+    // endregion
+}
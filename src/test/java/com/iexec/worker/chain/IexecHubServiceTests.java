@@ -1,5 +1,5 @@
 /*
- * Copyright 2023-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2023-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,21 +19,39 @@ package com.iexec.worker.chain;
 import com.iexec.commons.poco.chain.ChainContribution;
 import com.iexec.commons.poco.chain.ChainContributionStatus;
 import com.iexec.commons.poco.chain.ChainReceipt;
+import com.iexec.commons.poco.chain.ChainTask;
+import com.iexec.commons.poco.chain.ChainTaskStatus;
 import com.iexec.commons.poco.chain.SignerService;
 import com.iexec.commons.poco.encoding.LogTopic;
+import com.iexec.worker.chain.event.LatestBlockEvent;
 import com.iexec.worker.config.ConfigServerConfigurationService;
+import com.iexec.worker.config.WorkerConfigurationService;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.DynamicStruct;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.Keys;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
@@ -44,9 +62,13 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -59,6 +81,9 @@ class IexecHubServiceTests {
     private static final String RESULT_DIGEST = "0x456";
     private static final String RESULT_HASH = "0x789";
     private static final String RESULT_SEAL = "0xabc";
+    private static final String RESULT_DIGEST_32 = "0x0000000000000000000000000000000000000000000000000000000000000007";
+    private static final String WORKER_ADDRESS = "0x748e091bf16048cb5103e0e10f9d5a8b7fbdd860";
+    private static final String MULTICALL_ADDRESS = "0xca11bde05977b3631167028862be2a173976ca11";
     private static final String CALLBACK_GAS_IN_HEX = "0x30D40"; // hexadecimal value for 200_000
 
     @Mock
@@ -71,6 +96,14 @@ class IexecHubServiceTests {
     private Web3jService web3jService;
     @Mock
     private Web3j web3jClient;
+    @Mock
+    private WorkerConfigurationService workerConfigurationService;
+    @Mock
+    private RpcNodePool rpcNodePool;
+    @Mock
+    private GasPriceStrategy gasPriceStrategy;
+    @Mock
+    private ChainStateCache chainStateCache;
     private IexecHubService iexecHubService;
     private Credentials credentials;
 
@@ -80,7 +113,8 @@ class IexecHubServiceTests {
         credentials = Credentials.create(Keys.createEcKeyPair());
         when(signerService.getCredentials()).thenReturn(credentials);
         when(web3jService.getWeb3j()).thenReturn(web3jClient);
-        iexecHubService = spy(new IexecHubService(signerService, web3jService, configServerConfigurationService));
+        iexecHubService = spy(new IexecHubService(signerService, web3jService, configServerConfigurationService,
+                workerConfigurationService, rpcNodePool, gasPriceStrategy, chainStateCache));
         ReflectionTestUtils.setField(iexecHubService, "txReceiptProcessor", txReceiptProcessor);
     }
 
@@ -122,6 +156,147 @@ class IexecHubServiceTests {
         assertThat(response).isNotNull();
     }
 
+    @Test
+    void shouldSignContributeWithoutSendingIt() throws IOException {
+        when(signerService.getNonce()).thenReturn(BigInteger.TEN);
+        when(signerService.signTransaction(eq(BigInteger.TEN), any(), any(), any(), any())).thenReturn("signedTx");
+
+        final Optional<IexecHubService.SignedTransaction> signedTransaction =
+                iexecHubService.signContribute(getContribution());
+
+        assertThat(signedTransaction).isPresent();
+        assertThat(signedTransaction.get().nonce()).isEqualTo(BigInteger.TEN);
+        assertThat(signedTransaction.get().signedTx()).isEqualTo("signedTx");
+        verify(signerService, never()).signAndSendTransaction(any(), any(), any(), any(), any());
+        verify(signerService, never()).sendSignedTransaction(any());
+    }
+
+    @Test
+    void shouldContributeWithPreSignedTransaction() throws IOException, TransactionException {
+        when(signerService.getNonce()).thenReturn(BigInteger.TEN);
+        when(gasPriceStrategy.getGasPrice(anyLong())).thenReturn(BigInteger.ONE);
+        when(signerService.sendSignedTransaction("signedTx")).thenReturn("txHash");
+        when(txReceiptProcessor.waitForTransactionReceipt("txHash")).thenReturn(createReceiptWithoutLogs(List.of()));
+
+        iexecHubService.contribute(getContribution(),
+                new IexecHubService.SignedTransaction("0xdata", BigInteger.TEN, BigInteger.ONE, "signedTx"));
+
+        verify(signerService).sendSignedTransaction("signedTx");
+        verify(signerService, never()).signAndSendTransaction(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldSignContributeAgainWhenNonceHasChanged() throws IOException, TransactionException {
+        mockTransaction(createReceiptWithoutLogs(List.of()));
+
+        iexecHubService.contribute(getContribution(),
+                new IexecHubService.SignedTransaction("0xdata", BigInteger.ONE, BigInteger.ONE, "signedTx"));
+
+        verify(signerService).signAndSendTransaction(eq(BigInteger.TEN), any(), any(), any(), eq("0xdata"));
+        verify(signerService, never()).sendSignedTransaction(any());
+    }
+
+    @Test
+    void shouldSignContributeAgainWhenGasPriceHasMoved() throws IOException, TransactionException {
+        mockTransaction(createReceiptWithoutLogs(List.of()));
+        when(gasPriceStrategy.getGasPrice(anyLong())).thenReturn(BigInteger.TWO);
+
+        iexecHubService.contribute(getContribution(),
+                new IexecHubService.SignedTransaction("0xdata", BigInteger.TEN, BigInteger.ONE, "signedTx"));
+
+        verify(signerService).signAndSendTransaction(eq(BigInteger.TEN), eq(BigInteger.TWO), any(), any(), eq("0xdata"));
+        verify(signerService, never()).sendSignedTransaction(any());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"100,100,true", "110,100,true", "99,100,false", "111,100,false", "0,0,true"})
+    void shouldCheckWhetherPreSignedGasPriceIsCurrent(final long signedGasPrice, final long gasPrice,
+                                                      final boolean expected) {
+        assertThat(IexecHubService.isGasPriceCurrent(BigInteger.valueOf(signedGasPrice), BigInteger.valueOf(gasPrice)))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void shouldSendConcurrentTransactionsWithConsecutiveNonces() throws IOException, TransactionException {
+        mockTransaction(createReceiptWithoutLogs(List.of()));
+
+        iexecHubService.reveal(CHAIN_TASK_ID, RESULT_DIGEST);
+        iexecHubService.contribute(getContribution());
+
+        verify(signerService).getNonce();
+        verify(signerService).signAndSendTransaction(eq(BigInteger.TEN), any(), any(), any(), any());
+        verify(signerService).signAndSendTransaction(eq(BigInteger.valueOf(11)), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldGetGasPriceBeforeNonce() throws IOException, TransactionException {
+        mockTransaction(createReceiptWithoutLogs(List.of()));
+        when(gasPriceStrategy.getGasPrice(anyLong())).thenReturn(BigInteger.ONE);
+
+        iexecHubService.contribute(getContribution());
+
+        final InOrder inOrder = inOrder(gasPriceStrategy, signerService);
+        inOrder.verify(gasPriceStrategy).getGasPrice(anyLong());
+        inOrder.verify(signerService).getNonce();
+        inOrder.verify(signerService).signAndSendTransaction(eq(BigInteger.TEN), eq(BigInteger.ONE), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockStuckTransaction(final String txHash) throws IOException, TransactionException {
+        final Request<?, EthGetTransactionReceipt> request = mock(Request.class);
+        when(request.send()).thenReturn(new EthGetTransactionReceipt());
+        doReturn(request).when(web3jClient).ethGetTransactionReceipt(txHash);
+        when(txReceiptProcessor.waitForTransactionReceipt(txHash)).thenThrow(new TransactionException("timeout"));
+    }
+
+    @Test
+    void shouldReplaceStuckTransactionAtHigherGasPrice() throws IOException, TransactionException {
+        final long revealDeadline = System.currentTimeMillis() + 60_000;
+        when(chainStateCache.getChainTask(CHAIN_TASK_ID))
+                .thenReturn(Optional.of(ChainTask.builder().revealDeadline(revealDeadline).build()));
+        when(gasPriceStrategy.getGasPrice(revealDeadline)).thenReturn(BigInteger.ONE);
+        when(gasPriceStrategy.getReplacementGasPrice(BigInteger.ONE, revealDeadline))
+                .thenReturn(Optional.of(BigInteger.TWO));
+        when(signerService.getNonce()).thenReturn(BigInteger.TEN);
+        when(signerService.signAndSendTransaction(any(), eq(BigInteger.ONE), any(), any(), any()))
+                .thenReturn("stuckTxHash");
+        when(signerService.signAndSendTransaction(any(), eq(BigInteger.TWO), any(), any(), any()))
+                .thenReturn("txHash");
+        mockStuckTransaction("stuckTxHash");
+        when(txReceiptProcessor.waitForTransactionReceipt("txHash")).thenReturn(createReceiptWithoutLogs(List.of()));
+
+        iexecHubService.reveal(CHAIN_TASK_ID, RESULT_DIGEST);
+
+        verify(signerService).signAndSendTransaction(eq(BigInteger.TEN), eq(BigInteger.ONE), any(), any(), any());
+        verify(signerService).signAndSendTransaction(eq(BigInteger.TEN), eq(BigInteger.TWO), any(), any(), any());
+        verify(signerService).getNonce();
+        verify(iexecHubService, never()).getChainTask(any());
+    }
+
+    @Test
+    void shouldNotReplaceStuckTransactionWithoutReplacementGasPrice() throws IOException, TransactionException {
+        when(gasPriceStrategy.getGasPrice(0L)).thenReturn(BigInteger.ONE);
+        when(gasPriceStrategy.getReplacementGasPrice(BigInteger.ONE, 0L)).thenReturn(Optional.empty());
+        when(signerService.getNonce()).thenReturn(BigInteger.TEN);
+        when(signerService.signAndSendTransaction(any(), any(), any(), any(), any())).thenReturn("stuckTxHash");
+        mockStuckTransaction("stuckTxHash");
+
+        assertThat(iexecHubService.reveal(CHAIN_TASK_ID, RESULT_DIGEST)).isNull();
+
+        verify(signerService).signAndSendTransaction(any(), any(), any(), any(), any());
+    }
+
+    private Contribution getContribution() {
+        return Contribution.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .enclaveChallenge(ENCLAVE_CHALLENGE)
+                .enclaveSignature("enclaveSignature")
+                .resultHash(RESULT_HASH)
+                .resultSeal(RESULT_SEAL)
+                .workerPoolSignature("workerPoolSignature")
+                .build();
+    }
+
     @Test
     void shouldNotContributeOnIOException() throws IOException {
         final Contribution contribution = Contribution.builder()
@@ -248,6 +423,26 @@ class IexecHubServiceTests {
         assertThat(iexecHubService.isSuccessTx(CHAIN_TASK_ID, log, ChainContributionStatus.CONTRIBUTED)).isFalse();
     }
 
+    @Test
+    void shouldTxBeSuccessWhenStatusIsReachedOnNewBlock() throws Exception {
+        Log log = new Log();
+        log.setType("pending");
+        ChainContribution chainContribution = ChainContribution.builder().status(ChainContributionStatus.CONTRIBUTED).build();
+        when(web3jService.getBlockTime()).thenReturn(Duration.ofSeconds(5L));
+        doReturn(Optional.empty()).doReturn(Optional.of(chainContribution))
+                .when(iexecHubService).getChainContribution(CHAIN_TASK_ID);
+
+        final CompletableFuture<Boolean> isSuccess = CompletableFuture.supplyAsync(
+                () -> iexecHubService.isSuccessTx(CHAIN_TASK_ID, log, ChainContributionStatus.CONTRIBUTED));
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> verify(iexecHubService).getChainContribution(CHAIN_TASK_ID));
+        assertThat(isSuccess).isNotDone();
+        iexecHubService.onLatestBlockEvent(new LatestBlockEvent(this, 10L, "0x10", 0L));
+
+        assertThat(isSuccess.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(iexecHubService, times(2)).getChainContribution(CHAIN_TASK_ID);
+    }
+
     @ParameterizedTest
     @EnumSource(value = ChainContributionStatus.class)
     void test(ChainContributionStatus chainContributionStatus) {
@@ -259,4 +454,62 @@ class IexecHubServiceTests {
         assertThat(iexecHubService.isSuccessTx(CHAIN_TASK_ID, log, chainContributionStatus)).isTrue();
     }
     // endregion
+
+    // region getChainTasks
+    private static String encodeRevealingTask(final long revealDeadline) {
+        final Bytes32 bytes32 = new Bytes32(Numeric.hexStringToByteArray(RESULT_DIGEST_32));
+        return FunctionEncoder.encodeConstructor(List.of(new DynamicStruct(
+                new Uint8(ChainTaskStatus.REVEALING.ordinal()), bytes32, new Uint256(1), new Uint256(100),
+                new Uint256(200), new Uint256(revealDeadline), new Uint256(400), bytes32, new Uint256(0),
+                new Uint256(1), new DynamicArray<>(Address.class, List.of(new Address(WORKER_ADDRESS))),
+                bytes32, new DynamicBytes(new byte[0]), new Uint256(0), new DynamicBytes(new byte[0]))));
+    }
+
+    @Test
+    void shouldDecodeChainTask() {
+        final ChainTask chainTask = IexecHubService.decodeChainTask(encodeRevealingTask(300));
+
+        assertThat(chainTask.getStatus()).isEqualTo(ChainTaskStatus.REVEALING);
+        assertThat(chainTask.getDealid()).isEqualTo(RESULT_DIGEST_32);
+        assertThat(chainTask.getIdx()).isOne();
+        assertThat(chainTask.getContributionDeadline()).isEqualTo(200_000L);
+        assertThat(chainTask.getRevealDeadline()).isEqualTo(300_000L);
+        assertThat(chainTask.getFinalDeadline()).isEqualTo(400_000L);
+        assertThat(chainTask.getConsensusValue()).isEqualTo(RESULT_DIGEST_32);
+        assertThat(chainTask.getContributors()).containsExactly(WORKER_ADDRESS);
+        assertThat(chainTask.getResultDigest()).isEqualTo(RESULT_DIGEST_32);
+    }
+
+    @Test
+    void shouldReadChainTasksWithMulticall() throws IOException {
+        when(workerConfigurationService.getMulticallAddress()).thenReturn(MULTICALL_ADDRESS);
+        final IexecHubService multicallHubService = spy(new IexecHubService(
+                signerService, web3jService, configServerConfigurationService, workerConfigurationService, rpcNodePool,
+                gasPriceStrategy, chainStateCache));
+        // local stand-in of the aggregator, returning a task and a failed call
+        final EthCall ethCall = new EthCall();
+        ethCall.setResult(FunctionEncoder.encodeConstructor(List.of(new DynamicArray<>(MulticallReader.Result.class,
+                new MulticallReader.Result(new Bool(true),
+                        new DynamicBytes(Numeric.hexStringToByteArray(encodeRevealingTask(300)))),
+                new MulticallReader.Result(new Bool(false), new DynamicBytes(new byte[0]))))));
+        when(rpcNodePool.send(any(), eq(EthCall.class))).thenReturn(ethCall);
+
+        final Map<String, ChainTask> chainTasks = multicallHubService.getChainTasks(List.of(CHAIN_TASK_ID, "0x1"));
+
+        assertThat(chainTasks).containsOnlyKeys(CHAIN_TASK_ID);
+        assertThat(chainTasks.get(CHAIN_TASK_ID).getStatus()).isEqualTo(ChainTaskStatus.REVEALING);
+        verify(rpcNodePool).send(argThat(request -> request.getMethod().equals("eth_call")), eq(EthCall.class));
+        verify(multicallHubService, never()).getChainTask(any());
+    }
+
+    @Test
+    void shouldReadChainTasksOneByOneWithoutMulticall() {
+        final ChainTask chainTask = ChainTask.builder().status(ChainTaskStatus.ACTIVE).build();
+        doReturn(Optional.of(chainTask)).when(iexecHubService).getChainTask(CHAIN_TASK_ID);
+        doReturn(Optional.empty()).when(iexecHubService).getChainTask("0x1");
+
+        assertThat(iexecHubService.getChainTasks(List.of(CHAIN_TASK_ID, "0x1")))
+                .containsExactly(Map.entry(CHAIN_TASK_ID, chainTask));
+    }
+    // endregion
 }
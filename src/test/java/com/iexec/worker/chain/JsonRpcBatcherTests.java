@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JsonRpcBatcherTests {
+
+    @Mock
+    private Web3jService transport;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    private Request<?, EthBlockNumber> newRequest(final JsonRpcBatcher batcher) {
+        return new Request<>("eth_blockNumber", List.of(), batcher, EthBlockNumber.class);
+    }
+
+    private static EthBlockNumber newResponse(final long id) {
+        final EthBlockNumber response = new EthBlockNumber();
+        response.setId(id);
+        response.setResult("0x" + Long.toHexString(id));
+        return response;
+    }
+
+    private void answerBatches() throws IOException {
+        when(transport.sendBatch(any())).thenAnswer(invocation -> {
+            final BatchRequest batchRequest = invocation.getArgument(0);
+            final List<? extends Response<?>> responses = batchRequest.getRequests().stream()
+                    .map(request -> newResponse(request.getId()))
+                    .toList();
+            return new BatchResponse(batchRequest.getRequests(), responses);
+        });
+    }
+
+    @Test
+    void shouldGroupConcurrentRequestsInOneBatch() throws Exception {
+        answerBatches();
+        final JsonRpcBatcher batcher = new JsonRpcBatcher(transport, Duration.ofMillis(100), 16);
+        final List<Request<?, EthBlockNumber>> requests = IntStream.range(0, 3).mapToObj(i -> newRequest(batcher)).toList();
+
+        final List<CompletableFuture<EthBlockNumber>> responses = requests.stream().map(Request::sendAsync).toList();
+
+        for (int i = 0; i < requests.size(); i++) {
+            assertThat(responses.get(i).get(5, TimeUnit.SECONDS).getId()).isEqualTo(requests.get(i).getId());
+        }
+        verify(transport).sendBatch(any());
+        verify(transport, never()).send(any(), any());
+        assertThat(meterRegistry.get(JsonRpcBatcher.BATCH_SIZE_METRIC_NAME).summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get(JsonRpcBatcher.SAVED_REQUESTS_METRIC_NAME).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSendBatchWhenFullWithoutWaitingForWindow() throws Exception {
+        answerBatches();
+        final JsonRpcBatcher batcher = new JsonRpcBatcher(transport, Duration.ofMinutes(1), 2);
+
+        final CompletableFuture<EthBlockNumber> first = newRequest(batcher).sendAsync();
+        final CompletableFuture<EthBlockNumber> second = newRequest(batcher).sendAsync();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+        verify(transport).sendBatch(any());
+    }
+
+    @Test
+    void shouldSendSingleRequestWithoutBatch() throws Exception {
+        final JsonRpcBatcher batcher = new JsonRpcBatcher(transport, Duration.ofMillis(10), 16);
+        final Request<?, EthBlockNumber> request = newRequest(batcher);
+        when(transport.send(request, EthBlockNumber.class)).thenReturn(newResponse(request.getId()));
+
+        assertThat(request.send().getBlockNumber().longValue()).isEqualTo(request.getId());
+
+        verify(transport, never()).sendBatch(any());
+        assertThat(meterRegistry.get(JsonRpcBatcher.SAVED_REQUESTS_METRIC_NAME).counter().count()).isZero();
+    }
+
+    @Test
+    void shouldFailAllRequestsWhenBatchFails() throws Exception {
+        when(transport.sendBatch(any())).thenThrow(new IOException("connection refused"));
+        final JsonRpcBatcher batcher = new JsonRpcBatcher(transport, Duration.ofMillis(100), 16);
+        final Request<?, EthBlockNumber> first = newRequest(batcher);
+        final Request<?, EthBlockNumber> second = newRequest(batcher);
+
+        final CompletableFuture<EthBlockNumber> firstResponse = first.sendAsync();
+
+        assertThatThrownBy(second::send).isInstanceOf(IOException.class).hasMessage("connection refused");
+        assertThat(firstResponse).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicArray;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MulticallReaderTests {
+
+    private static final String MULTICALL_ADDRESS = "0xca11bde05977b3631167028862be2a173976ca11";
+    private static final String HUB_ADDRESS = "0x748e091bf16048cb5103e0e10f9d5a8b7fbdd860";
+    private static final List<MulticallReader.Call> CALLS = List.of(
+            new MulticallReader.Call(HUB_ADDRESS, "0xadccf0d5"),
+            new MulticallReader.Call(HUB_ADDRESS, "0xe741363b"));
+
+    @Mock
+    private Web3j web3j;
+    @Mock
+    private Request<?, EthCall> request;
+
+    private MulticallReader multicallReader;
+
+    @BeforeEach
+    void init() {
+        multicallReader = new MulticallReader(web3j, MULTICALL_ADDRESS);
+        doReturn(request).when(web3j).ethCall(any(), any());
+    }
+
+    private static EthCall newEthCall(final MulticallReader.Result... results) {
+        final EthCall ethCall = new EthCall();
+        ethCall.setResult(FunctionEncoder.encodeConstructor(
+                List.of(new DynamicArray<>(MulticallReader.Result.class, results))));
+        return ethCall;
+    }
+
+    @Test
+    void shouldAggregateCallsInSingleEthCall() throws IOException {
+        when(request.send()).thenReturn(newEthCall(
+                new MulticallReader.Result(new Bool(true), new DynamicBytes(new byte[]{1, 2, 3})),
+                new MulticallReader.Result(new Bool(false), new DynamicBytes(new byte[0]))));
+
+        final List<Optional<String>> results = multicallReader.aggregate(CALLS);
+
+        assertThat(results).containsExactly(Optional.of("0x010203"), Optional.empty());
+        verify(web3j).ethCall(argThat((Transaction tx) -> tx.getTo().equals(MULTICALL_ADDRESS)
+                && tx.getData().startsWith("0x82ad56cb")), any());
+    }
+
+    @Test
+    void shouldFailWhenAggregatedCallIsReverted() throws IOException {
+        final EthCall ethCall = new EthCall();
+        ethCall.setError(new Response.Error(3, "execution reverted"));
+        when(request.send()).thenReturn(ethCall);
+
+        assertThatThrownBy(() -> multicallReader.aggregate(CALLS))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("execution reverted");
+    }
+
+    @Test
+    void shouldFailWhenResultCountDoesNotMatch() throws IOException {
+        when(request.send()).thenReturn(newEthCall(
+                new MulticallReader.Result(new Bool(true), new DynamicBytes(new byte[]{1}))));
+
+        assertThatThrownBy(() -> multicallReader.aggregate(CALLS))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Multicall returned 1 results for 2 calls");
+    }
+}
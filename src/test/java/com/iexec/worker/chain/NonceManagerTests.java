@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.chain;
+
+import com.iexec.commons.poco.chain.SignerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NonceManagerTests {
+
+    @Mock
+    private SignerService signerService;
+
+    private MeterRegistry meterRegistry;
+    private NonceManager nonceManager;
+    private final List<BigInteger> sentNonces = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        nonceManager = new NonceManager(signerService);
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    private String send(final BigInteger nonce) {
+        sentNonces.add(nonce);
+        return "0xtx" + nonce;
+    }
+
+    @Test
+    void shouldAssignConsecutiveNoncesWithoutWaitingForReceipts() throws IOException {
+        when(signerService.getNonce()).thenReturn(BigInteger.TEN);
+
+        nonceManager.send(this::send);
+        nonceManager.send(this::send);
+        nonceManager.send(this::send);
+
+        assertThat(sentNonces).containsExactly(BigInteger.valueOf(10), BigInteger.valueOf(11), BigInteger.valueOf(12));
+        assertThat(meterRegistry.get(NonceManager.IN_FLIGHT_METRIC_NAME).gauge().value()).isEqualTo(3);
+        verify(signerService).getNonce();
+
+        nonceManager.onTransactionMined(true);
+
+        assertThat(nonceManager.getInFlightTransactions()).isEqualTo(2);
+        assertThat(nonceManager.getNextNonce()).isEqualTo(BigInteger.valueOf(13));
+    }
+
+    @Test
+    void shouldReadNonceAgainAfterSendFailure() throws IOException {
+        when(signerService.getNonce()).thenReturn(BigInteger.TEN).thenReturn(BigInteger.valueOf(11));
+
+        nonceManager.send(this::send);
+        assertThatThrownBy(() -> nonceManager.send(nonce -> {
+            throw new IOException("nonce too low");
+        })).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> nonceManager.send(nonce -> ""))
+                .isInstanceOf(IOException.class);
+        nonceManager.send(this::send);
+
+        assertThat(sentNonces).containsExactly(BigInteger.TEN, BigInteger.valueOf(11));
+        assertThat(nonceManager.getInFlightTransactions()).isEqualTo(2);
+        verify(signerService, times(3)).getNonce();
+    }
+
+    @Test
+    void shouldReadNonceAgainWhenTransactionIsNotMined() throws IOException {
+        when(signerService.getNonce()).thenReturn(BigInteger.TEN).thenReturn(BigInteger.TEN);
+
+        nonceManager.send(this::send);
+        nonceManager.onTransactionMined(false);
+        nonceManager.send(this::send);
+
+        assertThat(sentNonces).containsExactly(BigInteger.TEN, BigInteger.TEN);
+        assertThat(meterRegistry.get(NonceManager.WAITING_METRIC_NAME).gauge().value()).isZero();
+    }
+}
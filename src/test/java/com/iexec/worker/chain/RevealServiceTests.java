@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2024 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,12 +21,17 @@ import com.iexec.commons.poco.chain.ChainContributionStatus;
 import com.iexec.commons.poco.chain.ChainTask;
 import com.iexec.commons.poco.chain.ChainTaskStatus;
 import com.iexec.commons.poco.utils.HashUtils;
+import com.iexec.core.notification.TaskNotification;
+import com.iexec.core.notification.TaskNotificationType;
+import com.iexec.worker.chain.event.LatestBlockEvent;
 import org.apache.commons.lang3.time.DateUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.Hash;
 import org.web3j.protocol.core.methods.response.Log;
@@ -35,11 +40,14 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RevealServiceTests {
@@ -49,12 +57,15 @@ class RevealServiceTests {
     private IexecHubService iexecHubService;
     @Mock
     private Web3jService web3jService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private RevealService revealService;
 
     @BeforeEach
     void beforeEach() {
-        revealService = new RevealService(iexecHubService, web3jService, WORKER_WALLET_ADDRESS);
+        revealService = new RevealService(iexecHubService, web3jService, applicationEventPublisher,
+                WORKER_WALLET_ADDRESS);
     }
 
     // main test that should be valid, all other tests are failing cases of this one
@@ -85,6 +96,71 @@ class RevealServiceTests {
         assertThat(revealService.canReveal(chainTaskId, determinismHash)).isTrue();
     }
 
+    // region consensus watch
+    @Test
+    void shouldTriggerRevealWhenConsensusIsReached() {
+        final String determinismHash = Hash.sha3("Hello");
+        final String chainTaskId = "0xd94b63fc2d3ec4b96daf84b403bbafdc8c8517e8e2addd51fec0fa4e67801be8";
+        final ChainTask revealingTask = ChainTask.builder()
+                .status(ChainTaskStatus.REVEALING)
+                .revealDeadline(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli())
+                .consensusValue(HashUtils.concatenateAndHash(chainTaskId, determinismHash))
+                .build();
+        when(iexecHubService.getChainTasks(Set.of(chainTaskId)))
+                .thenReturn(Map.of(chainTaskId, ChainTask.builder().status(ChainTaskStatus.ACTIVE).build()))
+                .thenReturn(Map.of(chainTaskId, revealingTask));
+
+        revealService.watchConsensus(chainTaskId, determinismHash);
+        revealService.onLatestBlockEvent(new LatestBlockEvent(this, 10L, "0x10", 0L));
+        assertThat(revealService.isRevealReady(chainTaskId, determinismHash)).isFalse();
+        revealService.onLatestBlockEvent(new LatestBlockEvent(this, 11L, "0x11", 0L));
+        revealService.onLatestBlockEvent(new LatestBlockEvent(this, 12L, "0x12", 0L));
+
+        assertThat(revealService.isRevealReady(chainTaskId, determinismHash)).isTrue();
+        final ArgumentCaptor<TaskNotification> notificationCaptor = ArgumentCaptor.forClass(TaskNotification.class);
+        verify(iexecHubService, times(2)).getChainTasks(Set.of(chainTaskId));
+        verify(applicationEventPublisher).publishEvent(notificationCaptor.capture());
+        assertThat(notificationCaptor.getValue().getTaskNotificationType()).isEqualTo(TaskNotificationType.PLEASE_REVEAL);
+        assertThat(notificationCaptor.getValue().getTaskNotificationExtra().getBlockNumber()).isEqualTo(11L);
+    }
+
+    @Test
+    void shouldStopWatchingWhenConsensusIsReachedOnAnotherValue() {
+        final String determinismHash = Hash.sha3("Hello");
+        final String chainTaskId = "0xd94b63fc2d3ec4b96daf84b403bbafdc8c8517e8e2addd51fec0fa4e67801be8";
+        when(iexecHubService.getChainTasks(Set.of(chainTaskId))).thenReturn(Map.of(chainTaskId, ChainTask.builder()
+                .status(ChainTaskStatus.REVEALING)
+                .revealDeadline(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli())
+                .consensusValue(HashUtils.concatenateAndHash(chainTaskId, Hash.sha3("Other")))
+                .build()));
+
+        revealService.watchConsensus(chainTaskId, determinismHash);
+        revealService.onLatestBlockEvent(new LatestBlockEvent(this, 10L, "0x10", 0L));
+        revealService.onLatestBlockEvent(new LatestBlockEvent(this, 11L, "0x11", 0L));
+
+        assertThat(revealService.isRevealReady(chainTaskId, determinismHash)).isFalse();
+        verify(iexecHubService).getChainTasks(Set.of(chainTaskId));
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldNotBeReadyToRevealOncePurged() {
+        final String determinismHash = Hash.sha3("Hello");
+        final String chainTaskId = "0xd94b63fc2d3ec4b96daf84b403bbafdc8c8517e8e2addd51fec0fa4e67801be8";
+        when(iexecHubService.getChainTasks(Set.of(chainTaskId))).thenReturn(Map.of(chainTaskId, ChainTask.builder()
+                .status(ChainTaskStatus.REVEALING)
+                .revealDeadline(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli())
+                .consensusValue(HashUtils.concatenateAndHash(chainTaskId, determinismHash))
+                .build()));
+
+        revealService.watchConsensus(chainTaskId, determinismHash);
+        revealService.onLatestBlockEvent(new LatestBlockEvent(this, 10L, "0x10", 0L));
+        revealService.purgeTask(chainTaskId);
+
+        assertThat(revealService.isRevealReady(chainTaskId, determinismHash)).isFalse();
+    }
+    // endregion
+
     @Test
     void cannotRevealSinceChainTaskStatusWrong() {
         String determinismHash = Hash.sha3("Hello");
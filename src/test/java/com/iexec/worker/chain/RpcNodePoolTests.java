@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthCall;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RpcNodePoolTests {
+
+    @Mock
+    private Web3jService firstNode;
+    @Mock
+    private Web3jService secondNode;
+
+    private MeterRegistry meterRegistry;
+    private RpcNodePool rpcNodePool;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        rpcNodePool = new RpcNodePool(List.of(firstNode, secondNode));
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    private static EthBlockNumber blockNumber(final long blockNumber) {
+        final EthBlockNumber response = new EthBlockNumber();
+        response.setResult("0x" + Long.toHexString(blockNumber));
+        return response;
+    }
+
+    private static EthBlockNumber errorResponse() {
+        final EthBlockNumber response = new EthBlockNumber();
+        response.setError(new Response.Error(-32000, "header not found"));
+        return response;
+    }
+
+    private double getSelectedCount(final String node) {
+        return meterRegistry.get(RpcNodePool.SELECTED_METRIC_NAME).tag("node", node).counter().count();
+    }
+
+    @Test
+    void shouldSendReadToFirstNode() throws IOException {
+        when(firstNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber(10)));
+
+        final EthBlockNumber response = rpcNodePool.send(null, EthBlockNumber.class);
+
+        assertThat(response.getBlockNumber()).isEqualTo(10);
+        verifyNoInteractions(secondNode);
+        assertThat(getSelectedCount("0")).isOne();
+        assertThat(getSelectedCount("1")).isZero();
+    }
+
+    @Test
+    void shouldFailOverToNextNodeOnFailure() throws IOException {
+        when(firstNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("connection refused")));
+        when(secondNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber(10)));
+
+        assertThat(rpcNodePool.send(null, EthBlockNumber.class).getBlockNumber()).isEqualTo(10);
+        assertThat(getSelectedCount("1")).isOne();
+        assertThat(meterRegistry.get(RpcNodePool.HEDGED_METRIC_NAME).counter().count()).isZero();
+    }
+
+    @Test
+    void shouldFailOverToNextNodeOnErrorResponse() throws IOException {
+        when(firstNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(errorResponse()));
+        when(secondNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber(10)));
+
+        assertThat(rpcNodePool.send(null, EthBlockNumber.class).getBlockNumber()).isEqualTo(10);
+        assertThat(getSelectedCount("1")).isOne();
+    }
+
+    @Test
+    void shouldReturnErrorResponseWhenAllNodesAnswerWithError() throws IOException {
+        when(firstNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(errorResponse()));
+        when(secondNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(errorResponse()));
+
+        assertThat(rpcNodePool.send(null, EthBlockNumber.class).hasError()).isTrue();
+        assertThat(getSelectedCount("0")).isOne();
+        assertThat(getSelectedCount("1")).isOne();
+    }
+
+    @Test
+    void shouldReturnRevertedCallWithoutFailingOver() throws IOException {
+        final EthCall revertedCall = new EthCall();
+        revertedCall.setError(new Response.Error(3, "execution reverted"));
+        when(firstNode.sendAsync(any(), eq(EthCall.class)))
+                .thenReturn(CompletableFuture.completedFuture(revertedCall));
+
+        assertThat(rpcNodePool.send(null, EthCall.class).getError().getCode()).isEqualTo(3);
+        assertThat(getSelectedCount("1")).isZero();
+        verifyNoInteractions(secondNode);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-32603, -32099, -32050, -32000})
+    void shouldBeNodeError(final int code) {
+        assertThat(RpcNodePool.isNodeError(new Response.Error(code, "error"))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, -32700, -32602, -32601, -32600, -32100})
+    void shouldNotBeNodeError(final int code) {
+        assertThat(RpcNodePool.isNodeError(new Response.Error(code, "error"))).isFalse();
+    }
+
+    @Test
+    void shouldHedgeSlowRead() throws Exception {
+        when(firstNode.sendAsync(any(), eq(EthBlockNumber.class))).thenReturn(new CompletableFuture<>());
+        when(secondNode.sendAsync(any(), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(blockNumber(10)));
+
+        final CompletableFuture<EthBlockNumber> response = rpcNodePool.sendAsync(null, EthBlockNumber.class);
+
+        assertThat(response.get(5, TimeUnit.SECONDS).getBlockNumber()).isEqualTo(10);
+        assertThat(meterRegistry.get(RpcNodePool.HEDGED_METRIC_NAME).counter().count()).isOne();
+    }
+
+    @Test
+    void shouldEjectLaggingNodeAndAddItBackOnceSynced() throws IOException {
+        when(firstNode.send(any(), eq(EthBlockNumber.class))).thenReturn(blockNumber(100));
+        when(secondNode.send(any(), eq(EthBlockNumber.class)))
+                .thenReturn(blockNumber(90))
+                .thenReturn(blockNumber(100));
+
+        rpcNodePool.checkNodes();
+
+        assertThat(rpcNodePool.getRankedNodes()).extracting(RpcNodePool.Node::getName).containsExactly("0");
+        assertThat(meterRegistry.get(RpcNodePool.LAG_METRIC_NAME).tag("node", "1").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get(RpcNodePool.HEALTHY_METRIC_NAME).tag("node", "1").gauge().value()).isZero();
+
+        rpcNodePool.checkNodes();
+
+        assertThat(rpcNodePool.getRankedNodes()).hasSize(2);
+    }
+
+    @Test
+    void shouldEjectFailingNode() throws IOException {
+        when(firstNode.send(any(), eq(EthBlockNumber.class))).thenThrow(new IOException("connection refused"));
+        when(secondNode.send(any(), eq(EthBlockNumber.class))).thenReturn(blockNumber(100));
+
+        for (int i = 0; i < RpcNodePool.MAX_CONSECUTIVE_FAILURES; i++) {
+            rpcNodePool.checkNodes();
+        }
+
+        assertThat(rpcNodePool.getRankedNodes()).extracting(RpcNodePool.Node::getName).containsExactly("1");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.iexec.worker.chain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBroadcasterTests {
+
+    private static final String SIGNED_TX = "0xf86b";
+    private static final String TX_HASH = "0x1234";
+
+    @Mock
+    private Web3jService firstNode;
+    @Mock
+    private Web3jService secondNode;
+
+    private MeterRegistry meterRegistry;
+    private TransactionBroadcaster transactionBroadcaster;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        transactionBroadcaster = new TransactionBroadcaster(new RpcNodePool(List.of(firstNode, secondNode)).getNodes(),
+                Duration.ofMillis(10), Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    private static CompletableFuture<EthSendTransaction> accepted() {
+        final EthSendTransaction response = new EthSendTransaction();
+        response.setResult(TX_HASH);
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private static CompletableFuture<EthSendTransaction> rejected() {
+        final EthSendTransaction response = new EthSendTransaction();
+        response.setError(new Response.Error(-32000, "nonce too low"));
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private static CompletableFuture<EthGetTransactionReceipt> receipt(final String blockNumber) {
+        final EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        if (blockNumber != null) {
+            final TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTransactionHash(TX_HASH);
+            receipt.setBlockNumber(blockNumber);
+            response.setResult(receipt);
+        }
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private double getBroadcastCount(final String node, final String result) {
+        return meterRegistry.get(TransactionBroadcaster.BROADCAST_METRIC_NAME)
+                .tags("node", node, "result", result).counter().count();
+    }
+
+    @Test
+    void shouldBroadcastToAllNodesAndAcceptFirstAcceptance() throws IOException {
+        when(firstNode.sendAsync(any(), eq(EthSendTransaction.class))).thenReturn(rejected());
+        when(secondNode.sendAsync(any(), eq(EthSendTransaction.class))).thenReturn(accepted());
+
+        assertThat(transactionBroadcaster.broadcast(SIGNED_TX)).isEqualTo(TX_HASH);
+        assertThat(getBroadcastCount("0", "rejected")).isOne();
+        assertThat(getBroadcastCount("1", "accepted")).isOne();
+    }
+
+    @Test
+    void shouldFailWhenNoNodeAcceptsTransaction() {
+        when(firstNode.sendAsync(any(), eq(EthSendTransaction.class))).thenReturn(rejected());
+        when(secondNode.sendAsync(any(), eq(EthSendTransaction.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("connection refused")));
+
+        assertThatThrownBy(() -> transactionBroadcaster.broadcast(SIGNED_TX)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldAcceptFirstReceiptAndRecordInclusionOfEachNode() throws Exception {
+        when(firstNode.sendAsync(any(), eq(EthSendTransaction.class))).thenReturn(accepted());
+        when(secondNode.sendAsync(any(), eq(EthSendTransaction.class))).thenReturn(accepted());
+        when(firstNode.sendAsync(any(), eq(EthGetTransactionReceipt.class)))
+                .thenReturn(receipt(null))
+                .thenReturn(receipt("0x2"));
+        when(secondNode.sendAsync(any(), eq(EthGetTransactionReceipt.class))).thenReturn(receipt("0x1"));
+
+        final String txHash = transactionBroadcaster.broadcast(SIGNED_TX);
+        final TransactionReceipt receipt = transactionBroadcaster.waitForReceipt(txHash);
+
+        assertThat(receipt.getBlockNumberRaw()).isEqualTo("0x1");
+        assertThat(meterRegistry.get(TransactionBroadcaster.INCLUSION_METRIC_NAME).tag("node", "1").timer().count())
+                .isOne();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.find(TransactionBroadcaster.INCLUSION_METRIC_NAME)
+                .tag("node", "0").timer() != null);
+    }
+
+    @Test
+    void shouldFailWhenNoReceiptIsFoundBeforeTimeout() {
+        when(firstNode.sendAsync(any(), eq(EthGetTransactionReceipt.class))).thenReturn(receipt(null));
+        when(secondNode.sendAsync(any(), eq(EthGetTransactionReceipt.class))).thenReturn(receipt(null));
+
+        assertThatThrownBy(() -> transactionBroadcaster.waitForReceipt(TX_HASH))
+                .isInstanceOf(TransactionException.class);
+    }
+}
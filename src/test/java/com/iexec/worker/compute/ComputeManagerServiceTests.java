@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import com.iexec.commons.poco.dapp.DappType;
 import com.iexec.commons.poco.order.OrderTag;
 import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.commons.poco.tee.TeeUtils;
+import com.iexec.worker.chain.ContributionService;
 import com.iexec.worker.compute.app.AppComputeResponse;
 import com.iexec.worker.compute.app.AppComputeService;
 import com.iexec.worker.compute.post.PostComputeResponse;
@@ -35,6 +36,7 @@ import com.iexec.worker.config.WorkerConfigurationService;
 import com.iexec.worker.docker.DockerRegistryConfiguration;
 import com.iexec.worker.docker.DockerService;
 import com.iexec.worker.result.ResultService;
+import com.iexec.worker.workflow.TaskCancellationService;
 import com.iexec.worker.workflow.WorkflowError;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,15 +47,18 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.File;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -90,6 +95,10 @@ class ComputeManagerServiceTests {
     private WorkerConfigurationService workerConfigurationService;
     @Mock
     private ResultService resultService;
+    @Spy
+    private TaskCancellationService taskCancellationService;
+    @Mock
+    private ContributionService contributionService;
 
     private TaskDescription.TaskDescriptionBuilder createTaskDescriptionBuilder(final OrderTag tag) {
         final DealParams dealParams = DealParams.builder()
@@ -118,6 +127,17 @@ class ComputeManagerServiceTests {
         assertThat(computeManagerService.downloadApp(taskDescription)).isTrue();
     }
 
+    @Test
+    void shouldNotDownloadAppOfCancelledTask() {
+        final TaskDescription taskDescription = createTaskDescriptionBuilder(OrderTag.TEE_SCONE).build();
+        when(dockerRegistryConfiguration.getMinPullTimeout()).thenReturn(Duration.of(5, ChronoUnit.MINUTES));
+        when(dockerRegistryConfiguration.getMaxPullTimeout()).thenReturn(Duration.of(30, ChronoUnit.MINUTES));
+        taskCancellationService.cancel(CHAIN_TASK_ID);
+        assertThatThrownBy(() -> computeManagerService.downloadApp(taskDescription))
+                .isInstanceOf(CancellationException.class);
+        verifyNoInteractions(dockerService);
+    }
+
     @Test
     void shouldNotDownloadAppSincePullImageFailed() {
         final TaskDescription taskDescription = createTaskDescriptionBuilder(OrderTag.TEE_SCONE).build();
@@ -336,7 +356,9 @@ class ComputeManagerServiceTests {
         verify(postComputeService).runStandardPostCompute(taskDescription);
         verify(resultService).readComputedFile(CHAIN_TASK_ID);
         verify(resultService).computeResultDigest(computedFile);
+        verify(computedFile).setResultDigest(DIGEST);
         verify(resultService).saveResultInfo(any(), any());
+        verify(contributionService).prepareContribution(computedFile);
     }
 
     @ParameterizedTest
@@ -378,6 +400,7 @@ class ComputeManagerServiceTests {
         verify(resultService).readComputedFile(CHAIN_TASK_ID);
         verify(resultService).computeResultDigest(computedFile);
         verify(resultService).saveResultInfo(any(), any());
+        verify(contributionService).prepareContribution(computedFile);
     }
 
     @ParameterizedTest
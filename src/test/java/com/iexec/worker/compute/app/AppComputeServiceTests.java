@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import com.iexec.commons.poco.utils.BytesUtils;
 import com.iexec.worker.config.WorkerConfigurationService;
 import com.iexec.worker.docker.DockerService;
 import com.iexec.worker.metric.ComputeDurationsService;
+import com.iexec.worker.task.TaskTimeBudgetService;
 import com.iexec.worker.tee.TeeService;
 import com.iexec.worker.tee.TeeServicesManager;
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -92,6 +94,8 @@ class AppComputeServiceTests {
     private TeeServicesManager teeServicesManager;
     @Mock
     private ComputeDurationsService appComputeDurationsService;
+    @Mock
+    private TaskTimeBudgetService taskTimeBudgetService;
 
     @Mock
     private TeeService teeMockedService;
@@ -133,6 +137,23 @@ class AppComputeServiceTests {
         );
     }
 
+    @Test
+    void shouldRunComputeWithMaxExecutionTimeCappedByTimeBudget() {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.STANDARD).build();
+        when(taskTimeBudgetService.getComputeMaxExecutionTime(taskDescription)).thenReturn(Optional.of(100L));
+        when(dockerService.run(any())).thenReturn(DockerRunResponse.builder()
+                .finalStatus(DockerRunFinalStatus.SUCCESS)
+                .executionDuration(Duration.ofSeconds(10))
+                .build());
+
+        final AppComputeResponse appComputeResponse = appComputeService.runCompute(taskDescription);
+
+        assertThat(appComputeResponse.isSuccessful()).isTrue();
+        final ArgumentCaptor<DockerRunRequest> argumentCaptor = ArgumentCaptor.forClass(DockerRunRequest.class);
+        verify(dockerService).run(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getMaxExecutionTime()).isEqualTo(100L);
+    }
+
     @ParameterizedTest
     @EnumSource(value = OrderTag.class, names = {"TEE_SCONE", "TEE_TDX"})
     void shouldRunComputeWithTeeAndConnectAppToLas(final OrderTag orderTag) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import com.iexec.worker.compute.ComputeStage;
 import com.iexec.worker.config.WorkerConfigurationService;
 import com.iexec.worker.docker.DockerService;
 import com.iexec.worker.metric.ComputeDurationsService;
+import com.iexec.worker.task.TaskTimeBudgetService;
 import com.iexec.worker.tee.TeeService;
 import com.iexec.worker.tee.TeeServicesManager;
 import com.iexec.worker.tee.TeeServicesPropertiesService;
@@ -57,6 +58,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static com.iexec.common.replicate.ReplicateStatusCause.POST_COMPUTE_FAILED_UNKNOWN_ISSUE;
@@ -111,6 +113,8 @@ class PostComputeServiceTests {
     @Mock
     private ComputeDurationsService postComputeDurationsService;
     @Mock
+    private TaskTimeBudgetService taskTimeBudgetService;
+    @Mock
     private TeeService teeMockedService;
 
     @BeforeEach
@@ -340,6 +344,27 @@ class PostComputeServiceTests {
         verify(dockerService).run(any());
     }
 
+    @Test
+    void shouldRunTeePostComputeWithMaxExecutionTimeCappedByTimeBudget() {
+        taskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .datasetUri(DATASET_URI)
+                .maxExecutionTime(MAX_EXECUTION_TIME)
+                .build();
+        when(taskTimeBudgetService.getPostComputeMaxExecutionTime(taskDescription)).thenReturn(Optional.of(100L));
+        prepareMocksForTeePostCompute(DockerRunResponse.builder()
+                .finalStatus(DockerRunFinalStatus.TIMEOUT)
+                .build());
+
+        final PostComputeResponse postComputeResponse = postComputeService.runTeePostCompute(taskDescription);
+
+        assertThat(postComputeResponse.getExitCauses())
+                .containsExactly(new WorkflowError(ReplicateStatusCause.POST_COMPUTE_TIMEOUT));
+        final ArgumentCaptor<DockerRunRequest> argumentCaptor = ArgumentCaptor.forClass(DockerRunRequest.class);
+        verify(dockerService).run(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getMaxExecutionTime()).isEqualTo(100L);
+    }
+
     // region getExitCauses
     @ParameterizedTest
     @ValueSource(ints = {4, 5, 10, 42, 127, 255})
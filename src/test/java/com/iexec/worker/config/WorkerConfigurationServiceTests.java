@@ -1,5 +1,5 @@
 /*
- * Copyright 2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2025-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,6 @@ class WorkerConfigurationServiceTests {
     @Test
     void shouldGetMemorySize() {
         final com.sun.management.OperatingSystemMXBean os = (com.sun.management.OperatingSystemMXBean) getOperatingSystemMXBean();
-        assertThat(workerConfiguration.getMemorySize()).isEqualTo((int) os.getTotalMemorySize() / (1024 * 1024 * 1024));
+        assertThat(workerConfiguration.getMemorySize()).isEqualTo((int) (os.getTotalMemorySize() / (1024 * 1024 * 1024)));
     }
 }
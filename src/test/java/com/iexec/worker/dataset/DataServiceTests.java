@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2024 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import com.iexec.common.replicate.ReplicateStatusCause;
 import com.iexec.common.utils.FileHashUtils;
 import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.worker.config.WorkerConfigurationService;
+import com.iexec.worker.workflow.TaskCancellationService;
 import com.iexec.worker.workflow.WorkflowException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,7 @@ import org.springframework.boot.test.system.OutputCaptureExtension;
 import java.io.File;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -64,6 +66,8 @@ class DataServiceTests {
 
     @Mock
     private WorkerConfigurationService workerConfigurationService;
+    @Spy
+    private TaskCancellationService taskCancellationService;
 
     private String iexecIn;
 
@@ -237,4 +241,12 @@ class DataServiceTests {
         final File inputFile = new File(iexecIn, FileHashUtils.createFileNameFromUri(HTTP_URI));
         assertThat(inputFile).exists();
     }
+
+    @Test
+    void shouldNotDownloadInputFilesOfCancelledTask() {
+        final List<String> uris = List.of(HTTP_URI);
+        taskCancellationService.cancel(CHAIN_TASK_ID);
+        assertThrows(CancellationException.class, () -> dataService.downloadStandardInputFiles(CHAIN_TASK_ID, uris));
+        assertThat(new File(iexecIn, FileHashUtils.createFileNameFromUri(HTTP_URI))).doesNotExist();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2024 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package com.iexec.worker.pubsub;
 
+import com.iexec.core.replicate.ReplicateTaskSummary;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -23,6 +24,7 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.stomp.StompHeaders;
 import org.springframework.messaging.simp.stomp.StompSession.Subscription;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -75,6 +77,52 @@ class SubscriptionServiceTests {
     }
     // endregion
 
+    // region replicate offers
+    @Test
+    void shouldReceiveReplicateOffersOnceSubscribed() {
+        when(stompClientService.subscribeToTopic(anyString(), any())).thenReturn(Optional.of(subscription));
+
+        subscriptionService.subscribeToReplicateOffers();
+        assertThat(subscriptionService.isReceivingReplicateOffers()).isFalse();
+        subscriptionService.reSubscribeToTopics();
+
+        assertThat(subscriptionService.isReceivingReplicateOffers()).isTrue();
+        verify(stompClientService, times(2)).subscribeToTopic(anyString(), any(SubscriptionService.ReplicateOfferHandler.class));
+    }
+
+    @Test
+    void shouldSubscribeToReplicateOffersWhenSessionIsCreated() {
+        when(stompClientService.subscribeToTopic(anyString(), any()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(subscription));
+
+        subscriptionService.subscribeToReplicateOffers();
+        subscriptionService.reSubscribeToTopics();
+
+        assertThat(subscriptionService.isReceivingReplicateOffers()).isTrue();
+    }
+
+    @Test
+    void shouldNotReceiveReplicateOffersWhenSessionIsLost() {
+        when(stompClientService.subscribeToTopic(anyString(), any())).thenReturn(Optional.of(subscription));
+        subscriptionService.subscribeToReplicateOffers();
+        subscriptionService.reSubscribeToTopics();
+
+        subscriptionService.sessionLost();
+
+        assertThat(subscriptionService.isReceivingReplicateOffers()).isFalse();
+    }
+
+    @Test
+    void shouldPublishReplicateOffer() {
+        final ReplicateTaskSummary replicateTaskSummary = ReplicateTaskSummary.builder().build();
+
+        subscriptionService.new ReplicateOfferHandler().handleFrame(new StompHeaders(), replicateTaskSummary);
+
+        verify(applicationEventPublisher).publishEvent(replicateTaskSummary);
+    }
+    // endregion
+
     // region unsubscribe
     @Test
     void shouldUnsubscribeFromTopic() {
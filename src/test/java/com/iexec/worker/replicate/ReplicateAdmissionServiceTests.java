@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.replicate;
+
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.commons.poco.tee.TeeFramework;
+import com.iexec.worker.config.WorkerConfigurationService;
+import com.iexec.worker.replicate.ReplicateAdmissionService.TaskCategory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicateAdmissionServiceTests {
+
+    private static final int CPU_COUNT = 2;
+    private static final int MEMORY_SIZE = 4;
+
+    @TempDir
+    private Path tempDir;
+    @Mock
+    private WorkerConfigurationService workerConfigurationService;
+
+    private MeterRegistry meterRegistry;
+    private ReplicateAdmissionService replicateAdmissionService;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        when(workerConfigurationService.getCpuCount()).thenReturn(CPU_COUNT);
+        when(workerConfigurationService.getMemorySize()).thenReturn(MEMORY_SIZE);
+        replicateAdmissionService = new ReplicateAdmissionService(workerConfigurationService);
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    private TaskDescription getTaskDescription(final String chainTaskId, final long maxExecutionTime) {
+        return TaskDescription.builder()
+                .chainTaskId(chainTaskId)
+                .maxExecutionTime(maxExecutionTime)
+                .build();
+    }
+
+    @Test
+    void shouldAcceptNewReplicateWhenSlotsAreFree() {
+        when(workerConfigurationService.getWorkerBaseDir()).thenReturn(tempDir.toString());
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+
+        assertThat(replicateAdmissionService.canAcceptNewReplicate()).isTrue();
+        assertThat(meterRegistry.get(ReplicateAdmissionService.CPU_CAPACITY_METRIC_NAME).gauge().value())
+                .isEqualTo(CPU_COUNT);
+        assertThat(meterRegistry.get(ReplicateAdmissionService.CPU_RESERVED_METRIC_NAME).gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotAcceptNewReplicateWhenAllCpusAreReserved() {
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+        replicateAdmissionService.reserve(getTaskDescription("0x2", 36_000));
+
+        assertThat(replicateAdmissionService.canAcceptNewReplicate()).isFalse();
+        assertThat(replicateAdmissionService.getRunningReplicates(TaskCategory.XS)).isOne();
+        assertThat(replicateAdmissionService.getRunningReplicates(TaskCategory.M)).isOne();
+        assertThat(meterRegistry.get(ReplicateAdmissionService.REJECTED_METRIC_NAME).tag("reason", "cpu")
+                .counter().count()).isOne();
+    }
+
+    @Test
+    void shouldNotAcceptNewReplicateWhenMemoryIsReservedByTeeTask() {
+        when(workerConfigurationService.getTeeComputeMaxHeapSizeGb()).thenReturn(MEMORY_SIZE);
+        replicateAdmissionService.reserve(TaskDescription.builder()
+                .chainTaskId("0x1")
+                .teeFramework(TeeFramework.SCONE)
+                .build());
+
+        assertThat(replicateAdmissionService.canAcceptNewReplicate()).isFalse();
+        assertThat(replicateAdmissionService.getReservedMemoryGb()).isEqualTo(MEMORY_SIZE);
+    }
+
+    @Test
+    void shouldReserveSlotOnlyOnce() {
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+
+        assertThat(replicateAdmissionService.getReservedCpus()).isOne();
+    }
+
+    @Test
+    void shouldAcceptNewReplicateOnceComputeSlotIsReleased() {
+        when(workerConfigurationService.getWorkerBaseDir()).thenReturn(tempDir.toString());
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+        replicateAdmissionService.reserve(getTaskDescription("0x2", 3_000));
+
+        assertThat(replicateAdmissionService.releaseComputeSlot("0x1")).isTrue();
+        assertThat(replicateAdmissionService.releaseComputeSlot("0x1")).isFalse();
+
+        assertThat(replicateAdmissionService.canAcceptNewReplicate()).isTrue();
+        assertThat(replicateAdmissionService.getReservedCpus()).isOne();
+        assertThat(replicateAdmissionService.getChainPhaseReplicates()).isOne();
+        assertThat(replicateAdmissionService.getRunningReplicates(TaskCategory.XS)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseChainPhaseTaskWhenPurged() {
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+        replicateAdmissionService.releaseComputeSlot("0x1");
+
+        replicateAdmissionService.purgeTask("0x1");
+
+        assertThat(replicateAdmissionService.getReservedCpus()).isZero();
+        assertThat(replicateAdmissionService.getChainPhaseReplicates()).isZero();
+        assertThat(replicateAdmissionService.getRunningReplicates(TaskCategory.XS)).isZero();
+    }
+
+    @Test
+    void shouldNotReleaseComputeSlotOfUnknownTask() {
+        assertThat(replicateAdmissionService.releaseComputeSlot("0x1")).isFalse();
+        assertThat(replicateAdmissionService.getChainPhaseReplicates()).isZero();
+    }
+
+    @Test
+    void shouldReleaseSlotWhenTaskIsPurged() {
+        when(workerConfigurationService.getWorkerBaseDir()).thenReturn(tempDir.toString());
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+        replicateAdmissionService.reserve(getTaskDescription("0x2", 3_000));
+
+        assertThat(replicateAdmissionService.purgeTask("0x1")).isTrue();
+
+        assertThat(replicateAdmissionService.getReservedCpus()).isOne();
+        assertThat(replicateAdmissionService.getRunningReplicates(TaskCategory.XS)).isOne();
+        assertThat(replicateAdmissionService.canAcceptNewReplicate()).isTrue();
+    }
+
+    @Test
+    void shouldReleaseAllSlots() {
+        replicateAdmissionService.reserve(getTaskDescription("0x1", 3_000));
+        replicateAdmissionService.reserve(getTaskDescription("0x2", 360_000));
+
+        replicateAdmissionService.purgeAllTasksData();
+
+        assertThat(replicateAdmissionService.getReservedCpus()).isZero();
+        assertThat(replicateAdmissionService.getReservedMemoryGb()).isZero();
+    }
+
+    @Test
+    void shouldGetTaskCategoryFromMaxExecutionTime() {
+        assertThat(TaskCategory.fromMaxExecutionTime(3_000)).isEqualTo(TaskCategory.XS);
+        assertThat(TaskCategory.fromMaxExecutionTime(12_000)).isEqualTo(TaskCategory.S);
+        assertThat(TaskCategory.fromMaxExecutionTime(36_000)).isEqualTo(TaskCategory.M);
+        assertThat(TaskCategory.fromMaxExecutionTime(108_000)).isEqualTo(TaskCategory.L);
+        assertThat(TaskCategory.fromMaxExecutionTime(360_000)).isEqualTo(TaskCategory.XL);
+    }
+}
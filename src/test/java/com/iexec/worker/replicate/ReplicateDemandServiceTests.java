@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2024 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,20 +17,25 @@
 package com.iexec.worker.replicate;
 
 import com.iexec.commons.poco.chain.WorkerpoolAuthorization;
+import com.iexec.commons.poco.task.TaskDescription;
 import com.iexec.core.notification.TaskNotification;
 import com.iexec.core.replicate.ReplicateTaskSummary;
 import com.iexec.worker.chain.ContributionService;
 import com.iexec.worker.chain.IexecHubService;
 import com.iexec.worker.feign.CustomCoreFeignClient;
 import com.iexec.worker.pubsub.SubscriptionService;
+import com.iexec.worker.task.TaskManagerService;
 import com.iexec.worker.utils.AsyncUtils;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static com.iexec.core.notification.TaskNotificationType.PLEASE_START;
@@ -44,6 +49,8 @@ class ReplicateDemandServiceTests {
     private static final String CHAIN_TASK_ID = "chainTaskId";
     private static final String SMS_URL = "smsUrl";
     private static final long BLOCK_NUMBER = 5;
+    private static final long ASK_FOR_REPLICATE_PERIOD = 1000;
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(8);
 
     @Captor
     ArgumentCaptor<TaskNotification> taskNotificationCaptor;
@@ -57,11 +64,29 @@ class ReplicateDemandServiceTests {
     private SubscriptionService subscriptionService;
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private ReplicateAdmissionService replicateAdmissionService;
+    @Mock
+    private TaskManagerService taskManagerService;
 
-    @Spy
-    @InjectMocks
     private ReplicateDemandService replicateDemandService;
 
+    @BeforeEach
+    void init() {
+        replicateDemandService = newReplicateDemandService(false);
+    }
+
+    @AfterEach
+    void shutdown() {
+        replicateDemandService.shutdown();
+    }
+
+    private ReplicateDemandService newReplicateDemandService(final boolean replicatePushEnabled) {
+        return spy(new ReplicateDemandService(iexecHubService, coreFeignClient, contributionService,
+                subscriptionService, applicationEventPublisher, replicateAdmissionService, taskManagerService,
+                replicatePushEnabled, ASK_FOR_REPLICATE_PERIOD, MAX_BACKOFF));
+    }
+
     // region triggerAskForReplicate()
     @Test
     void shouldRunAskForReplicateAsynchronouslyWhenTriggeredOneTime() {
@@ -72,20 +97,118 @@ class ReplicateDemandServiceTests {
             asyncUtils.verify(() -> AsyncUtils.runAsyncTask(eq(ASK_FOR_REPLICATE_CONTEXT), any(), any()), times(1));
         }
     }
+
+    @Test
+    void shouldNotPollWhenReceivingReplicateOffers() {
+        replicateDemandService = newReplicateDemandService(true);
+        when(subscriptionService.isReceivingReplicateOffers()).thenReturn(true);
+
+        replicateDemandService.triggerAskForReplicate();
+
+        verify(replicateDemandService, never()).requestReplicate();
+    }
+
+    @Test
+    void shouldPollWhenReplicateOffersAreNotReceived() {
+        replicateDemandService = newReplicateDemandService(true);
+        when(subscriptionService.isReceivingReplicateOffers()).thenReturn(false);
+        doNothing().when(replicateDemandService).requestReplicate();
+
+        replicateDemandService.triggerAskForReplicate();
+
+        verify(replicateDemandService).requestReplicate();
+    }
+    // endregion
+
+    // region subscribeToReplicateOffers()
+    @Test
+    void shouldSubscribeToReplicateOffersWhenPushEnabled() {
+        replicateDemandService = newReplicateDemandService(true);
+        replicateDemandService.subscribeToReplicateOffers();
+        verify(subscriptionService).subscribeToReplicateOffers();
+    }
+
+    @Test
+    void shouldNotSubscribeToReplicateOffersWhenPushDisabled() {
+        replicateDemandService.subscribeToReplicateOffers();
+        verify(subscriptionService, never()).subscribeToReplicateOffers();
+    }
+    // endregion
+
+    // region acceptReplicateOffer()
+    @Test
+    void shouldAcceptReplicateOffer() {
+        when(subscriptionService.isSubscribedToTopic(CHAIN_TASK_ID)).thenReturn(false);
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
+        when(contributionService.isChainTaskInitialized(CHAIN_TASK_ID)).thenReturn(true);
+
+        replicateDemandService.acceptReplicateOffer(getStubReplicateTaskSummary());
+
+        verify(iexecHubService, never()).hasEnoughGas();
+        verify(subscriptionService).subscribeToTopic(CHAIN_TASK_ID);
+        verify(applicationEventPublisher).publishEvent(taskNotificationCaptor.capture());
+        Assertions.assertThat(taskNotificationCaptor.getValue().getTaskNotificationType()).isEqualTo(PLEASE_START);
+        verify(coreFeignClient, never()).getAvailableReplicateTaskSummary(anyLong());
+    }
+
+    @Test
+    void shouldIgnoreReplicateOfferOfRunningTask() {
+        when(subscriptionService.isSubscribedToTopic(CHAIN_TASK_ID)).thenReturn(true);
+
+        replicateDemandService.acceptReplicateOffer(getStubReplicateTaskSummary());
+
+        verifyNoInteractions(replicateAdmissionService, applicationEventPublisher);
+    }
+
+    @Test
+    void shouldIgnoreReplicateOfferWhenHostIsSaturated() {
+        when(subscriptionService.isSubscribedToTopic(CHAIN_TASK_ID)).thenReturn(false);
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(false);
+
+        replicateDemandService.acceptReplicateOffer(getStubReplicateTaskSummary());
+
+        verify(subscriptionService, never()).subscribeToTopic(anyString());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+    // endregion
+
+    // region releaseComputeSlot()
+    @Test
+    void shouldAskForReplicateWhenComputeSlotIsReleased() {
+        when(replicateAdmissionService.releaseComputeSlot(CHAIN_TASK_ID)).thenReturn(true);
+        doNothing().when(replicateDemandService).requestReplicate();
+
+        replicateDemandService.releaseComputeSlot(CHAIN_TASK_ID);
+
+        verify(replicateDemandService).requestReplicate();
+    }
+
+    @Test
+    void shouldNotAskForReplicateWhenNoComputeSlotIsReleased() {
+        when(replicateAdmissionService.releaseComputeSlot(CHAIN_TASK_ID)).thenReturn(false);
+
+        replicateDemandService.releaseComputeSlot(CHAIN_TASK_ID);
+
+        verify(replicateDemandService, never()).requestReplicate();
+    }
     // endregion
 
     // region askForReplicate()
     @Test
     void shouldAskForReplicate() {
         ReplicateTaskSummary replicateTaskSummary = getStubReplicateTaskSummary();
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
         when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
-        when(iexecHubService.hasEnoughGas()).thenReturn(true);
         when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER))
                 .thenReturn(Optional.of(replicateTaskSummary));
         when(contributionService.isChainTaskInitialized(CHAIN_TASK_ID)).thenReturn(true);
+        final TaskDescription taskDescription = TaskDescription.builder().chainTaskId(CHAIN_TASK_ID).build();
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
 
         replicateDemandService.askForReplicate();
 
+        verify(replicateAdmissionService).reserve(taskDescription);
+        verify(taskManagerService).prefetch(taskDescription);
         verify(subscriptionService).subscribeToTopic(CHAIN_TASK_ID);
         verify(applicationEventPublisher).publishEvent(taskNotificationCaptor.capture());
         Assertions.assertThat(taskNotificationCaptor.getValue().getChainTaskId())
@@ -100,8 +223,19 @@ class ReplicateDemandServiceTests {
                 .getSmsUrl()).isEqualTo(replicateTaskSummary.getSmsUrl());
     }
 
+    @Test
+    void shouldNotAskForReplicateSinceHostIsSaturated() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(false);
+
+        replicateDemandService.askForReplicate();
+
+        verifyNoInteractions(iexecHubService, coreFeignClient);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void shouldNotAskForReplicateSinceLocalBlockchainNotSynchronized() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
         when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
 
         replicateDemandService.askForReplicate();
@@ -111,25 +245,31 @@ class ReplicateDemandServiceTests {
     }
 
     @Test
-    void shouldNotAskForReplicateSinceWalletIsDry() {
+    void shouldStartTaskWithoutCheckingGas() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
         when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
-        when(iexecHubService.hasEnoughGas()).thenReturn(false);
+        when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER))
+                .thenReturn(Optional.of(getStubReplicateTaskSummary()));
+        when(contributionService.isChainTaskInitialized(CHAIN_TASK_ID)).thenReturn(true);
 
         replicateDemandService.askForReplicate();
 
-        verify(subscriptionService, never()).subscribeToTopic(anyString());
-        verify(applicationEventPublisher, never()).publishEvent(any());
+        verify(iexecHubService, never()).hasEnoughGas();
+        verify(subscriptionService).subscribeToTopic(CHAIN_TASK_ID);
+        verify(applicationEventPublisher).publishEvent(taskNotificationCaptor.capture());
+        Assertions.assertThat(taskNotificationCaptor.getValue().getTaskNotificationType()).isEqualTo(PLEASE_START);
     }
 
     @Test
     void shouldNotAskForReplicateSinceNoAvailableReplicate() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
         when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
-        when(iexecHubService.hasEnoughGas()).thenReturn(true);
         when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER))
                 .thenReturn(Optional.empty());
 
         replicateDemandService.askForReplicate();
 
+        verify(iexecHubService, never()).hasEnoughGas();
         verify(subscriptionService, never()).subscribeToTopic(anyString());
         verify(applicationEventPublisher, never()).publishEvent(any());
     }
@@ -137,8 +277,8 @@ class ReplicateDemandServiceTests {
     @Test
     void shouldNotAskForReplicateSinceTaskIsNotInitialized() {
         ReplicateTaskSummary replicateTaskSummary = getStubReplicateTaskSummary();
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
         when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
-        when(iexecHubService.hasEnoughGas()).thenReturn(true);
         when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER))
                 .thenReturn(Optional.of(replicateTaskSummary));
         when(contributionService.isChainTaskInitialized(CHAIN_TASK_ID)).thenReturn(false);
@@ -149,6 +289,67 @@ class ReplicateDemandServiceTests {
         verify(applicationEventPublisher, never()).publishEvent(any());
     }
 
+    // endregion
+
+    // region backoff
+    @Test
+    void shouldBackOffWhileNoReplicateIsAvailable() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
+        when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
+        when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 10; i++) {
+            final long before = System.currentTimeMillis();
+            replicateDemandService.askForReplicate();
+            final long backoff = replicateDemandService.getNextAskTime() - before;
+            final long expectedMaxBackoff = Math.min(ASK_FOR_REPLICATE_PERIOD << i, MAX_BACKOFF.toMillis());
+            Assertions.assertThat(backoff).isBetween(expectedMaxBackoff / 2, expectedMaxBackoff + 100);
+        }
+    }
+
+    @Test
+    void shouldSkipAskForReplicateWhileBackingOff() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
+        when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
+        when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER)).thenReturn(Optional.empty());
+        replicateDemandService.askForReplicate();
+
+        replicateDemandService.triggerAskForReplicate();
+
+        verify(replicateDemandService, never()).requestReplicate();
+    }
+
+    @Test
+    void shouldResetBackoffWhenReplicateIsReceived() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
+        when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
+        when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(getStubReplicateTaskSummary()));
+        when(contributionService.isChainTaskInitialized(CHAIN_TASK_ID)).thenReturn(true);
+
+        replicateDemandService.askForReplicate();
+        Assertions.assertThat(replicateDemandService.getNextAskTime()).isPositive();
+        replicateDemandService.askForReplicate();
+
+        Assertions.assertThat(replicateDemandService.getNextAskTime()).isZero();
+    }
+
+    @Test
+    void shouldResetBackoffWhenComputeSlotIsReleased() {
+        when(replicateAdmissionService.canAcceptNewReplicate()).thenReturn(true);
+        when(iexecHubService.getLatestBlockNumber()).thenReturn(BLOCK_NUMBER);
+        when(coreFeignClient.getAvailableReplicateTaskSummary(BLOCK_NUMBER)).thenReturn(Optional.empty());
+        when(replicateAdmissionService.releaseComputeSlot(CHAIN_TASK_ID)).thenReturn(true);
+        doNothing().when(replicateDemandService).requestReplicate();
+        replicateDemandService.askForReplicate();
+
+        replicateDemandService.releaseComputeSlot(CHAIN_TASK_ID);
+
+        Assertions.assertThat(replicateDemandService.getNextAskTime()).isZero();
+    }
+    // endregion
+
     private WorkerpoolAuthorization getStubAuth() {
         return WorkerpoolAuthorization.builder()
                 .chainTaskId(CHAIN_TASK_ID)
@@ -161,6 +362,5 @@ class ReplicateDemandServiceTests {
                 .smsUrl(SMS_URL)
                 .build();
     }
-    // endregion
 
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.replicate;
+
+import com.iexec.common.replicate.ReplicateStatus;
+import com.iexec.common.replicate.ReplicateStatusUpdate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.iexec.common.replicate.ReplicateStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicateStatusJournalTests {
+
+    private static final String CHAIN_TASK_ID = "0xfoobar";
+
+    @TempDir
+    private Path tempDir;
+
+    private ReplicateStatusJournal newJournal(final int capacity) {
+        return new ReplicateStatusJournal(tempDir.resolve("outbox.journal"), capacity);
+    }
+
+    @Test
+    void shouldReadOnlyPendingRecordsAfterReopen() {
+        final ReplicateStatusJournal journal = newJournal(64 * 1024);
+        assertThat(journal.open()).isEmpty();
+        final long computing = journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(COMPUTING));
+        journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(COMPUTED));
+        journal.markDelivered(computing);
+
+        final List<ReplicateStatusJournal.JournalRecord> records = newJournal(64 * 1024).open();
+
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).chainTaskId()).isEqualTo(CHAIN_TASK_ID);
+        assertThat(records.get(0).statusUpdate().getStatus()).isEqualTo(COMPUTED);
+    }
+
+    @Test
+    void shouldSkipUnreadableRecordAndReadFollowingOnes() throws IOException {
+        final ReplicateStatusJournal journal = newJournal(64 * 1024);
+        journal.open();
+        journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(COMPUTING));
+        journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(COMPUTED));
+        journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(CONTRIBUTING));
+        // corrupt the payload of the second record, laid out as [int length][byte state][payload]
+        try (RandomAccessFile file = new RandomAccessFile(tempDir.resolve("outbox.journal").toFile(), "rw")) {
+            final int secondRecord = Integer.BYTES + 1 + file.readInt();
+            file.seek(secondRecord + Integer.BYTES + 1);
+            file.write('#');
+        }
+
+        final List<ReplicateStatusJournal.JournalRecord> records = newJournal(64 * 1024).open();
+
+        assertThat(records).extracting(record -> record.statusUpdate().getStatus())
+                .containsExactly(COMPUTING, CONTRIBUTING);
+        assertThat(newJournal(64 * 1024).open()).hasSize(2);
+    }
+
+    @Test
+    void shouldCompactWhenJournalIsFull() {
+        final ReplicateStatusJournal journal = newJournal(1024);
+        journal.open();
+        for (int i = 0; i < 100; i++) {
+            final long id = journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(ReplicateStatus.CONTRIBUTING));
+            assertThat(id).isNotEqualTo(ReplicateStatusJournal.NOT_PERSISTED);
+            journal.markDelivered(id);
+        }
+        journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(CONTRIBUTED));
+
+        final List<ReplicateStatusJournal.JournalRecord> records = newJournal(1024).open();
+
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).statusUpdate().getStatus()).isEqualTo(CONTRIBUTED);
+    }
+
+    @Test
+    void shouldNotPersistRecordWhenJournalIsFullOfPendingRecords() {
+        final ReplicateStatusJournal journal = newJournal(1024);
+        journal.open();
+        long id;
+        do {
+            id = journal.append(CHAIN_TASK_ID, new ReplicateStatusUpdate(REVEALING));
+        } while (id != ReplicateStatusJournal.NOT_PERSISTED);
+
+        assertThat(journal.getPendingCount()).isPositive();
+        assertThat(newJournal(1024).open()).hasSize(journal.getPendingCount());
+    }
+}
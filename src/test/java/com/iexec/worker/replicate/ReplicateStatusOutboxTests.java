@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.replicate;
+
+import com.iexec.common.replicate.ReplicateStatus;
+import com.iexec.common.replicate.ReplicateStatusUpdate;
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.core.notification.TaskNotificationType;
+import com.iexec.worker.chain.IexecHubService;
+import com.iexec.worker.feign.CustomCoreFeignClient;
+import com.iexec.worker.pubsub.SubscriptionService;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.iexec.common.replicate.ReplicateStatus.COMPUTED;
+import static com.iexec.common.replicate.ReplicateStatus.COMPUTING;
+import static com.iexec.core.notification.TaskNotificationType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicateStatusOutboxTests {
+
+    private static final String CHAIN_TASK_ID = "0xfoobar";
+    private static final Duration RETRY_DELAY = Duration.ofMillis(10);
+
+    @TempDir
+    private Path tempDir;
+    @Mock
+    private CustomCoreFeignClient customCoreFeignClient;
+    @Mock
+    private SubscriptionService subscriptionService;
+    @Mock
+    private IexecHubService iexecHubService;
+
+    private ReplicateStatusOutbox outbox;
+
+    private final TaskDescription taskDescription = TaskDescription.builder()
+            .chainTaskId(CHAIN_TASK_ID)
+            .finalDeadline(Instant.now().plus(10, ChronoUnit.SECONDS).toEpochMilli())
+            .build();
+
+    @BeforeEach
+    void init() {
+        outbox = newOutbox();
+    }
+
+    @AfterEach
+    void shutdown() {
+        outbox.shutdown();
+    }
+
+    private ReplicateStatusOutbox newOutbox() {
+        final ReplicateStatusOutbox replicateStatusOutbox = new ReplicateStatusOutbox(
+                customCoreFeignClient, subscriptionService, iexecHubService, newJournal(), RETRY_DELAY);
+        replicateStatusOutbox.recoverPendingUpdates();
+        return replicateStatusOutbox;
+    }
+
+    private ReplicateStatusJournal newJournal() {
+        return new ReplicateStatusJournal(tempDir.resolve(ReplicateStatusOutbox.JOURNAL_FILENAME), 64 * 1024);
+    }
+
+    private ReplicateStatusUpdate getStatusUpdate(final ReplicateStatus status) {
+        return ReplicateStatusUpdate.builder()
+                .status(status)
+                .date(new Date())
+                .build();
+    }
+
+    @Test
+    void shouldDeliverUpdateAndReturnNextAction() {
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
+        when(customCoreFeignClient.updateReplicateStatus(eq(CHAIN_TASK_ID), any())).thenReturn(PLEASE_CONTRIBUTE);
+
+        final CompletableFuture<TaskNotificationType> next = outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTED));
+
+        assertThat(next).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo(PLEASE_CONTRIBUTE);
+        await().atMost(1, TimeUnit.SECONDS).until(() -> outbox.getPendingCount() == 0);
+    }
+
+    @Test
+    void shouldRetryUpdateUntilAchieved() {
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
+        when(customCoreFeignClient.updateReplicateStatus(eq(CHAIN_TASK_ID), any()))
+                .thenReturn(null)
+                .thenReturn(null)
+                .thenReturn(PLEASE_WAIT);
+
+        final CompletableFuture<TaskNotificationType> next = outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTED));
+
+        assertThat(next).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo(PLEASE_WAIT);
+        verify(customCoreFeignClient, times(3)).updateReplicateStatus(eq(CHAIN_TASK_ID), any());
+    }
+
+    @Test
+    void shouldDeliverUpdateWhileRetryingUpdatesOfMoreTasksThanDeliveryThreads() {
+        when(iexecHubService.getTaskDescription(anyString())).thenReturn(taskDescription);
+        when(customCoreFeignClient.updateReplicateStatus(anyString(), any()))
+                .thenAnswer(invocation -> CHAIN_TASK_ID.equals(invocation.getArgument(0)) ? PLEASE_CONTRIBUTE : null);
+
+        for (int i = 0; i < 16; i++) {
+            outbox.submit("0xunreachable" + i, getStatusUpdate(COMPUTED));
+        }
+        final CompletableFuture<TaskNotificationType> next = outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTED));
+
+        assertThat(next).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo(PLEASE_CONTRIBUTE);
+    }
+
+    @Test
+    void shouldCoalesceInProgressStatusWhileCoreIsUnreachable() {
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
+        when(customCoreFeignClient.updateReplicateStatus(eq(CHAIN_TASK_ID), argThat(update -> update.getStatus() == COMPUTING)))
+                .thenReturn(null);
+        when(customCoreFeignClient.updateReplicateStatus(eq(CHAIN_TASK_ID), argThat(update -> update.getStatus() == COMPUTED)))
+                .thenReturn(PLEASE_CONTRIBUTE);
+
+        final CompletableFuture<TaskNotificationType> computing = outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTING));
+        verify(customCoreFeignClient, timeout(1000)).updateReplicateStatus(eq(CHAIN_TASK_ID),
+                argThat(update -> update.getStatus() == COMPUTING));
+        final CompletableFuture<TaskNotificationType> computed = outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTED));
+
+        assertThat(computing).succeedsWithin(1, TimeUnit.SECONDS).isNull();
+        assertThat(computed).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo(PLEASE_CONTRIBUTE);
+        verify(customCoreFeignClient, times(1)).updateReplicateStatus(eq(CHAIN_TASK_ID),
+                argThat(update -> update.getStatus() == COMPUTED));
+    }
+
+    @Test
+    void shouldDropUpdatesWhenFinalDeadlineReached() {
+        final TaskDescription expiredTaskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .finalDeadline(Instant.now().minus(1, ChronoUnit.SECONDS).toEpochMilli())
+                .build();
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(expiredTaskDescription);
+
+        final CompletableFuture<TaskNotificationType> next = outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTED));
+
+        assertThat(next).succeedsWithin(1, TimeUnit.SECONDS).isNull();
+        verifyNoInteractions(customCoreFeignClient);
+    }
+
+    @Test
+    void shouldSendAgainPendingUpdatesAfterRestart() throws InterruptedException {
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
+        doThrow(InterruptedException.class).when(subscriptionService).waitForSessionReady();
+        outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTED));
+        verify(subscriptionService, timeout(1000)).waitForSessionReady();
+        outbox.shutdown();
+
+        reset(subscriptionService);
+        when(customCoreFeignClient.updateReplicateStatus(eq(CHAIN_TASK_ID), any())).thenReturn(PLEASE_CONTRIBUTE);
+        outbox = newOutbox();
+
+        verify(customCoreFeignClient, timeout(1000)).updateReplicateStatus(eq(CHAIN_TASK_ID),
+                argThat(update -> update.getStatus() == COMPUTED));
+        await().atMost(1, TimeUnit.SECONDS).until(() -> outbox.getPendingCount() == 0);
+        assertThat(newJournal().open()).isEmpty();
+    }
+
+    // region isFinalDeadlineReached
+    @Test
+    void shouldFinalDeadlineBeReached() {
+        final TaskDescription expiredTaskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .finalDeadline(Instant.now().minus(1, ChronoUnit.SECONDS).toEpochMilli())
+                .build();
+
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(expiredTaskDescription);
+
+        assertThat(outbox.isFinalDeadlineReached(CHAIN_TASK_ID)).isTrue();
+    }
+
+    @Test
+    void shouldFinalDeadlineNotBeReached() {
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
+        assertThat(outbox.isFinalDeadlineReached(CHAIN_TASK_ID)).isFalse();
+    }
+    // endregion
+
+    // region STOMP not ready
+    @Test
+    void shouldStopDeliveryWhenInterruptedThread() throws InterruptedException {
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
+        doThrow(InterruptedException.class).when(subscriptionService).waitForSessionReady();
+
+        final CompletableFuture<TaskNotificationType> next = outbox.submit(CHAIN_TASK_ID, getStatusUpdate(COMPUTING));
+
+        verify(subscriptionService, timeout(1000)).waitForSessionReady();
+        assertThatThrownBy(() -> next.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        verifyNoInteractions(customCoreFeignClient);
+    }
+
+    @Test
+    void shouldResumeUpdateWhenStompReady() throws InterruptedException {
+        final ReplicateStatusUpdate statusUpdate = getStatusUpdate(COMPUTING);
+
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
+        when(customCoreFeignClient.updateReplicateStatus(CHAIN_TASK_ID, statusUpdate))
+                .thenReturn(PLEASE_CONTINUE);
+
+        final AtomicBoolean stompReady = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            // Wait until fake signal is emitted
+            Awaitility.waitAtMost(1, TimeUnit.SECONDS)
+                    .untilTrue(stompReady);
+            return null;
+        }).when(subscriptionService).waitForSessionReady();
+
+        final CompletableFuture<TaskNotificationType> future = outbox.submit(CHAIN_TASK_ID, statusUpdate);
+
+        // Still waiting for the update to be sent
+        assertThatThrownBy(() -> future.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        // Stomp is now ready, update can resume
+        stompReady.set(true);
+
+        // Update should have completed
+        assertThat(future).succeedsWithin(1, TimeUnit.SECONDS).isEqualTo(PLEASE_CONTINUE);
+    }
+    // endregion
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.commons.poco.chain.ChainTask;
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.worker.chain.ChainStateCache;
+import com.iexec.worker.chain.IexecHubService;
+import com.iexec.worker.utils.DeadlineTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static com.iexec.core.notification.TaskNotificationType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDeadlineServiceTests {
+
+    private static final String CHAIN_TASK_ID = "0x1";
+
+    @Mock
+    private ChainStateCache chainStateCache;
+    @Mock
+    private IexecHubService iexecHubService;
+    @InjectMocks
+    private TaskDeadlineService taskDeadlineService;
+
+    @Test
+    void shouldGetOnChainDeadlineOfStage() {
+        when(chainStateCache.getChainTask(CHAIN_TASK_ID)).thenReturn(Optional.of(ChainTask.builder()
+                .contributionDeadline(1_000L)
+                .revealDeadline(2_000L)
+                .finalDeadline(3_000L)
+                .build()));
+
+        assertThat(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_DOWNLOAD_APP)).isEqualTo(1_000L);
+        assertThat(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_CONTRIBUTE)).isEqualTo(1_000L);
+        assertThat(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_REVEAL)).isEqualTo(2_000L);
+        assertThat(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_UPLOAD)).isEqualTo(3_000L);
+    }
+
+    @Test
+    void shouldGetFinalDeadlineOfTaskDescriptionWhenNotSetOnChain() {
+        when(chainStateCache.getChainTask(CHAIN_TASK_ID)).thenReturn(Optional.of(ChainTask.builder().build()));
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID))
+                .thenReturn(TaskDescription.builder().finalDeadline(3_000L).build());
+
+        assertThat(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_START)).isEqualTo(3_000L);
+    }
+
+    @Test
+    void shouldGetNoDeadlineWhenTaskIsUnknown() {
+        when(chainStateCache.getChainTask(CHAIN_TASK_ID)).thenReturn(Optional.empty());
+
+        assertThat(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_COMPUTE)).isEqualTo(DeadlineTask.NO_DEADLINE);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,8 +45,11 @@ import com.iexec.worker.sms.SmsService;
 import com.iexec.worker.sms.TeeSessionGenerationException;
 import com.iexec.worker.tee.TeeService;
 import com.iexec.worker.tee.TeeServicesManager;
+import com.iexec.worker.workflow.CancellationToken;
+import com.iexec.worker.workflow.TaskCancellationService;
 import com.iexec.worker.workflow.WorkflowError;
 import com.iexec.worker.workflow.WorkflowException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -55,12 +58,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static com.iexec.common.replicate.ReplicateStatusCause.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -98,10 +107,21 @@ class TaskManagerServiceTests {
     private SmsService smsService;
     @Mock
     private PurgeService purgeService;
+    @Mock
+    private TaskDeadlineService taskDeadlineService;
+    @Mock
+    private TaskTimeBudgetService taskTimeBudgetService;
+    @Mock
+    private TaskCancellationService taskCancellationService;
 
     @Mock
     private TeeService teeMockedService;
 
+    @AfterEach
+    void shutdown() {
+        taskManagerService.shutdown();
+    }
+
     TaskDescription.TaskDescriptionBuilder getTaskDescriptionBuilder(final OrderTag tag) {
         final DealParams dealParams = DealParams.builder()
                 .iexecInputFiles(List.of("https://ab.cd/ef.jpeg"))
@@ -140,6 +160,7 @@ class TaskManagerServiceTests {
     void shouldStartStandardTask() {
         when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
                 .thenReturn(emptyCauses);
+        when(iexecHubService.hasEnoughGas()).thenReturn(true);
 
         ReplicateActionResponse actionResponse =
                 taskManagerService.start(getTaskDescriptionBuilder(OrderTag.STANDARD).build());
@@ -175,18 +196,33 @@ class TaskManagerServiceTests {
         assertThat(actionResponse.getDetails().getCause()).isEqualTo(TASK_DESCRIPTION_INVALID);
     }
 
+    @Test
+    void shouldNotStartSinceWalletIsDry() {
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(iexecHubService.hasEnoughGas()).thenReturn(false);
+
+        final ReplicateActionResponse actionResponse =
+                taskManagerService.start(getTaskDescriptionBuilder(OrderTag.STANDARD).build());
+
+        assertThat(actionResponse.isSuccess()).isFalse();
+        assertThat(actionResponse.getDetails().getCause()).isEqualTo(OUT_OF_GAS);
+    }
+
     @ParameterizedTest
     @EnumSource(value = OrderTag.class, names = {"TEE_SCONE", "TEE_TDX"})
     void shouldStartTeeTask(final OrderTag orderTag) {
         when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
                 .thenReturn(emptyCauses);
+        when(iexecHubService.hasEnoughGas()).thenReturn(true);
         when(teeServicesManager.getTeeService(any())).thenReturn(teeMockedService);
         when(teeMockedService.areTeePrerequisitesMetForTask(CHAIN_TASK_ID)).thenReturn(emptyCauses);
 
         final ReplicateActionResponse actionResponse = taskManagerService.start(getTaskDescriptionBuilder(orderTag).build());
 
         assertThat(actionResponse.isSuccess()).isTrue();
-        verifyNoInteractions(iexecHubService);
+        verify(iexecHubService).hasEnoughGas();
+        verifyNoMoreInteractions(iexecHubService);
     }
 
     @ParameterizedTest
@@ -194,6 +230,7 @@ class TaskManagerServiceTests {
     void shouldNotStartSinceTeePrerequisitesAreNotMet(final OrderTag orderTag) {
         when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
                 .thenReturn(emptyCauses);
+        when(iexecHubService.hasEnoughGas()).thenReturn(true);
         when(teeServicesManager.getTeeService(any())).thenReturn(teeMockedService);
         when(teeMockedService.areTeePrerequisitesMetForTask(CHAIN_TASK_ID))
                 .thenReturn(List.of(new WorkflowError(TEE_NOT_SUPPORTED)));
@@ -209,6 +246,7 @@ class TaskManagerServiceTests {
     void shouldNotStartSinceTeeSessionCreationFailed(final OrderTag orderTag) throws TeeSessionGenerationException {
         when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
                 .thenReturn(emptyCauses);
+        when(iexecHubService.hasEnoughGas()).thenReturn(true);
         when(teeServicesManager.getTeeService(any())).thenReturn(teeMockedService);
         when(teeMockedService.areTeePrerequisitesMetForTask(CHAIN_TASK_ID))
                 .thenReturn(emptyCauses);
@@ -238,6 +276,66 @@ class TaskManagerServiceTests {
         verifyNoInteractions(iexecHubService);
     }
 
+    @Test
+    void shouldUsePrefetchedApp() {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.STANDARD).build();
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(computeManagerService.downloadApp(taskDescription))
+                .thenReturn(true);
+
+        taskManagerService.prefetch(taskDescription);
+        ReplicateActionResponse actionResponse =
+                taskManagerService.downloadApp(taskDescription);
+
+        assertThat(actionResponse.isSuccess()).isTrue();
+        verify(computeManagerService, times(1)).downloadApp(taskDescription);
+    }
+
+    @Test
+    void shouldCancelPrefetchedAppExceedingDownloadBudget() throws InterruptedException {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.TEE_SCONE).build();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(taskTimeBudgetService.getDownloadBudget(CHAIN_TASK_ID))
+                .thenReturn(Optional.of(Duration.ofMillis(100)));
+        when(computeManagerService.downloadApp(taskDescription)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return false;
+        });
+
+        taskManagerService.prefetch(taskDescription);
+        ReplicateActionResponse actionResponse =
+                taskManagerService.downloadApp(taskDescription);
+
+        assertThat(actionResponse).isEqualTo(ReplicateActionResponse.failure(CONTRIBUTION_TIMEOUT));
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        verify(computeManagerService, times(1)).downloadApp(taskDescription);
+    }
+
+    @Test
+    void shouldDownloadAppAgainWhenPrefetchFailed() {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.TEE_SCONE).build();
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(computeManagerService.downloadApp(taskDescription))
+                .thenReturn(false)
+                .thenReturn(true);
+
+        taskManagerService.prefetch(taskDescription);
+        ReplicateActionResponse actionResponse =
+                taskManagerService.downloadApp(taskDescription);
+
+        assertThat(actionResponse.isSuccess()).isTrue();
+        verify(computeManagerService, times(2)).downloadApp(taskDescription);
+        verifyNoInteractions(dataService);
+    }
+
     @Test
     void shouldNotDownloadAppSinceCannotContributionStatusIsPresent() {
         when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
@@ -527,6 +625,110 @@ class TaskManagerServiceTests {
         verify(dataService).downloadStandardDataset(taskDescription);
     }
 
+    // prefetched data
+
+    @Test
+    void shouldAwaitPrefetchedData() throws Exception {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.STANDARD).build();
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(dataService.downloadStandardDataset(taskDescription))
+                .thenReturn(PATH_TO_DOWNLOADED_FILE);
+
+        taskManagerService.prefetch(taskDescription);
+        verify(dataService, timeout(1000)).downloadStandardInputFiles(anyString(), anyList());
+        ReplicateActionResponse actionResponse =
+                taskManagerService.downloadData(taskDescription);
+
+        assertThat(actionResponse.isSuccess()).isTrue();
+        verify(dataService).downloadStandardDataset(taskDescription);
+        verify(dataService).downloadStandardInputFiles(anyString(), anyList());
+    }
+
+    @Test
+    void shouldReportFailureOfPrefetchedData() throws Exception {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.STANDARD).build();
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(dataService.downloadStandardDataset(taskDescription))
+                .thenThrow(new WorkflowException(DATASET_FILE_BAD_CHECKSUM));
+        when(resultService.writeErrorToIexecOut(anyString(), any(), any()))
+                .thenReturn(true);
+        when(computeManagerService.runPostCompute(taskDescription))
+                .thenReturn(PostComputeResponse.builder().build());
+
+        taskManagerService.prefetch(taskDescription);
+        ReplicateActionResponse actionResponse =
+                taskManagerService.downloadData(taskDescription);
+
+        assertThat(actionResponse.isSuccess()).isFalse();
+        assertThat(actionResponse.getDetails().getCause())
+                .isEqualTo(DATASET_FILE_BAD_CHECKSUM);
+        verify(dataService).downloadStandardDataset(taskDescription);
+    }
+
+    @Test
+    void shouldReportUnexpectedFailureOfPrefetchedDataAsDownloadFailure() throws Exception {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.STANDARD).build();
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(dataService.downloadStandardDataset(taskDescription))
+                .thenThrow(new IllegalStateException("unexpected"));
+        when(resultService.writeErrorToIexecOut(anyString(), any(), any()))
+                .thenReturn(true);
+        when(computeManagerService.runPostCompute(taskDescription))
+                .thenReturn(PostComputeResponse.builder().build());
+
+        taskManagerService.prefetch(taskDescription);
+        ReplicateActionResponse actionResponse =
+                taskManagerService.downloadData(taskDescription);
+
+        assertThat(actionResponse.isSuccess()).isFalse();
+        assertThat(actionResponse.getDetails().getCause())
+                .isEqualTo(DATASET_FILE_DOWNLOAD_FAILED);
+    }
+
+    @Test
+    void shouldRethrowCancellationOfPrefetchedData() throws Exception {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.STANDARD).build();
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(dataService.downloadStandardDataset(taskDescription))
+                .thenThrow(new CancellationException("cancelled"));
+
+        taskManagerService.prefetch(taskDescription);
+
+        assertThatThrownBy(() -> taskManagerService.downloadData(taskDescription))
+                .isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void shouldRethrowCancellationWhenTokenIsCancelledDuringDataPrefetch() throws Exception {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.STANDARD).build();
+        final CancellationToken token = new CancellationToken();
+        final CountDownLatch started = new CountDownLatch(1);
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(dataService.downloadStandardDataset(taskDescription)).thenAnswer(invocation -> token.run(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+
+        taskManagerService.prefetch(taskDescription);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(token::cancel, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        assertThatThrownBy(() -> taskManagerService.downloadData(taskDescription))
+                .isInstanceOf(CancellationException.class);
+        verify(computeManagerService, never()).runPostCompute(any());
+        verify(resultService, never()).writeErrorToIexecOut(anyString(), any(), any());
+    }
+
     // with input files
 
     @Test
@@ -701,6 +903,20 @@ class TaskManagerServiceTests {
                 .isEqualTo(ReplicateActionResponse.failure(replicateStatusCause));
     }
 
+    @Test
+    void shouldNotComputeSinceContributionDeadlineCannotBeMet() {
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(taskTimeBudgetService.isContributionDeadlineUnreachable(CHAIN_TASK_ID, "compute"))
+                .thenReturn(true);
+
+        final ReplicateActionResponse replicateActionResponse =
+                taskManagerService.compute(getTaskDescriptionBuilder(OrderTag.STANDARD).build());
+
+        assertThat(replicateActionResponse).isEqualTo(ReplicateActionResponse.failure(CONTRIBUTION_TIMEOUT));
+        verifyNoInteractions(computeManagerService);
+    }
+
     @Test
     void shouldNotComputeSinceAppNotDownloaded() {
         final TaskDescription taskDescription = TaskDescription.builder().chainTaskId(CHAIN_TASK_ID).build();
@@ -856,6 +1072,29 @@ class TaskManagerServiceTests {
                         .success(chainReceipt));
     }
 
+    @Test
+    void shouldContributeWithPreparedContribution() {
+        Contribution contribution = mock(Contribution.class);
+        ChainReceipt chainReceipt =
+                ChainReceipt.builder().blockNumber(10).build();
+        when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
+                .thenReturn(emptyCauses);
+        when(iexecHubService.hasEnoughGas()).thenReturn(true);
+        when(contributionService.getPreparedContribution(CHAIN_TASK_ID))
+                .thenReturn(Optional.of(contribution));
+        when(contributionService.contribute(contribution))
+                .thenReturn(Optional.of(chainReceipt));
+
+        ReplicateActionResponse replicateActionResponse =
+                taskManagerService.contribute(CHAIN_TASK_ID);
+
+        assertThat(replicateActionResponse)
+                .isEqualTo(ReplicateActionResponse.success(chainReceipt));
+        verify(resultService, never()).getComputedFile(CHAIN_TASK_ID);
+        verify(contributionService, never()).getContribution(any());
+        verify(revealService).watchConsensus(eq(CHAIN_TASK_ID), any());
+    }
+
     @Test
     void shouldNotContributeSinceCannotContributeStatusIsPresent() {
         when(contributionService.getCannotContributeStatusCause(CHAIN_TASK_ID))
@@ -995,6 +1234,32 @@ class TaskManagerServiceTests {
                 .isEqualTo(ReplicateActionResponse.success(chainReceipt));
     }
 
+    @Test
+    void shouldRevealWithoutPollingWhenConsensusIsWatched() {
+        long consensusBlock = 20;
+        TaskNotificationExtra extra = TaskNotificationExtra.builder().blockNumber(consensusBlock).build();
+        String resultDigest = "resultDigest";
+        ComputedFile computedFile = ComputedFile.builder().resultDigest(resultDigest).build();
+        ChainReceipt chainReceipt =
+                ChainReceipt.builder().blockNumber(10).build();
+        when(resultService.getComputedFile(CHAIN_TASK_ID))
+                .thenReturn(computedFile);
+        when(revealService.isConsensusBlockReached(CHAIN_TASK_ID, consensusBlock))
+                .thenReturn(true);
+        when(revealService.isRevealReady(CHAIN_TASK_ID, resultDigest))
+                .thenReturn(true);
+        when(iexecHubService.hasEnoughGas()).thenReturn(true);
+        when(revealService.reveal(CHAIN_TASK_ID, resultDigest))
+                .thenReturn(Optional.of(chainReceipt));
+
+        ReplicateActionResponse replicateActionResponse =
+                taskManagerService.reveal(CHAIN_TASK_ID, extra);
+
+        assertThat(replicateActionResponse)
+                .isEqualTo(ReplicateActionResponse.success(chainReceipt));
+        verify(revealService, never()).repeatCanReveal(anyString(), anyString());
+    }
+
     @Test
     void shouldNotRevealSinceNoConsensusBlock() {
         long consensusBlock = 0;
@@ -1385,11 +1650,34 @@ class TaskManagerServiceTests {
         verify(purgeService).purgeAllServices(CHAIN_TASK_ID);
     }
 
+    @Test
+    void shouldCancelPrefetchWhenAbortingTask() throws InterruptedException {
+        final TaskDescription taskDescription = getTaskDescriptionBuilder(OrderTag.TEE_SCONE).build();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(computeManagerService.downloadApp(taskDescription)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return false;
+        });
+        when(computeManagerService.abort(CHAIN_TASK_ID)).thenReturn(true);
+        when(purgeService.purgeAllServices(CHAIN_TASK_ID)).thenReturn(true);
+
+        taskManagerService.prefetch(taskDescription);
+        verify(computeManagerService, timeout(1000)).downloadApp(taskDescription);
+
+        assertThat(taskManagerService.abort(CHAIN_TASK_ID)).isTrue();
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
     @Test
     void shouldAbortTask() {
         when(computeManagerService.abort(CHAIN_TASK_ID)).thenReturn(true);
         when(purgeService.purgeAllServices(CHAIN_TASK_ID)).thenReturn(true);
         assertThat(taskManagerService.abort(CHAIN_TASK_ID)).isTrue();
+        verify(taskCancellationService).cancel(CHAIN_TASK_ID);
         verify(computeManagerService).abort(CHAIN_TASK_ID);
         verify(purgeService).purgeAllServices(CHAIN_TASK_ID);
     }
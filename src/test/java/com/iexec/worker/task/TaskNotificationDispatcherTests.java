@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.core.notification.TaskNotification;
+import com.iexec.core.notification.TaskNotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.iexec.core.notification.TaskNotificationType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskNotificationDispatcherTests {
+
+    private static final String CHAIN_TASK_ID_1 = "0x1";
+    private static final String CHAIN_TASK_ID_2 = "0x2";
+    private static final String CHAIN_TASK_ID_3 = "0x3";
+
+    @Mock
+    private TaskNotificationService taskNotificationService;
+    @Mock
+    private TaskDeadlineService taskDeadlineService;
+
+    private TaskNotificationDispatcher dispatcher;
+
+    @AfterEach
+    void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void shouldNotCreateDispatcherWithoutThreads() {
+        assertThatThrownBy(() -> new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldProcessNotificationsOfTaskInOrderAndOneAtATime() {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 4);
+        final List<TaskNotificationType> processed = new CopyOnWriteArrayList<>();
+        final AtomicInteger concurrentCalls = new AtomicInteger();
+        final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            processed.add(invocation.getArgument(0, TaskNotification.class).getTaskNotificationType());
+            concurrentCalls.decrementAndGet();
+            return null;
+        }).when(taskNotificationService).onTaskNotification(any());
+
+        final List<TaskNotificationType> actions = List.of(
+                PLEASE_START, PLEASE_DOWNLOAD_APP, PLEASE_DOWNLOAD_DATA, PLEASE_COMPUTE, PLEASE_CONTRIBUTE);
+        actions.forEach(action -> dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, action)));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> processed.size() == actions.size());
+        assertThat(processed).isEqualTo(actions);
+        assertThat(maxConcurrentCalls.get()).isOne();
+        assertThat(dispatcher.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void shouldNotBlockOtherTasksWhenOneTaskIsBusy() throws InterruptedException {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 2);
+        final CountDownLatch releaseTask1 = new CountDownLatch(1);
+        final CountDownLatch task2Processed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            final TaskNotification notification = invocation.getArgument(0);
+            if (CHAIN_TASK_ID_1.equals(notification.getChainTaskId())) {
+                releaseTask1.await(5, TimeUnit.SECONDS);
+            } else {
+                task2Processed.countDown();
+            }
+            return null;
+        }).when(taskNotificationService).onTaskNotification(any());
+
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_COMPUTE));
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_CONTRIBUTE));
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_2, PLEASE_START));
+
+        assertThat(task2Processed.await(2, TimeUnit.SECONDS)).isTrue();
+        // second notification of task 1 is still waiting behind the first one
+        await().atMost(2, TimeUnit.SECONDS).until(() -> dispatcher.getQueueDepth() == 1);
+        releaseTask1.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dispatcher.getQueueDepth() == 0);
+    }
+
+    @Test
+    void shouldKeepProcessingAfterFailure() {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 1);
+        final List<TaskNotificationType> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            final TaskNotification notification = invocation.getArgument(0);
+            processed.add(notification.getTaskNotificationType());
+            if (notification.getTaskNotificationType() == PLEASE_START) {
+                throw new IllegalStateException("failure");
+            }
+            return null;
+        }).when(taskNotificationService).onTaskNotification(any());
+
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_START));
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_DOWNLOAD_APP));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> processed.size() == 2);
+        assertThat(processed).containsExactly(PLEASE_START, PLEASE_DOWNLOAD_APP);
+    }
+
+    @Test
+    void shouldRunAbortWithoutWaitingForRunningStageAndDiscardPendingNotifications() throws InterruptedException {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 1);
+        final CountDownLatch computeStarted = new CountDownLatch(1);
+        final CountDownLatch releaseCompute = new CountDownLatch(1);
+        final CountDownLatch abortProcessed = new CountDownLatch(1);
+        final List<TaskNotificationType> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            final TaskNotification notification = invocation.getArgument(0);
+            processed.add(notification.getTaskNotificationType());
+            if (notification.getTaskNotificationType() == PLEASE_COMPUTE) {
+                computeStarted.countDown();
+                releaseCompute.await(5, TimeUnit.SECONDS);
+            } else if (notification.getTaskNotificationType() == PLEASE_ABORT) {
+                abortProcessed.countDown();
+            }
+            return null;
+        }).when(taskNotificationService).onTaskNotification(any());
+
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_COMPUTE));
+        assertThat(computeStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_CONTRIBUTE));
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_ABORT));
+
+        // abort is processed while compute is still running on the only task thread
+        assertThat(abortProcessed.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(dispatcher.getQueueDepth()).isZero();
+        releaseCompute.countDown();
+        // discarded contribute notification is never processed
+        await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> processed.size() == 2);
+        assertThat(processed).containsExactlyInAnyOrder(PLEASE_COMPUTE, PLEASE_ABORT);
+    }
+
+    @Test
+    void shouldRunCompleteAfterRunningStageAndDiscardPendingNotifications() throws InterruptedException {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 1);
+        final CountDownLatch uploadStarted = new CountDownLatch(1);
+        final CountDownLatch releaseUpload = new CountDownLatch(1);
+        final List<TaskNotificationType> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            final TaskNotification notification = invocation.getArgument(0);
+            if (notification.getTaskNotificationType() == PLEASE_UPLOAD) {
+                uploadStarted.countDown();
+                releaseUpload.await(5, TimeUnit.SECONDS);
+            }
+            processed.add(notification.getTaskNotificationType());
+            return null;
+        }).when(taskNotificationService).onTaskNotification(any());
+
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_UPLOAD));
+        assertThat(uploadStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_REVEAL));
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_COMPLETE));
+
+        // complete waits for the running upload
+        assertThat(dispatcher.getQueueDepth()).isZero();
+        await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(processed::isEmpty);
+        releaseUpload.countDown();
+        await().atMost(2, TimeUnit.SECONDS).until(() -> processed.size() == 2);
+        // discarded reveal notification is never processed
+        await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> processed.size() == 2);
+        assertThat(processed).containsExactly(PLEASE_UPLOAD, PLEASE_COMPLETE);
+    }
+
+    @Test
+    void shouldRunCompleteAtOnceWhenNoStageIsRunning() {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 1);
+        final List<TaskNotificationType> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> processed.add(invocation.getArgument(0, TaskNotification.class).getTaskNotificationType()))
+                .when(taskNotificationService).onTaskNotification(any());
+
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_COMPLETE));
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> processed.size() == 1);
+        assertThat(processed).containsExactly(PLEASE_COMPLETE);
+    }
+
+    @Test
+    void shouldStartTaskWithEarliestDeadlineFirst() throws InterruptedException {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 1);
+        final CountDownLatch task1Started = new CountDownLatch(1);
+        final CountDownLatch releaseTask1 = new CountDownLatch(1);
+        final List<String> processed = new CopyOnWriteArrayList<>();
+        when(taskDeadlineService.getDeadline(CHAIN_TASK_ID_1, PLEASE_COMPUTE)).thenReturn(1_000L);
+        when(taskDeadlineService.getDeadline(CHAIN_TASK_ID_2, PLEASE_START)).thenReturn(3_000L);
+        when(taskDeadlineService.getDeadline(CHAIN_TASK_ID_3, PLEASE_START)).thenReturn(2_000L);
+        doAnswer(invocation -> {
+            final TaskNotification notification = invocation.getArgument(0);
+            if (CHAIN_TASK_ID_1.equals(notification.getChainTaskId())) {
+                task1Started.countDown();
+                releaseTask1.await(5, TimeUnit.SECONDS);
+            }
+            processed.add(notification.getChainTaskId());
+            return null;
+        }).when(taskNotificationService).onTaskNotification(any());
+
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_COMPUTE));
+        assertThat(task1Started.await(2, TimeUnit.SECONDS)).isTrue();
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_2, PLEASE_START));
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_3, PLEASE_START));
+        await().atMost(2, TimeUnit.SECONDS).until(() -> dispatcher.getWaitingMailboxCount() == 2);
+        releaseTask1.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> processed.size() == 3);
+        // task 3 has been queued after task 2 but its deadline is nearer
+        assertThat(processed).containsExactly(CHAIN_TASK_ID_1, CHAIN_TASK_ID_3, CHAIN_TASK_ID_2);
+    }
+
+    @Test
+    void shouldNotReadDeadlineOnThreadReceivingNotifications() throws InterruptedException {
+        dispatcher = new TaskNotificationDispatcher(taskNotificationService, taskDeadlineService, 1);
+        final CountDownLatch releaseDeadline = new CountDownLatch(1);
+        final CountDownLatch processed = new CountDownLatch(1);
+        when(taskDeadlineService.getDeadline(CHAIN_TASK_ID_1, PLEASE_START)).thenAnswer(invocation -> {
+            releaseDeadline.await(5, TimeUnit.SECONDS);
+            return 1_000L;
+        });
+        doAnswer(invocation -> {
+            processed.countDown();
+            return null;
+        }).when(taskNotificationService).onTaskNotification(any());
+
+        // returns while the deadline lookup is still blocked
+        dispatcher.onTaskNotification(getTaskNotification(CHAIN_TASK_ID_1, PLEASE_START));
+        assertThat(dispatcher.getQueueDepth()).isOne();
+
+        releaseDeadline.countDown();
+        assertThat(processed.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private TaskNotification getTaskNotification(final String chainTaskId, final TaskNotificationType action) {
+        return TaskNotification.builder()
+                .chainTaskId(chainTaskId)
+                .taskNotificationType(action)
+                .build();
+    }
+}
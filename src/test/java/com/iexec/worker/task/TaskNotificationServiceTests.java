@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2025 IEXEC BLOCKCHAIN TECH
+ * Copyright 2020-2026 IEXEC BLOCKCHAIN TECH
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,21 +16,21 @@
 
 package com.iexec.worker.task;
 
-import com.iexec.common.replicate.ReplicateStatus;
 import com.iexec.common.replicate.ReplicateStatusUpdate;
 import com.iexec.commons.poco.chain.WorkerpoolAuthorization;
 import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.commons.poco.tee.TeeFramework;
 import com.iexec.core.notification.TaskAbortCause;
 import com.iexec.core.notification.TaskNotification;
 import com.iexec.core.notification.TaskNotificationExtra;
 import com.iexec.core.notification.TaskNotificationType;
 import com.iexec.worker.chain.IexecHubService;
 import com.iexec.worker.chain.WorkerpoolAuthorizationService;
-import com.iexec.worker.feign.CustomCoreFeignClient;
-import com.iexec.worker.pubsub.SubscriptionService;
 import com.iexec.worker.replicate.ReplicateActionResponse;
+import com.iexec.worker.replicate.ReplicateDemandService;
+import com.iexec.worker.replicate.ReplicateStatusOutbox;
 import com.iexec.worker.sms.SmsService;
-import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -39,14 +39,12 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Date;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.iexec.common.replicate.ReplicateStatus.CONTRIBUTED;
+import static com.iexec.common.replicate.ReplicateStatus.CONTRIBUTING;
 import static com.iexec.core.notification.TaskNotificationType.*;
-import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -59,9 +57,9 @@ class TaskNotificationServiceTests {
     @Mock
     private TaskManagerService taskManagerService;
     @Mock
-    private CustomCoreFeignClient customCoreFeignClient;
+    private ReplicateStatusOutbox replicateStatusOutbox;
     @Mock
-    private SubscriptionService subscriptionService;
+    private ReplicateDemandService replicateDemandService;
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
     @Mock
@@ -70,7 +68,7 @@ class TaskNotificationServiceTests {
     private IexecHubService iexecHubService;
     @Mock
     private SmsService smsService;
-    @InjectMocks
+    private final TaskStageLedger taskStageLedger = new TaskStageLedger();
     private TaskNotificationService taskNotificationService;
     @Captor
     private ArgumentCaptor<ReplicateStatusUpdate> replicateStatusUpdateCaptor;
@@ -80,6 +78,17 @@ class TaskNotificationServiceTests {
             .finalDeadline(Instant.now().plus(10, ChronoUnit.SECONDS).toEpochMilli())
             .build();
 
+    @BeforeEach
+    void init() {
+        taskNotificationService = newTaskNotificationService(false);
+    }
+
+    private TaskNotificationService newTaskNotificationService(final boolean fusedWorkflowEnabled) {
+        return new TaskNotificationService(taskManagerService, replicateStatusOutbox, replicateDemandService,
+                applicationEventPublisher,
+                workerpoolAuthorizationService, iexecHubService, smsService, taskStageLedger, fusedWorkflowEnabled);
+    }
+
     void mockChainCalls() {
         when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
     }
@@ -92,8 +101,8 @@ class TaskNotificationServiceTests {
 
         taskNotificationService.onTaskNotification(currentNotification);
 
-        verify(customCoreFeignClient, Mockito.times(0))
-                .updateReplicateStatus(anyString(), any(ReplicateStatusUpdate.class));
+        verify(replicateStatusOutbox, Mockito.times(0))
+                .submit(anyString(), any(ReplicateStatusUpdate.class));
         verify(applicationEventPublisher, Mockito.times(0)).publishEvent(any());
     }
 
@@ -161,8 +170,8 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_START);
         when(taskManagerService.start(taskDescription)).thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // STARTED
-                .thenReturn(PLEASE_DOWNLOAD_APP);
+        when(replicateStatusOutbox.submit(anyString(), any())) // STARTED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_DOWNLOAD_APP));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -177,7 +186,7 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_START);
         when(taskManagerService.start(taskDescription)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -191,8 +200,8 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_DOWNLOAD_APP);
         when(taskManagerService.downloadApp(taskDescription)).thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // APP_DOWNLOADED
-                .thenReturn(PLEASE_DOWNLOAD_DATA);
+        when(replicateStatusOutbox.submit(anyString(), any())) // APP_DOWNLOADED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_DOWNLOAD_DATA));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -207,7 +216,7 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_DOWNLOAD_APP);
         when(taskManagerService.downloadApp(taskDescription)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -222,8 +231,8 @@ class TaskNotificationServiceTests {
         TaskNotification currentNotification = getTaskNotification(PLEASE_DOWNLOAD_DATA);
         when(taskManagerService.downloadData(taskDescription))
                 .thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // DATA_DOWNLOADED
-                .thenReturn(PLEASE_COMPUTE);
+        when(replicateStatusOutbox.submit(anyString(), any())) // DATA_DOWNLOADED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_COMPUTE));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -238,7 +247,7 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_DOWNLOAD_DATA);
         when(taskManagerService.downloadData(taskDescription)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -252,27 +261,45 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_COMPUTE);
         when(taskManagerService.compute(taskDescription)).thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // COMPUTED
-                .thenReturn(PLEASE_CONTINUE);
+        when(replicateStatusOutbox.submit(anyString(), any())) // COMPUTED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_CONTINUE));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
         verify(taskManagerService, Mockito.times(1)).compute(taskDescription);
+        verify(replicateDemandService).releaseComputeSlot(CHAIN_TASK_ID);
         TaskNotification nextNotification = getTaskNotification(PLEASE_CONTINUE);
         verify(applicationEventPublisher, Mockito.times(1))
                 .publishEvent(nextNotification);
     }
 
+    @Test
+    void shouldReleaseComputeSlotOnceComputedIsAcknowledged() {
+        mockChainCalls();
+        when(taskManagerService.compute(taskDescription)).thenReturn(ReplicateActionResponse.success());
+        final CompletableFuture<TaskNotificationType> acknowledgement = new CompletableFuture<>();
+        when(replicateStatusOutbox.submit(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null)) // COMPUTING
+                .thenReturn(acknowledgement); // COMPUTED
+
+        taskNotificationService.onTaskNotification(getTaskNotification(PLEASE_COMPUTE));
+
+        verifyNoInteractions(replicateDemandService);
+        acknowledgement.complete(PLEASE_CONTRIBUTE);
+        verify(replicateDemandService).releaseComputeSlot(CHAIN_TASK_ID);
+    }
+
     @Test
     void shouldFailToCompute() {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_COMPUTE);
         when(taskManagerService.compute(taskDescription)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
         verify(taskManagerService).compute(taskDescription);
+        verify(replicateDemandService).releaseComputeSlot(CHAIN_TASK_ID);
         TaskNotification nextNotification = getTaskNotification(PLEASE_ABORT);
         verify(applicationEventPublisher).publishEvent(nextNotification);
     }
@@ -283,8 +310,8 @@ class TaskNotificationServiceTests {
         TaskNotification currentNotification = getTaskNotification(PLEASE_CONTRIBUTE);
         when(taskManagerService.contribute(CHAIN_TASK_ID))
                 .thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // CONTRIBUTED
-                .thenReturn(PLEASE_WAIT);
+        when(replicateStatusOutbox.submit(anyString(), any())) // CONTRIBUTED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_WAIT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -294,12 +321,48 @@ class TaskNotificationServiceTests {
                 .publishEvent(nextNotification);
     }
 
+    @Test
+    void shouldNotContributeAgainOnDuplicateNotification() {
+        mockChainCalls();
+        TaskNotification currentNotification = getTaskNotification(PLEASE_CONTRIBUTE);
+        when(taskManagerService.contribute(CHAIN_TASK_ID))
+                .thenReturn(ReplicateActionResponse.success());
+        when(replicateStatusOutbox.submit(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_WAIT));
+
+        taskNotificationService.onTaskNotification(currentNotification);
+        taskNotificationService.onTaskNotification(currentNotification);
+
+        verify(taskManagerService, Mockito.times(1)).contribute(CHAIN_TASK_ID);
+        verify(replicateStatusOutbox, Mockito.times(3))
+                .submit(eq(CHAIN_TASK_ID), replicateStatusUpdateCaptor.capture());
+        assertThat(replicateStatusUpdateCaptor.getAllValues())
+                .extracting(ReplicateStatusUpdate::getStatus)
+                .containsExactly(CONTRIBUTING, CONTRIBUTED, CONTRIBUTED);
+    }
+
+    @Test
+    void shouldContributeAgainOnDuplicateNotificationAfterFailure() {
+        mockChainCalls();
+        TaskNotification currentNotification = getTaskNotification(PLEASE_CONTRIBUTE);
+        when(taskManagerService.contribute(CHAIN_TASK_ID))
+                .thenReturn(ReplicateActionResponse.failure())
+                .thenReturn(ReplicateActionResponse.success());
+        when(replicateStatusOutbox.submit(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_WAIT));
+
+        taskNotificationService.onTaskNotification(currentNotification);
+        taskNotificationService.onTaskNotification(currentNotification);
+
+        verify(taskManagerService, Mockito.times(2)).contribute(CHAIN_TASK_ID);
+    }
+
     @Test
     void shouldFailToContribute() {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_CONTRIBUTE);
         when(taskManagerService.contribute(CHAIN_TASK_ID)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -313,7 +376,7 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_CONTRIBUTE_AND_FINALIZE);
         when(taskManagerService.contributeAndFinalize(CHAIN_TASK_ID)).thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_WAIT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_WAIT));
 
         taskNotificationService.onTaskNotification(currentNotification);
         verify(taskManagerService).contributeAndFinalize(CHAIN_TASK_ID);
@@ -326,7 +389,7 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_CONTRIBUTE_AND_FINALIZE);
         when(taskManagerService.contributeAndFinalize(CHAIN_TASK_ID)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
         verify(taskManagerService).contributeAndFinalize(CHAIN_TASK_ID);
@@ -341,8 +404,8 @@ class TaskNotificationServiceTests {
         TaskNotification currentNotification = getTaskNotificationWithExtra(PLEASE_REVEAL, extra);
         when(taskManagerService.reveal(CHAIN_TASK_ID, currentNotification.getTaskNotificationExtra()))
                 .thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // REVEALED
-                .thenReturn(PLEASE_WAIT);
+        when(replicateStatusOutbox.submit(anyString(), any())) // REVEALED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_WAIT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -359,7 +422,7 @@ class TaskNotificationServiceTests {
         TaskNotification currentNotification = getTaskNotificationWithExtra(PLEASE_REVEAL, extra);
         when(taskManagerService.reveal(CHAIN_TASK_ID, currentNotification.getTaskNotificationExtra()))
                 .thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -374,8 +437,8 @@ class TaskNotificationServiceTests {
         TaskNotification currentNotification = getTaskNotification(PLEASE_UPLOAD);
         when(taskManagerService.uploadResult(CHAIN_TASK_ID))
                 .thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // RESULT_UPLOADED
-                .thenReturn(PLEASE_WAIT);
+        when(replicateStatusOutbox.submit(anyString(), any())) // RESULT_UPLOADED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_WAIT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -390,7 +453,7 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_UPLOAD);
         when(taskManagerService.uploadResult(CHAIN_TASK_ID)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -404,8 +467,8 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_COMPLETE);
         when(taskManagerService.complete(CHAIN_TASK_ID)).thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // COMPLETED
-                .thenReturn(PLEASE_WAIT);
+        when(replicateStatusOutbox.submit(anyString(), any())) // COMPLETED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_WAIT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -419,7 +482,7 @@ class TaskNotificationServiceTests {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_COMPLETE);
         when(taskManagerService.complete(CHAIN_TASK_ID)).thenReturn(ReplicateActionResponse.failure());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())).thenReturn(PLEASE_ABORT);
+        when(replicateStatusOutbox.submit(anyString(), any())).thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
         taskNotificationService.onTaskNotification(currentNotification);
 
@@ -434,104 +497,96 @@ class TaskNotificationServiceTests {
         TaskNotificationExtra extra = TaskNotificationExtra.builder().taskAbortCause(TaskAbortCause.CONTRIBUTION_TIMEOUT).build();
         TaskNotification currentNotification = getTaskNotificationWithExtra(PLEASE_ABORT, extra);
         when(taskManagerService.abort(CHAIN_TASK_ID)).thenReturn(true);
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // ABORTED
-                .thenReturn(PLEASE_CONTINUE);
+        when(replicateStatusOutbox.submit(anyString(), any())) // ABORTED
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_CONTINUE));
 
         taskNotificationService.onTaskNotification(currentNotification);
         verify(taskManagerService).abort(CHAIN_TASK_ID);
-        verify(customCoreFeignClient).updateReplicateStatus(anyString(), any());
+        verify(replicateStatusOutbox).submit(anyString(), any());
         verify(applicationEventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void shouldRetryCompleteUntilAchieved() {
+    void shouldPublishNextActionOnceStatusUpdateIsAcknowledged() {
         mockChainCalls();
         TaskNotification currentNotification = getTaskNotification(PLEASE_COMPLETE);
         when(taskManagerService.complete(CHAIN_TASK_ID)).thenReturn(ReplicateActionResponse.success());
-        when(customCoreFeignClient.updateReplicateStatus(anyString(), any())) // COMPLETED
-                .thenReturn(null)
-                .thenReturn(null)
-                .thenReturn(PLEASE_WAIT);
+        final CompletableFuture<TaskNotificationType> acknowledgement = new CompletableFuture<>();
+        when(replicateStatusOutbox.submit(anyString(), any())) // COMPLETING
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_CONTINUE))
+                .thenReturn(acknowledgement); // COMPLETED
 
         taskNotificationService.onTaskNotification(currentNotification);
 
-        verify(customCoreFeignClient, Mockito.times(4)).updateReplicateStatus(anyString(), any());
-        verify(taskManagerService, Mockito.times(1)).complete(CHAIN_TASK_ID);
-        verify(applicationEventPublisher, Mockito.times(0))
-                .publishEvent(any());
-    }
-
-    // region isFinalDeadlineReached
-    @Test
-    void shouldFinalDeadlineBeReached() {
-        final TaskDescription expiredTaskDescription = TaskDescription.builder()
-                .chainTaskId(CHAIN_TASK_ID)
-                .finalDeadline(Instant.now().minus(1, ChronoUnit.SECONDS).toEpochMilli())
-                .build();
-
-        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(expiredTaskDescription);
-
-        final boolean finalDeadlineReached = taskNotificationService.isFinalDeadlineReached(CHAIN_TASK_ID);
-        assertTrue(finalDeadlineReached);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+        acknowledgement.complete(PLEASE_ABORT);
+        verify(applicationEventPublisher).publishEvent(getTaskNotification(PLEASE_ABORT));
     }
 
+    // region fused workflow
     @Test
-    void shouldFinalDeadlineNotBeReached() {
-        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
-        final boolean finalDeadlineReached = taskNotificationService.isFinalDeadlineReached(CHAIN_TASK_ID);
-        assertFalse(finalDeadlineReached);
+    void shouldRunStandardTaskStagesBackToBackWhenFusedWorkflowEnabled() {
+        taskNotificationService = newTaskNotificationService(true);
+        mockChainCalls();
+        when(taskManagerService.start(taskDescription)).thenReturn(ReplicateActionResponse.success());
+        when(taskManagerService.downloadApp(taskDescription)).thenReturn(ReplicateActionResponse.success());
+        when(taskManagerService.downloadData(taskDescription)).thenReturn(ReplicateActionResponse.success());
+        when(taskManagerService.compute(taskDescription)).thenReturn(ReplicateActionResponse.success());
+        final CompletableFuture<TaskNotificationType> computed = new CompletableFuture<>();
+        when(replicateStatusOutbox.submit(anyString(), any())).thenAnswer(invocation -> {
+            final ReplicateStatusUpdate statusUpdate = invocation.getArgument(1);
+            return switch (statusUpdate.getStatus()) {
+                case STARTED -> CompletableFuture.completedFuture(PLEASE_DOWNLOAD_APP);
+                case APP_DOWNLOADED -> CompletableFuture.completedFuture(PLEASE_DOWNLOAD_DATA);
+                case DATA_DOWNLOADED -> CompletableFuture.completedFuture(PLEASE_COMPUTE);
+                case COMPUTED -> computed;
+                default -> CompletableFuture.completedFuture(PLEASE_CONTINUE);
+            };
+        });
+
+        taskNotificationService.onTaskNotification(getTaskNotification(PLEASE_START));
+
+        final InOrder inOrder = inOrder(taskManagerService);
+        inOrder.verify(taskManagerService).start(taskDescription);
+        inOrder.verify(taskManagerService).downloadApp(taskDescription);
+        inOrder.verify(taskManagerService).downloadData(taskDescription);
+        inOrder.verify(taskManagerService).compute(taskDescription);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+        computed.complete(PLEASE_CONTRIBUTE);
+        verify(applicationEventPublisher).publishEvent(getTaskNotification(PLEASE_CONTRIBUTE));
     }
-    // endregion
 
-    // region STOMP not ready
     @Test
-    void shouldAbortUpdateStatusWhenInterruptedThread() throws InterruptedException {
-        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
-
-        doThrow(InterruptedException.class).when(subscriptionService).waitForSessionReady();
+    void shouldStopFusedWorkflowWhenSchedulerDiverges() {
+        taskNotificationService = newTaskNotificationService(true);
+        mockChainCalls();
+        when(taskManagerService.start(taskDescription)).thenReturn(ReplicateActionResponse.success());
+        when(replicateStatusOutbox.submit(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_ABORT));
 
-        final ReplicateStatusUpdate statusUpdate = ReplicateStatusUpdate
-                .builder()
-                .status(ReplicateStatus.COMPUTING)
-                .date(new Date())
-                .build();
-        final TaskNotificationType notification = taskNotificationService.updateStatusAndGetNextAction(CHAIN_TASK_ID, statusUpdate);
+        taskNotificationService.onTaskNotification(getTaskNotification(PLEASE_START));
 
-        assertNull(notification);
+        verify(taskManagerService).start(taskDescription);
+        verify(taskManagerService, never()).downloadApp(any());
+        verify(applicationEventPublisher).publishEvent(getTaskNotification(PLEASE_ABORT));
     }
 
     @Test
-    void shouldResumeUpdateWhenStompReady() throws InterruptedException {
-        final ReplicateStatusUpdate statusUpdate = ReplicateStatusUpdate
-                .builder()
-                .status(ReplicateStatus.COMPUTING)
-                .date(new Date())
+    void shouldNotFuseTeeTaskStages() {
+        taskNotificationService = newTaskNotificationService(true);
+        final TaskDescription teeTaskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .teeFramework(TeeFramework.SCONE)
                 .build();
+        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(teeTaskDescription);
+        when(taskManagerService.start(teeTaskDescription)).thenReturn(ReplicateActionResponse.success());
+        when(replicateStatusOutbox.submit(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(PLEASE_DOWNLOAD_APP));
 
-        when(iexecHubService.getTaskDescription(CHAIN_TASK_ID)).thenReturn(taskDescription);
-        when(customCoreFeignClient.updateReplicateStatus(CHAIN_TASK_ID, statusUpdate))
-                .thenReturn(PLEASE_CONTINUE);
-
-        final AtomicBoolean stompReady = new AtomicBoolean(false);
-        doAnswer(invocation -> {
-            // Wait until fake signal is emitted
-            Awaitility.waitAtMost(1, TimeUnit.SECONDS)
-                    .untilTrue(stompReady);
-            return null;
-        }).when(subscriptionService).waitForSessionReady();
-
-        final CompletableFuture<TaskNotificationType> future = CompletableFuture.supplyAsync(
-                () -> taskNotificationService.updateStatusAndGetNextAction(CHAIN_TASK_ID, statusUpdate));
-
-        // Still waiting for the update to be sent
-        assertThrows(TimeoutException.class, () -> future.get(100, TimeUnit.MILLISECONDS));
-
-        // Stomp is now ready, update can resume
-        stompReady.set(true);
+        taskNotificationService.onTaskNotification(getTaskNotification(PLEASE_START));
 
-        // Update should have completed
-        final TaskNotificationType notification = assertDoesNotThrow(() -> future.get(1, TimeUnit.SECONDS));
-        assertEquals(PLEASE_CONTINUE, notification);
+        verify(taskManagerService, never()).downloadApp(any());
+        verify(applicationEventPublisher).publishEvent(getTaskNotification(PLEASE_DOWNLOAD_APP));
     }
     // endregion
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.worker.replicate.ReplicateActionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.iexec.core.notification.TaskNotificationType.PLEASE_COMPUTE;
+import static com.iexec.core.notification.TaskNotificationType.PLEASE_CONTRIBUTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskStageLedgerTests {
+
+    private static final String CHAIN_TASK_ID = "0xfoobar";
+
+    private MeterRegistry meterRegistry;
+    private TaskStageLedger taskStageLedger;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        taskStageLedger = new TaskStageLedger();
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    private ReplicateActionResponse countRun(final ReplicateActionResponse response) {
+        runs.incrementAndGet();
+        return response;
+    }
+
+    @Test
+    void shouldRunSuccessfulStageOnce() {
+        final ReplicateActionResponse first = taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE,
+                () -> countRun(ReplicateActionResponse.success()));
+        final ReplicateActionResponse second = taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE,
+                () -> countRun(ReplicateActionResponse.success()));
+
+        assertThat(runs).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get(TaskStageLedger.DUPLICATE_METRIC_NAME).tag("action", PLEASE_COMPUTE.name())
+                .counter().count()).isOne();
+    }
+
+    @Test
+    void shouldRunOtherStagesOfTask() {
+        taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> countRun(ReplicateActionResponse.success()));
+        taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_CONTRIBUTE, () -> countRun(ReplicateActionResponse.success()));
+        taskStageLedger.runOnce("0xother", PLEASE_COMPUTE, () -> countRun(ReplicateActionResponse.success()));
+
+        assertThat(runs).hasValue(3);
+    }
+
+    @Test
+    void shouldRunFailedStageAgain() {
+        taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> countRun(ReplicateActionResponse.failure()));
+        assertThatThrownBy(() -> taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> countRun(ReplicateActionResponse.success()));
+
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void shouldWaitForStageInFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<ReplicateActionResponse> firstRun = CompletableFuture.supplyAsync(
+                () -> taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return countRun(ReplicateActionResponse.success());
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final CompletableFuture<ReplicateActionResponse> duplicateRun = CompletableFuture.supplyAsync(
+                () -> taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE,
+                        () -> countRun(ReplicateActionResponse.success())));
+        assertThat(duplicateRun).isNotDone();
+        release.countDown();
+
+        assertThat(duplicateRun.get(5, TimeUnit.SECONDS)).isSameAs(firstRun.get(5, TimeUnit.SECONDS));
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void shouldRunStageAgainOncePurged() {
+        taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> countRun(ReplicateActionResponse.success()));
+        taskStageLedger.purgeTask(CHAIN_TASK_ID);
+        taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> countRun(ReplicateActionResponse.success()));
+        taskStageLedger.purgeAllTasksData();
+        taskStageLedger.runOnce(CHAIN_TASK_ID, PLEASE_COMPUTE, () -> countRun(ReplicateActionResponse.success()));
+
+        assertThat(runs).hasValue(3);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.task;
+
+import com.iexec.commons.poco.task.TaskDescription;
+import com.iexec.worker.chain.Web3jService;
+import com.iexec.worker.utils.DeadlineTask;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static com.iexec.core.notification.TaskNotificationType.PLEASE_CONTRIBUTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTimeBudgetServiceTests {
+
+    private static final String CHAIN_TASK_ID = "0x1";
+    private static final Duration BLOCK_TIME = Duration.ofSeconds(5);
+
+    @Mock
+    private TaskDeadlineService taskDeadlineService;
+    @Mock
+    private Web3jService web3jService;
+
+    private MeterRegistry meterRegistry;
+    private TaskTimeBudgetService taskTimeBudgetService;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(meterRegistry);
+        when(web3jService.getBlockTime()).thenReturn(BLOCK_TIME);
+        taskTimeBudgetService = new TaskTimeBudgetService(taskDeadlineService, web3jService);
+    }
+
+    @AfterEach
+    void afterEach() {
+        Metrics.globalRegistry.clear();
+    }
+
+    private void mockContributionDeadlineIn(final Duration duration) {
+        when(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_CONTRIBUTE))
+                .thenReturn(System.currentTimeMillis() + duration.toMillis());
+    }
+
+    @Test
+    void shouldNotAbandonTaskWithEnoughTimeLeft() {
+        mockContributionDeadlineIn(Duration.ofMinutes(10));
+
+        assertThat(taskTimeBudgetService.isContributionDeadlineUnreachable(CHAIN_TASK_ID, "compute")).isFalse();
+    }
+
+    @Test
+    void shouldAbandonTaskOnceTimeKeptForContributionIsReached() {
+        mockContributionDeadlineIn(BLOCK_TIME.multipliedBy(TaskTimeBudgetService.CONTRIBUTION_BLOCKS - 1L));
+
+        assertThat(taskTimeBudgetService.isContributionDeadlineUnreachable(CHAIN_TASK_ID, "compute")).isTrue();
+        assertThat(meterRegistry.get(TaskTimeBudgetService.ABANDONED_METRIC_NAME).tag("stage", "compute")
+                .counter().count()).isOne();
+    }
+
+    @Test
+    void shouldNotAbandonTaskWithUnknownDeadline() {
+        when(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_CONTRIBUTE)).thenReturn(DeadlineTask.NO_DEADLINE);
+
+        assertThat(taskTimeBudgetService.isContributionDeadlineUnreachable(CHAIN_TASK_ID, "compute")).isFalse();
+        assertThat(taskTimeBudgetService.getDownloadBudget(CHAIN_TASK_ID)).isEmpty();
+    }
+
+    @Test
+    void shouldGetShareOfRemainingTimeAsDownloadBudget() {
+        mockContributionDeadlineIn(Duration.ofMinutes(10).plus(BLOCK_TIME.multipliedBy(TaskTimeBudgetService.CONTRIBUTION_BLOCKS)));
+
+        assertThat(taskTimeBudgetService.getDownloadBudget(CHAIN_TASK_ID)).hasValueSatisfying(budget ->
+                assertThat(budget).isBetween(Duration.ofMinutes(5).minusSeconds(1), Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void shouldGetZeroDownloadBudgetWhenDeadlineIsPassed() {
+        mockContributionDeadlineIn(Duration.ofMinutes(-1));
+
+        assertThat(taskTimeBudgetService.getDownloadBudget(CHAIN_TASK_ID)).contains(Duration.ZERO);
+    }
+
+    @Test
+    void shouldCapComputeMaxExecutionTimeByShareOfRemainingTime() {
+        mockContributionDeadlineIn(Duration.ofMinutes(10).plus(BLOCK_TIME.multipliedBy(TaskTimeBudgetService.CONTRIBUTION_BLOCKS)));
+        final TaskDescription taskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .maxExecutionTime(3000)
+                .build();
+
+        assertThat(taskTimeBudgetService.getComputeMaxExecutionTime(taskDescription)).hasValueSatisfying(maxExecutionTime ->
+                assertThat(maxExecutionTime).isBetween(479L, 480L));
+        assertThat(taskTimeBudgetService.getPostComputeMaxExecutionTime(taskDescription)).hasValueSatisfying(maxExecutionTime ->
+                assertThat(maxExecutionTime).isBetween(599L, 600L));
+    }
+
+    @Test
+    void shouldKeepCategoryMaxExecutionTimeWhenBelowRemainingTime() {
+        mockContributionDeadlineIn(Duration.ofHours(2));
+        final TaskDescription taskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .maxExecutionTime(3000)
+                .build();
+
+        assertThat(taskTimeBudgetService.getComputeMaxExecutionTime(taskDescription)).contains(3000L);
+    }
+
+    @Test
+    void shouldNeverGetZeroMaxExecutionTime() {
+        mockContributionDeadlineIn(Duration.ofMinutes(-1));
+        final TaskDescription taskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .maxExecutionTime(3000)
+                .build();
+
+        assertThat(taskTimeBudgetService.getPostComputeMaxExecutionTime(taskDescription)).contains(1L);
+    }
+
+    @Test
+    void shouldNotCapMaxExecutionTimeWithUnknownDeadline() {
+        when(taskDeadlineService.getDeadline(CHAIN_TASK_ID, PLEASE_CONTRIBUTE)).thenReturn(DeadlineTask.NO_DEADLINE);
+        final TaskDescription taskDescription = TaskDescription.builder()
+                .chainTaskId(CHAIN_TASK_ID)
+                .maxExecutionTime(3000)
+                .build();
+
+        assertThat(taskTimeBudgetService.getComputeMaxExecutionTime(taskDescription)).isEmpty();
+    }
+}
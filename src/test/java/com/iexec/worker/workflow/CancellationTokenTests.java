@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 IEXEC BLOCKCHAIN TECH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iexec.worker.workflow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CancellationTokenTests {
+
+    @Test
+    void shouldRunOperation() {
+        final CancellationToken token = new CancellationToken();
+        assertThat(token.run(() -> "result")).isEqualTo("result");
+        assertThat(token.isCancelled()).isFalse();
+    }
+
+    @Test
+    void shouldNotRunOperationOnceCancelled() {
+        final CancellationToken token = new CancellationToken();
+        token.cancel();
+        assertThatThrownBy(() -> token.run(() -> "result"))
+                .isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void shouldInterruptRunningOperationAndClearInterruptStatus() throws Exception {
+        final CancellationToken token = new CancellationToken();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Boolean> interruptStatus = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                token.run(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+            } catch (CancellationException e) {
+                interruptStatus.complete(Thread.currentThread().isInterrupted());
+            }
+        });
+        thread.start();
+
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        token.cancel();
+
+        assertThat(interruptStatus.get(1, TimeUnit.SECONDS)).isFalse();
+    }
+}